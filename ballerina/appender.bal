@@ -0,0 +1,55 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Appends content to a file on an SMB share through a handle that is kept open.
+# Written content is gathered and written to the file in one request once a batch is gathered, once it has
+# waited for the flush interval, or when the appender is flushed or closed.
+# The file cannot be written through other handles until the appender is closed.
+public isolated class Appender {
+
+    # Appends content to the file. Text is appended as UTF-8.
+    # ```ballerina
+    # check appender.write("user=alice action=login\n");
+    # ```
+    #
+    # + content - The content to append
+    # + return - `()` or else an `smb:Error` if the content, or content gathered earlier, could not be written
+    public isolated function write(byte[]|string content) returns Error? = @java:Method {
+        'class: "io.ballerina.lib.smb.client.FileAppender"
+    } external;
+
+    # Writes the gathered content to the file without waiting for a batch or the flush interval.
+    # ```ballerina
+    # check appender.flush();
+    # ```
+    #
+    # + return - `()` or else an `smb:Error` if the content could not be written
+    public isolated function flush() returns Error? = @java:Method {
+        'class: "io.ballerina.lib.smb.client.FileAppender"
+    } external;
+
+    # Writes the gathered content to the file and closes it. Closing a closed appender has no effect.
+    # ```ballerina
+    # check appender.close();
+    # ```
+    #
+    # + return - `()` or else an `smb:Error` if the content could not be written or the file could not be closed
+    public isolated function close() returns Error? = @java:Method {
+        'class: "io.ballerina.lib.smb.client.FileAppender"
+    } external;
+}
@@ -33,10 +33,12 @@ public isolated client class Caller {
     # + path - The resource path
     # + content - Byte array content to write
     # + option - File write option (OVERWRITE or APPEND)
+    # + expectedDigest - Digest the content must have. Nothing is written if it does not match
+    # + computedDigest - Receives the digest of the content, computed as it is written
     # + return - `()` or else an `smb:Error` if the operation fails
-    remote isolated function putBytes(string path, byte[] content, FileWriteOption option = OVERWRITE)
-            returns Error? {
-        return self.'client->putBytes(path, content, option);
+    remote isolated function putBytes(string path, byte[] content, FileWriteOption option = OVERWRITE,
+            Digest? expectedDigest = (), ComputedDigest? computedDigest = ()) returns Error? {
+        return self.'client->putBytes(path, content, option, expectedDigest, computedDigest);
     }
 
     # Writes byte array content at a byte offset in a file on an SMB share,
@@ -53,6 +55,33 @@ public isolated client class Caller {
         return self.'client->patch(path, content, offset);
     }
 
+    # Sets the size of a file on an SMB share. The bytes past the new size are dropped when the file shrinks,
+    # and the file is extended with zeros when it grows.
+    # ```ballerina
+    # smb:Error? response = caller->truncate(path, 1024);
+    # ```
+    #
+    # + path - The resource path
+    # + size - The new size of the file in bytes
+    # + return - `()` or else an `smb:Error` if the operation fails
+    remote isolated function truncate(string path, int size) returns Error? {
+        return self.'client->truncate(path, size);
+    }
+
+    # Sets a range of a file on an SMB share to zeros without sending the zeros over the network.
+    # The size of the file is not changed.
+    # ```ballerina
+    # smb:Error? response = caller->zeroRange(path, 0, 4096);
+    # ```
+    #
+    # + path - The resource path
+    # + offset - The byte offset of the first byte to zero
+    # + length - The number of bytes to zero
+    # + return - `()` or else an `smb:Error` if the operation fails
+    remote isolated function zeroRange(string path, int offset, int length) returns Error? {
+        return self.'client->zeroRange(path, offset, length);
+    }
+
     # Writes text content to a file on an SMB share.
     # ```ballerina
     # smb:Error? response = caller->putText(path, "Hello World", smb:OVERWRITE);
@@ -61,10 +90,12 @@ public isolated client class Caller {
     # + path - The resource path
     # + content - Text content to write
     # + option - File write option (OVERWRITE or APPEND)
+    # + expectedDigest - Digest the UTF-8 encoded content must have. Nothing is written if it does not match
+    # + computedDigest - Receives the digest of the content, computed as it is written
     # + return - `()` or else an `smb:Error` if the operation fails
-    remote isolated function putText(string path, string content, FileWriteOption option = OVERWRITE)
-            returns Error? {
-        return self.'client->putText(path, content, option);
+    remote isolated function putText(string path, string content, FileWriteOption option = OVERWRITE,
+            Digest? expectedDigest = (), ComputedDigest? computedDigest = ()) returns Error? {
+        return self.'client->putText(path, content, option, expectedDigest, computedDigest);
     }
 
     # Writes JSON content to a file on an SMB share.
@@ -120,9 +151,12 @@ public isolated client class Caller {
     # ```
     #
     # + path - The resource path
+    # + expectedDigest - Digest the content must have. An `smb:Error` is returned if it does not match
+    # + computedDigest - Receives the digest of the content, computed as it is read
     # + return - File content as byte array or an `smb:Error` if the operation fails
-    remote isolated function getBytes(string path) returns byte[]|Error {
-        return self.'client->getBytes(path);
+    remote isolated function getBytes(string path, Digest? expectedDigest = (), ComputedDigest? computedDigest = ())
+            returns byte[]|Error {
+        return self.'client->getBytes(path, expectedDigest, computedDigest);
     }
 
     # Reads a file from an SMB share as text.
@@ -131,9 +165,12 @@ public isolated client class Caller {
     # ```
     #
     # + path - The resource path
+    # + expectedDigest - Digest the content must have. An `smb:Error` is returned if it does not match
+    # + computedDigest - Receives the digest of the content, computed as it is read
     # + return - File content as string or an `smb:Error` if the operation fails
-    remote isolated function getText(string path) returns string|Error {
-        return self.'client->getText(path);
+    remote isolated function getText(string path, Digest? expectedDigest = (), ComputedDigest? computedDigest = ())
+            returns string|Error {
+        return self.'client->getText(path, expectedDigest, computedDigest);
     }
 
     # Reads a file from an SMB share and parses it as JSON.
@@ -164,9 +201,10 @@ public isolated client class Caller {
     # ```
     #
     # + path - The resource path
+    # + options - The columns and rows to return. The whole file is returned if not specified
     # + return - CSV content as string[][] or an `smb:Error` if the operation fails
-    remote isolated function getCsv(string path) returns string[][]|Error {
-        return self.'client->getCsv(path);
+    remote isolated function getCsv(string path, CsvReadOptions? options = ()) returns string[][]|Error {
+        return self.'client->getCsv(path, options = options);
     }
 
     # Writes a byte stream to a file on an SMB share.
@@ -178,10 +216,14 @@ public isolated client class Caller {
     # + path - The resource path
     # + content - Byte stream content to write
     # + option - File write option (OVERWRITE or APPEND)
+    # + expectedDigest - Digest the streamed content must have. If it does not match, an overwritten file keeps
+    # its earlier content and an appended file is cut back to its earlier length
+    # + computedDigest - Receives the digest of the content, computed as it is written
     # + return - `()` or else an `smb:Error` if the operation fails
     remote isolated function putBytesAsStream(string path, stream<byte[], error?> content,
-            FileWriteOption option = OVERWRITE) returns Error? {
-        return self.'client->putBytesAsStream(path, content, option);
+            FileWriteOption option = OVERWRITE, Digest? expectedDigest = (), ComputedDigest? computedDigest = ())
+            returns Error? {
+        return self.'client->putBytesAsStream(path, content, option, expectedDigest, computedDigest);
     }
 
     # Writes a CSV stream to a file on an SMB share.
@@ -200,15 +242,51 @@ public isolated client class Caller {
         return self.'client->putCsvAsStream(path, content, option);
     }
 
+    # Writes a stream of JSON values to a file on an SMB share as JSON Lines, one value per line.
+    # ```ballerina
+    # stream<json, error?> events = check caller->getJsonLinesAsStream(srcPath);
+    # smb:Error? response = caller->putJsonLinesAsStream(destPath, events, smb:APPEND);
+    # ```
+    #
+    # + path - The resource path
+    # + content - The JSON values to write
+    # + option - File write option (OVERWRITE or APPEND)
+    # + return - `()` or else an `smb:Error` if the operation fails
+    remote isolated function putJsonLinesAsStream(string path, stream<json, error?> content,
+            FileWriteOption option = OVERWRITE) returns Error? {
+        return self.'client->putJsonLinesAsStream(path, content, option);
+    }
+
+    # Copies a local file to an SMB share. The content goes straight from the local file to the share,
+    # without being held in memory as a whole.
+    # ```ballerina
+    # smb:Error? response = caller->putFile("/var/exports/report.pdf", "/reports/report.pdf");
+    # ```
+    #
+    # + localPath - The file on the local file system
+    # + path - The resource path
+    # + option - File write option (OVERWRITE or APPEND)
+    # + return - `()` or else an `smb:Error` if the operation fails
+    remote isolated function putFile(string localPath, string path, FileWriteOption option = OVERWRITE)
+            returns Error? {
+        return self.'client->putFile(localPath, path, option);
+    }
+
     # Retrieves the file content as a byte stream from an SMB share.
     # ```ballerina
     # stream<byte[], error?> response = check caller->getBytesAsStream(path);
     # ```
     #
     # + path - The path to the file on the SMB server
+    # + expectedDigest - Digest the content must have. If it does not match, the stream ends with an error
+    # instead of `()` once the last chunk has been returned
+    # + chunkSize - The size in bytes of each chunk. Every chunk but the last is filled to this size. Defaults to the
+    # largest read the server allows
+    # + computedDigest - Receives the digest of the content once the last chunk has been read
     # + return - A stream of byte arrays from which the file can be read or `smb:Error` in case of errors
-    remote isolated function getBytesAsStream(string path) returns stream<byte[], error?>|Error {
-        return self.'client->getBytesAsStream(path);
+    remote isolated function getBytesAsStream(string path, Digest? expectedDigest = (), int? chunkSize = (),
+            ComputedDigest? computedDigest = ()) returns stream<byte[], error?>|Error {
+        return self.'client->getBytesAsStream(path, expectedDigest, chunkSize, computedDigest);
     }
 
     # Retrieves the file content as a CSV stream from an SMB share.
@@ -217,9 +295,71 @@ public isolated client class Caller {
     # ```
     #
     # + path - The path to the file on the SMB server
+    # + options - The columns and rows to return. The whole file is returned if not specified
     # + return - A stream of string arrays from which the file can be read or `smb:Error` in case of errors
-    remote isolated function getCsvAsStream(string path) returns stream<string[], error?>|Error {
-        return self.'client->getCsvAsStream(path);
+    remote isolated function getCsvAsStream(string path, CsvReadOptions? options = ())
+            returns stream<string[], error?>|Error {
+        return self.'client->getCsvAsStream(path, options = options);
+    }
+
+    # Retrieves the lines of a text file as a stream from an SMB share.
+    # ```ballerina
+    # stream<string, error?> response = check caller->getLinesAsStream(path);
+    # ```
+    #
+    # + path - The path to the file on the SMB server
+    # + maxLineLength - The length in bytes of the longest line allowed. A longer line ends the stream with an error
+    # + return - A stream of the lines of the file or `smb:Error` in case of errors
+    remote isolated function getLinesAsStream(string path, int maxLineLength = 1048576)
+            returns stream<string, error?>|Error {
+        return self.'client->getLinesAsStream(path, maxLineLength);
+    }
+
+    # Retrieves the items of a JSON array file as a stream from an SMB share.
+    # ```ballerina
+    # stream<json, error?> response = check caller->getJsonArrayAsStream(path);
+    # ```
+    #
+    # + path - The path to the file on the SMB server. The file must hold a JSON array
+    # + return - A stream of the items of the array or `smb:Error` in case of errors
+    remote isolated function getJsonArrayAsStream(string path) returns stream<json, error?>|Error {
+        return self.'client->getJsonArrayAsStream(path);
+    }
+
+    # Retrieves the values of a JSON Lines file as a stream from an SMB share.
+    # ```ballerina
+    # stream<json, error?> response = check caller->getJsonLinesAsStream(path);
+    # ```
+    #
+    # + path - The path to the file on the SMB server
+    # + return - A stream of the values of the file or `smb:Error` in case of errors
+    remote isolated function getJsonLinesAsStream(string path) returns stream<json, error?>|Error {
+        return self.'client->getJsonLinesAsStream(path);
+    }
+
+    # Retrieves the elements of an XML file that match a path as a stream from an SMB share.
+    # ```ballerina
+    # stream<xml, error?> response = check caller->getXmlAsStream(path, "Orders/Order");
+    # ```
+    #
+    # + path - The path to the file on the SMB server
+    # + elementPath - The local name of the elements to return, or a path of local names ending in it
+    # + return - A stream of the matching elements or `smb:Error` in case of errors
+    remote isolated function getXmlAsStream(string path, string elementPath) returns stream<xml, error?>|Error {
+        return self.'client->getXmlAsStream(path, elementPath);
+    }
+
+    # Copies a file from an SMB share to the local file system, replacing any local file of that name. The content
+    # goes straight from the share to the local file, without being held in memory as a whole.
+    # ```ballerina
+    # smb:Error? response = caller->getFile("/reports/report.pdf", "/var/imports/report.pdf");
+    # ```
+    #
+    # + path - The path to the file on the SMB server
+    # + localPath - The file on the local file system
+    # + return - `()` or else an `smb:Error` if the operation fails
+    remote isolated function getFile(string path, string localPath) returns Error? {
+        return self.'client->getFile(path, localPath);
     }
 
     # Lists files and directories in a folder on an SMB share.
@@ -45,9 +45,11 @@ public isolated client class Client {
     # + path - The resource path
     # + content - Byte array content to write
     # + option - File write option (OVERWRITE or APPEND)
+    # + expectedDigest - Digest the content must have. Nothing is written if it does not match
+    # + computedDigest - Receives the digest of the content, computed as it is written
     # + return - `()` or else an `smb:Error` if the operation fails
-    remote isolated function putBytes(string path, byte[] content, FileWriteOption option = OVERWRITE)
-            returns Error? = @java:Method {
+    remote isolated function putBytes(string path, byte[] content, FileWriteOption option = OVERWRITE,
+            Digest? expectedDigest = (), ComputedDigest? computedDigest = ()) returns Error? = @java:Method {
         'class: "io.ballerina.lib.smb.client.SmbClient"
     } external;
 
@@ -66,6 +68,33 @@ public isolated client class Client {
         'class: "io.ballerina.lib.smb.client.SmbClient"
     } external;
 
+    # Sets the size of a file on an SMB share. The bytes past the new size are dropped when the file shrinks,
+    # and the file is extended with zeros when it grows.
+    # ```ballerina
+    # smb:Error? response = client->truncate(path, 1024);
+    # ```
+    #
+    # + path - The resource path
+    # + size - The new size of the file in bytes
+    # + return - `()` or else an `smb:Error` if the operation fails
+    remote isolated function truncate(string path, int size) returns Error? = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
+    # Sets a range of a file on an SMB share to zeros without sending the zeros over the network.
+    # The server may release the space of the range. The size of the file is not changed.
+    # ```ballerina
+    # smb:Error? response = client->zeroRange(path, 0, 4096);
+    # ```
+    #
+    # + path - The resource path
+    # + offset - The byte offset of the first byte to zero
+    # + length - The number of bytes to zero
+    # + return - `()` or else an `smb:Error` if the operation fails
+    remote isolated function zeroRange(string path, int offset, int length) returns Error? = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
     # Writes text content to a file on an SMB share.
     # ```ballerina
     # smb:Error? response = client->putText(path, "Hello World", smb:OVERWRITE);
@@ -74,9 +103,11 @@ public isolated client class Client {
     # + path - The resource path
     # + content - Text content to write
     # + option - File write option (OVERWRITE or APPEND)
+    # + expectedDigest - Digest the UTF-8 encoded content must have. Nothing is written if it does not match
+    # + computedDigest - Receives the digest of the content, computed as it is written
     # + return - `()` or else an `smb:Error` if the operation fails
-    remote isolated function putText(string path, string content, FileWriteOption option = OVERWRITE)
-            returns Error? = @java:Method {
+    remote isolated function putText(string path, string content, FileWriteOption option = OVERWRITE,
+            Digest? expectedDigest = (), ComputedDigest? computedDigest = ()) returns Error? = @java:Method {
         'class: "io.ballerina.lib.smb.client.SmbClient"
     } external;
 
@@ -152,9 +183,13 @@ public isolated client class Client {
     # + path - The resource path
     # + content - Byte stream content to write
     # + option - File write option (OVERWRITE or APPEND)
+    # + expectedDigest - Digest the streamed content must have. If it does not match, an overwritten file keeps
+    # its earlier content and an appended file is cut back to its earlier length
+    # + computedDigest - Receives the digest of the content, computed as it is written
     # + return - `()` or else an `smb:Error` if the operation fails
     remote isolated function putBytesAsStream(string path, stream<byte[], error?> content,
-            FileWriteOption option = OVERWRITE) returns Error? = @java:Method {
+            FileWriteOption option = OVERWRITE, Digest? expectedDigest = (), ComputedDigest? computedDigest = ())
+            returns Error? = @java:Method {
         'class: "io.ballerina.lib.smb.client.SmbClient"
     } external;
 
@@ -174,14 +209,64 @@ public isolated client class Client {
         'class: "io.ballerina.lib.smb.client.SmbClient"
     } external;
 
+    # Writes a stream of JSON values to a file as JSON Lines (newline-delimited JSON), one value per line.
+    # The lines are gathered into writes of `bufferSize` bytes as the stream is read.
+    # ```ballerina
+    # stream<json, error?> events = ...;
+    # smb:Error? response = client->putJsonLinesAsStream(path, events);
+    # ```
+    #
+    # + path - The resource path
+    # + content - The JSON values to write
+    # + option - File write option (OVERWRITE or APPEND)
+    # + return - `()` or else an `smb:Error` if the operation fails
+    remote isolated function putJsonLinesAsStream(string path, stream<json, error?> content,
+            FileWriteOption option = OVERWRITE) returns Error? = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
+    # Copies a local file to an SMB share. The content goes straight from the local file to the share,
+    # without being held in memory as a whole.
+    # ```ballerina
+    # smb:Error? response = client->putFile("/var/exports/report.pdf", "/reports/report.pdf");
+    # ```
+    #
+    # + localPath - The file on the local file system
+    # + path - The resource path
+    # + option - File write option (OVERWRITE or APPEND)
+    # + return - `()` or else an `smb:Error` if the operation fails
+    remote isolated function putFile(string localPath, string path, FileWriteOption option = OVERWRITE)
+            returns Error? = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
+    # Opens a file for appending, creating it if it does not exist, and keeps it open until the appender is closed.
+    # Appends are gathered and written in batches, so frequent small appends do not each open and write the file.
+    # ```ballerina
+    # smb:Appender appender = check client->openAppender("/logs/audit.log");
+    # check appender.write("user=alice action=login\n");
+    # check appender.close();
+    # ```
+    #
+    # + path - The path to the file on the SMB server
+    # + options - When gathered appends are written
+    # + return - The appender or an `smb:Error` if the file cannot be opened
+    remote isolated function openAppender(string path, AppenderOptions options = {}) returns Appender|Error =
+            @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
     # Reads a file from an SMB share as a byte array.
     # ```ballerina
     # byte[]|smb:Error content = client->getBytes(path);
     # ```
     #
     # + path - The resource path
+    # + expectedDigest - Digest the content must have. An `smb:Error` is returned if it does not match
+    # + computedDigest - Receives the digest of the content, computed as it is read
     # + return - File content as byte array or an `smb:Error` if the operation fails
-    remote isolated function getBytes(string path) returns byte[]|Error = @java:Method {
+    remote isolated function getBytes(string path, Digest? expectedDigest = (), ComputedDigest? computedDigest = ())
+            returns byte[]|Error = @java:Method {
         'class: "io.ballerina.lib.smb.client.SmbClient"
     } external;
 
@@ -191,8 +276,11 @@ public isolated client class Client {
     # ```
     #
     # + path - The resource path
+    # + expectedDigest - Digest the content must have. An `smb:Error` is returned if it does not match
+    # + computedDigest - Receives the digest of the content, computed as it is read
     # + return - File content as string or an `smb:Error` if the operation fails
-    remote isolated function getText(string path) returns string|Error = @java:Method {
+    remote isolated function getText(string path, Digest? expectedDigest = (), ComputedDigest? computedDigest = ())
+            returns string|Error = @java:Method {
         'class: "io.ballerina.lib.smb.client.SmbClient"
     } external;
 
@@ -234,13 +322,17 @@ public isolated client class Client {
     # string[][]|smb:Error content = client->getCsv(path);
     # type Person record {| string name; int age; string city; |};
     # Person[]|smb:Error people = client->getCsv(path);
+    # type Sale record {| string region; decimal total; |};
+    # Sale[]|smb:Error sales = client->getCsv(path,
+    #         options = {columns: ["region", "total"], filter: {column: "region", 'in: ["EU", "APAC"]}});
     # ```
     #
     # + path - The resource path
     # + targetType - The type descriptor of the target type (default: string[][])
+    # + options - The columns and rows to bind. The whole file is bound if not specified
     # + return - CSV content as the target type or an `smb:Error` if the operation fails
-    remote isolated function getCsv(string path, typedesc<string[][]|record {}[]> targetType = <>)
-            returns targetType|Error = @java:Method {
+    remote isolated function getCsv(string path, typedesc<string[][]|record {}[]> targetType = <>,
+            CsvReadOptions? options = ()) returns targetType|Error = @java:Method {
         'class: "io.ballerina.lib.smb.client.SmbClient"
     } external;
 
@@ -250,8 +342,14 @@ public isolated client class Client {
     # ```
     #
     # + path - The path to the file on the SMB server
+    # + expectedDigest - Digest the content must have. If it does not match, the stream ends with an error
+    # instead of `()` once the last chunk has been returned
+    # + chunkSize - The size in bytes of each chunk. Every chunk but the last is filled to this size. Defaults to the
+    # largest read the server allows
+    # + computedDigest - Receives the digest of the content once the last chunk has been read
     # + return - A stream of byte arrays from which the file can be read or `smb:Error` in case of errors
-    remote isolated function getBytesAsStream(string path) returns stream<byte[], error?>|Error = @java:Method {
+    remote isolated function getBytesAsStream(string path, Digest? expectedDigest = (), int? chunkSize = (),
+            ComputedDigest? computedDigest = ()) returns stream<byte[], error?>|Error = @java:Method {
         'class: "io.ballerina.lib.smb.client.SmbClient"
     } external;
 
@@ -265,12 +363,117 @@ public isolated client class Client {
     #                Supported types:
     #                - Built-in types: `string[]` - Array of strings representing CSV columns
     #                - Custom types: (e.g., `User`, `Student?`, `Person[]`, etc.)
+    # + options - The columns and rows to bind. The whole file is bound if not specified
     # + return - A stream from which the file can be read or `smb:Error` in case of errors
-    remote isolated function getCsvAsStream(string path, typedesc<string[]|record {}> targetType = <>)
+    remote isolated function getCsvAsStream(string path, typedesc<string[]|record {}> targetType = <>,
+            CsvReadOptions? options = ()) returns stream<targetType, error?>|Error = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
+    # Retrieves the lines of a text file as a stream, decoding one line at a time from UTF-8.
+    # Only the line being read is held in memory, so the file can be larger than the available memory.
+    # ```ballerina
+    # stream<string, error?> lines = check client->getLinesAsStream(path);
+    # ```
+    #
+    # + path - The path to the file on the SMB server
+    # + maxLineLength - The length in bytes of the longest line allowed. A longer line ends the stream with an error
+    # + return - A stream of the lines of the file, without their line breaks, or `smb:Error` in case of errors
+    remote isolated function getLinesAsStream(string path, int maxLineLength = 1048576)
+            returns stream<string, error?>|Error = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
+    # Retrieves the items of a JSON array file as a stream, binding one item at a time.
+    # Only the item being bound is held in memory, so the file can be larger than the available memory.
+    # ```ballerina
+    # type Event record {| string id; string kind; |};
+    # stream<Event, error?> events = check client->getJsonArrayAsStream(path);
+    # ```
+    #
+    # + path - The path to the file on the SMB server. The file must hold a JSON array
+    # + targetType - The type to bind each item of the array to (default: json)
+    # + return - A stream of the items of the array or `smb:Error` in case of errors
+    remote isolated function getJsonArrayAsStream(string path, typedesc<json> targetType = <>)
             returns stream<targetType, error?>|Error = @java:Method {
         'class: "io.ballerina.lib.smb.client.SmbClient"
     } external;
 
+    # Retrieves the values of a JSON Lines (newline-delimited JSON) file as a stream, binding one line at a time.
+    # Blank lines are skipped. Only the line being bound is held in memory.
+    # ```ballerina
+    # type Event record {| string id; string kind; |};
+    # stream<Event, error?> events = check client->getJsonLinesAsStream(path);
+    # ```
+    #
+    # + path - The path to the file on the SMB server
+    # + targetType - The type to bind each line to (default: json)
+    # + return - A stream of the values of the file or `smb:Error` in case of errors
+    remote isolated function getJsonLinesAsStream(string path, typedesc<json> targetType = <>)
+            returns stream<targetType, error?>|Error = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
+    # Retrieves the elements of an XML file that match a path as a stream, binding one element at a time.
+    # Only the element being bound is held in memory, so the file can be larger than the available memory.
+    # ```ballerina
+    # type Order record {| string id; decimal total; |};
+    # stream<Order, error?> orders = check client->getXmlAsStream(path, "Orders/Order");
+    # ```
+    #
+    # + path - The path to the file on the SMB server
+    # + elementPath - The local name of the elements to return, such as `Order`, or a path of local names
+    #                 ending in it, such as `Orders/Order`. A path that starts with `/` is matched from the
+    #                 root element. Elements nested in a returned element are not returned on their own
+    # + targetType - The type to bind each element to (default: xml)
+    # + return - A stream of the matching elements or `smb:Error` in case of errors
+    remote isolated function getXmlAsStream(string path, string elementPath,
+            typedesc<xml|record {|json...;|}> targetType = <>) returns stream<targetType, error?>|Error = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
+    # Copies a file from an SMB share to the local file system, replacing any local file of that name. The content
+    # goes straight from the share to the local file, without being held in memory as a whole.
+    # ```ballerina
+    # smb:Error? response = client->getFile("/reports/report.pdf", "/var/imports/report.pdf");
+    # ```
+    #
+    # + path - The path to the file on the SMB server
+    # + localPath - The file on the local file system
+    # + return - `()` or else an `smb:Error` if the operation fails
+    remote isolated function getFile(string path, string localPath) returns Error? = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
+    # Opens a file for reads, or reads and writes, at any offset, and keeps it open until the handle is closed.
+    # ```ballerina
+    # smb:FileHandle handle = check client->openFile("/data/records.dat");
+    # byte[] header = check handle.read(0, 128);
+    # check handle.close();
+    # ```
+    #
+    # + path - The path to the file on the SMB server
+    # + mode - Whether the file is opened for reading only or for reading and writing
+    # + options - How reads are fetched
+    # + return - The file handle or an `smb:Error` if the file cannot be opened
+    remote isolated function openFile(string path, FileAccessMode mode = READ, FileHandleOptions options = {})
+            returns FileHandle|Error = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
+    # Opens a ZIP archive on the SMB share to list its entries and read the ones needed, without reading the rest
+    # of the archive.
+    # ```ballerina
+    # smb:ZipArchive archive = check client->openArchive("/inbound/bundle.zip");
+    # stream<byte[], error?> manifest = check archive.getEntryAsStream("manifest.json");
+    # ```
+    #
+    # + path - The path to the archive on the SMB server
+    # + return - The archive or an `smb:Error` if the file cannot be opened or is not a ZIP archive
+    remote isolated function openArchive(string path) returns ZipArchive|Error = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
     # Lists files and directories in a folder on an SMB share.
     # ```ballerina
     # smb:FileInfo[]|smb:Error response = client->list(path);
@@ -341,6 +544,95 @@ public isolated client class Client {
         'class: "io.ballerina.lib.smb.client.SmbClient"
     } external;
 
+    # Brings a local directory and a directory on an SMB share into line, copying only the files that are new
+    # or have changed since the last sync.
+    # ```ballerina
+    # smb:SyncSummary summary = check client->syncDirectory("/var/exports", "/exports", {deleteExtraneous: true});
+    # ```
+    #
+    # + localPath - The directory on the local file system
+    # + remotePath - The directory on the SMB share
+    # + options - Which way to copy, how to find changed files, and how many files to copy at a time
+    # + return - What was copied and removed, or an `smb:Error` if either directory cannot be listed
+    remote isolated function syncDirectory(string localPath, string remotePath, SyncOptions options = {})
+            returns SyncSummary|Error = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
+    # Copies every file of a local directory to a directory on an SMB share, replacing the files already there.
+    # The directories are created first, then the files are copied in the background while the returned stream
+    # reports each one as it finishes.
+    # ```ballerina
+    # stream<smb:TransferProgress, error?> progress = check client->uploadDirectory("/var/exports", "/exports");
+    # check from smb:TransferProgress p in progress
+    #     do {
+    #         io:println(string `${p.filesTransferred}/${p.totalFiles} ${p.path}`);
+    #     };
+    # ```
+    #
+    # + localPath - The directory on the local file system
+    # + remotePath - The directory on the SMB share. It is created if it does not exist
+    # + options - How many files, and how many bytes, to copy at a time
+    # + return - A stream of the progress, which ends with an error if a file cannot be copied,
+    # or an `smb:Error` if the local directory cannot be listed or a directory cannot be created
+    remote isolated function uploadDirectory(string localPath, string remotePath,
+            DirectoryTransferOptions options = {}) returns stream<TransferProgress, error?>|Error = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
+    # Copies every file of a directory on an SMB share to a local directory, replacing the files already there.
+    # The directories are created first, then the files are copied in the background while the returned stream
+    # reports each one as it finishes.
+    # ```ballerina
+    # stream<smb:TransferProgress, error?> progress = check client->downloadDirectory("/exports", "/var/exports");
+    # check from smb:TransferProgress p in progress
+    #     do {
+    #         io:println(string `${p.bytesTransferred}/${p.totalBytes} bytes`);
+    #     };
+    # ```
+    #
+    # + remotePath - The directory on the SMB share
+    # + localPath - The directory on the local file system. It is created if it does not exist
+    # + options - How many files, and how many bytes, to copy at a time
+    # + return - A stream of the progress, which ends with an error if a file cannot be copied,
+    # or an `smb:Error` if the directory on the share cannot be listed or a directory cannot be created
+    remote isolated function downloadDirectory(string remotePath, string localPath,
+            DirectoryTransferOptions options = {}) returns stream<TransferProgress, error?>|Error = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
+    # Reports how much of the client's admission limits are in use.
+    # ```ballerina
+    # smb:AdmissionStats? stats = client.getAdmissionStats();
+    # ```
+    #
+    # + return - The current use of the limits, or `()` if the client was created without `admission`
+    public isolated function getAdmissionStats() returns AdmissionStats? = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
+    # Reports the use of the buffers files are read and written through. The buffers are shared by all clients
+    # and listeners in the program.
+    # ```ballerina
+    # smb:BufferPoolStats stats = client.getBufferPoolStats();
+    # ```
+    #
+    # + return - The use of the buffers since the program started
+    public isolated function getBufferPoolStats() returns BufferPoolStats = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
+    # Reports the reuse of the parse plans JSON, XML, and CSV content is bound with. The plans are shared by all
+    # clients and listeners in the program.
+    # ```ballerina
+    # smb:ParsePlanCacheStats stats = client.getParsePlanCacheStats();
+    # ```
+    #
+    # + return - The use of the parse plan cache since the program started
+    public isolated function getParsePlanCacheStats() returns ParsePlanCacheStats = @java:Method {
+        'class: "io.ballerina.lib.smb.client.SmbClient"
+    } external;
+
     # Checks if a file or directory exists on an SMB share.
     # ```ballerina
     # boolean|smb:Error response = client->exists(path);
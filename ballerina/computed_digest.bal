@@ -0,0 +1,52 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Receives the digest of the content of a transfer, computed as the content is read or written, so a transfer
+# can be verified later without reading the file again. Pass it as the `computedDigest` of an operation; its
+# value is set once the operation has passed all the content, and is replaced by each later transfer it is passed to.
+public isolated class ComputedDigest {
+
+    # The algorithm the digest is computed with
+    public final DigestAlgorithm algorithm;
+
+    # Creates a receiver for a digest computed with the given algorithm.
+    # ```ballerina
+    # smb:ComputedDigest digest = new (smb:CRC32C);
+    # ```
+    #
+    # + algorithm - The algorithm to compute the digest with
+    public isolated function init(DigestAlgorithm algorithm = SHA_256) {
+        self.algorithm = algorithm;
+        initComputedDigest(self);
+    }
+
+    # Gets the digest of the content of the last transfer.
+    # ```ballerina
+    # check smbClient->putBytes(path, content, computedDigest = digest);
+    # string? sha256 = digest.value();
+    # ```
+    #
+    # + return - The digest in lower-case hexadecimal, or `()` if no transfer has passed all its content yet
+    public isolated function value() returns string? = @java:Method {
+        'class: "io.ballerina.lib.smb.util.ContentDigest"
+    } external;
+}
+
+isolated function initComputedDigest(ComputedDigest computedDigest) = @java:Method {
+    'class: "io.ballerina.lib.smb.util.ContentDigest"
+} external;
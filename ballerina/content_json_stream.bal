@@ -0,0 +1,63 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Stream for reading JSON values from an SMB share: the items of a JSON array, or the lines of a JSON Lines file.
+# Each value is bound to the stream's element type as it is read.
+public class ContentJsonStream {
+
+    private boolean isClosed = false;
+    private Error? err;
+
+    public isolated function init(Error? err = ()) {
+        self.err = err;
+    }
+
+    # Reads and returns the next JSON value.
+    #
+    # + return - A record containing the value when the stream is available,
+    #            `()` if the stream has reached the end or else an `error`
+    public isolated function next() returns record {|json value;|}|error? {
+        return externGetContentJsonStreamEntry(self);
+    }
+
+    # Closes the stream. The primary usage of this function is to close the stream without reaching the end.
+    # If the stream reaches the end, the `contentJsonStream.next` will automatically close the stream.
+    #
+    # + return - Returns `()` when the closing was successful or an `error`
+    public isolated function close() returns error? {
+        if !self.isClosed {
+            var closeResult = externCloseContentJsonStream(self);
+            if closeResult is () {
+                self.isClosed = true;
+            }
+            return closeResult;
+        }
+        return ();
+    }
+}
+
+isolated function externGetContentJsonStreamEntry(ContentJsonStream iterator)
+        returns record {|json value;|}|error? = @java:Method {
+    'class: "io.ballerina.lib.smb.iterator.JsonIterator",
+    name: "next"
+} external;
+
+isolated function externCloseContentJsonStream(ContentJsonStream iterator) returns error? = @java:Method {
+    'class: "io.ballerina.lib.smb.iterator.JsonIterator",
+    name: "close"
+} external;
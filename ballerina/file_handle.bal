@@ -0,0 +1,78 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# A file on an SMB share kept open for reads and writes at any offset.
+# A small read fetches the bytes around it in the same request, so nearby reads are served without another one.
+# The file cannot be written through other handles until this handle is closed.
+public isolated class FileHandle {
+
+    # Reads bytes from an offset. Fewer bytes are returned when the file ends first, and none at or past its end.
+    # ```ballerina
+    # byte[] entry = check handle.read(4096, 128);
+    # ```
+    #
+    # + offset - The offset of the first byte to read
+    # + length - The number of bytes to read
+    # + return - The bytes read or an `smb:Error` if the file could not be read
+    public isolated function read(int offset, int length) returns byte[]|Error = @java:Method {
+        'class: "io.ballerina.lib.smb.client.FileHandle"
+    } external;
+
+    # Writes bytes at an offset, extending the file when they go past its end.
+    # ```ballerina
+    # check handle.write(4096, entry);
+    # ```
+    #
+    # + offset - The offset to write the first byte at
+    # + content - The bytes to write
+    # + return - `()` or else an `smb:Error` if the file was opened for reading only or could not be written
+    public isolated function write(int offset, byte[] content) returns Error? = @java:Method {
+        'class: "io.ballerina.lib.smb.client.FileHandle"
+    } external;
+
+    # Gets the size of the file.
+    # ```ballerina
+    # int size = check handle.size();
+    # ```
+    #
+    # + return - The size of the file in bytes or an `smb:Error` if the handle is closed
+    public isolated function size() returns int|Error = @java:Method {
+        'class: "io.ballerina.lib.smb.client.FileHandle"
+    } external;
+
+    # Sets the size of the file, dropping the bytes past it or extending the file with zeros.
+    # ```ballerina
+    # check handle.truncate(0);
+    # ```
+    #
+    # + size - The new size of the file in bytes
+    # + return - `()` or else an `smb:Error` if the file was opened for reading only or its size could not be set
+    public isolated function truncate(int size) returns Error? = @java:Method {
+        'class: "io.ballerina.lib.smb.client.FileHandle"
+    } external;
+
+    # Closes the file. Closing a closed handle has no effect.
+    # ```ballerina
+    # check handle.close();
+    # ```
+    #
+    # + return - `()` or else an `smb:Error` if the file could not be closed
+    public isolated function close() returns Error? = @java:Method {
+        'class: "io.ballerina.lib.smb.client.FileHandle"
+    } external;
+}
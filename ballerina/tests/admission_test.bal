@@ -0,0 +1,104 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+final Client admissionTestClient = check new ({
+    host: "localhost",
+    port: 445,
+    share: "testshare",
+    auth: {
+        credentials: {
+            username: "testuser",
+            password: "testpass"
+        }
+    },
+    admission: {
+        maxInFlightBytes: 1024,
+        maxConcurrentReads: 1,
+        maxConcurrentWrites: 1,
+        maxWaitTime: 5
+    }
+});
+
+@test:Config {
+    groups: ["admission"]
+}
+function testAdmissionStats() returns error? {
+    AdmissionStats? before = admissionTestClient.getAdmissionStats();
+    if before !is AdmissionStats {
+        test:assertFail("A client with admission limits should report their use");
+    }
+    check admissionTestClient->putText("/admission-test.txt", "admitted");
+    test:assertEquals(check admissionTestClient->getText("/admission-test.txt"), "admitted");
+
+    byte[] large = [];
+    foreach int i in 0 ..< 4096 {
+        large.push(<byte>(i % 256));
+    }
+    check admissionTestClient->putBytes("/admission-test.bin", large);
+    test:assertEquals(check admissionTestClient->getBytes("/admission-test.bin"), large,
+        "A file larger than the whole budget should be admitted on its own");
+
+    AdmissionStats? after = admissionTestClient.getAdmissionStats();
+    if after !is AdmissionStats {
+        test:assertFail("A client with admission limits should report their use");
+    }
+    test:assertEquals(after.admitted - before.admitted, 4);
+    test:assertEquals(after.rejected, 0);
+    test:assertEquals(after.inFlightBytes, 0);
+    test:assertEquals(after.activeReads, 0);
+    test:assertEquals(after.activeWrites, 0);
+    test:assertEquals(after.peakInFlightBytes, 1024);
+}
+
+@test:Config {
+    groups: ["admission"]
+}
+function testAdmissionStatsWithoutLimits() returns error? {
+    Client unlimitedClient = check new ({
+        host: "localhost",
+        port: 445,
+        share: "testshare",
+        auth: {
+            credentials: {
+                username: "testuser",
+                password: "testpass"
+            }
+        }
+    });
+    test:assertEquals(unlimitedClient.getAdmissionStats(), ());
+    check unlimitedClient->close();
+}
+
+@test:Config {
+    groups: ["admission"]
+}
+function testInvalidAdmissionLimits() {
+    Client|Error result = new ({
+        host: "localhost",
+        port: 445,
+        share: "testshare",
+        auth: {
+            credentials: {
+                username: "testuser",
+                password: "testpass"
+            }
+        },
+        admission: {maxConcurrentReads: 0}
+    });
+    test:assertTrue(result is Error, "A limit of zero concurrent reads should be rejected");
+}
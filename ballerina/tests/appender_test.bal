@@ -0,0 +1,73 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+@test:Config {
+    groups: ["appender"]
+}
+function testAppenderBatchesWrites() returns error? {
+    string path = "/appender-batches.log";
+    check smbClient->putText(path, "header\n");
+    Appender appender = check smbClient->openAppender(path, {batchSize: 1024, flushInterval: 60});
+    string expected = "header\n";
+    foreach int i in 0 ..< 200 {
+        string line = string `user=${i % 7} action=login seq=${i}` + "\n";
+        check appender.write(i % 2 == 0 ? line : line.toBytes());
+        expected += line;
+    }
+    check appender.close();
+    test:assertEquals(check smbClient->getText(path), expected);
+}
+
+@test:Config {
+    groups: ["appender"]
+}
+function testAppenderFlush() returns error? {
+    string path = "/appender-flush.log";
+    check smbClient->putText(path, "");
+    Appender appender = check smbClient->openAppender(path, {flushInterval: 60});
+    check appender.write("first\n");
+    test:assertEquals(check smbClient->getText(path), "",
+            "Content should be gathered until a batch, the flush interval, or a flush");
+    check appender.flush();
+    test:assertEquals(check smbClient->getText(path), "first\n");
+    check appender.write("second\n");
+    check appender.close();
+    test:assertEquals(check smbClient->getText(path), "first\nsecond\n");
+    check appender.close();
+    test:assertTrue(appender.write("third\n") is Error, "Writing to a closed appender should fail");
+}
+
+@test:Config {
+    groups: ["appender"]
+}
+function testAppenderWithoutBatching() returns error? {
+    string path = "/appender-unbatched.log";
+    Appender appender = check smbClient->openAppender(path, {flushInterval: 0});
+    check appender.write("written at once\n");
+    test:assertEquals(check smbClient->getText(path), "written at once\n");
+    check appender.close();
+    check smbClient->delete(path);
+}
+
+@test:Config {
+    groups: ["appender"]
+}
+function testAppenderInvalidOptions() {
+    Appender|Error result = smbClient->openAppender("/appender-invalid.log", {batchSize: 0});
+    test:assertTrue(result is Error, "A batch size of zero should be rejected");
+}
@@ -0,0 +1,78 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+const ARCHIVE_PATH = "/archive-test.zip";
+
+@test:BeforeGroups {
+    value: ["archive"]
+}
+function uploadTestArchive() returns error? {
+    check smbClient->putFile("tests/resources/datafiles/bundle.zip", ARCHIVE_PATH);
+}
+
+@test:Config {
+    groups: ["archive"]
+}
+function testArchiveEntries() returns error? {
+    ZipArchive archive = check smbClient->openArchive(ARCHIVE_PATH);
+    ArchiveEntry[] entries = archive.entries();
+    test:assertEquals(entries.map(entry => entry.name), ["data/", "manifest.json", "data/orders.csv"]);
+    test:assertTrue(entries[0].isDirectory);
+    test:assertEquals(entries[1].size, 12);
+    test:assertEquals(entries[1].compressedSize, 12, "A stored entry should take its own size");
+    test:assertTrue(entries[2].compressedSize < entries[2].size, "A deflated entry should be smaller");
+    check archive.close();
+}
+
+@test:Config {
+    groups: ["archive"]
+}
+function testArchiveEntryContent() returns error? {
+    ZipArchive archive = check smbClient->openArchive(ARCHIVE_PATH);
+    test:assertEquals(check string:fromBytes(check readArchiveEntry(archive, "manifest.json")), "{\"files\": 1}");
+
+    byte[] orders = check readArchiveEntry(archive, "data/orders.csv");
+    ArchiveEntry[] entries = archive.entries();
+    test:assertEquals(orders.length(), entries[2].size);
+    string text = check string:fromBytes(orders);
+    test:assertTrue(text.startsWith("id,customer,amount\n0,customer-0,0.00\n"));
+    test:assertTrue(text.endsWith("1999,customer-10,993.00\n"));
+
+    test:assertTrue(archive.getEntryAsStream("missing.txt") is Error, "A missing entry should not be read");
+    check archive.close();
+    check archive.close();
+}
+
+@test:Config {
+    groups: ["archive"]
+}
+function testArchiveNotZip() returns error? {
+    check smbClient->putText("/archive-not-zip.zip", "not an archive");
+    ZipArchive|Error result = smbClient->openArchive("/archive-not-zip.zip");
+    test:assertTrue(result is Error, "A file that is not a ZIP archive should not be opened");
+}
+
+function readArchiveEntry(ZipArchive archive, string name) returns byte[]|error {
+    stream<byte[], error?> content = check archive.getEntryAsStream(name);
+    byte[] bytes = [];
+    check from byte[] chunk in content
+        do {
+            bytes.push(...chunk);
+        };
+    return bytes;
+}
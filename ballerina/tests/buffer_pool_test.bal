@@ -0,0 +1,66 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+@test:Config {
+    groups: ["bufferPool"]
+}
+function testBufferPoolReuse() returns error? {
+    byte[] content = [];
+    foreach int i in 0 ..< 200000 {
+        content.push(<byte>(i % 251));
+    }
+    check smbClient->putBytes("/buffer-pool-test.bin", content);
+    BufferPoolStats before = smbClient.getBufferPoolStats();
+
+    foreach int round in 0 ..< 2 {
+        stream<byte[], error?> chunks = check smbClient->getBytesAsStream("/buffer-pool-test.bin");
+        byte[] received = [];
+        check from byte[] chunk in chunks
+            do {
+                received.push(...chunk);
+            };
+        test:assertEquals(received, content, "Chunks read through pooled buffers should hold the file's bytes");
+    }
+
+    BufferPoolStats after = smbClient.getBufferPoolStats();
+    test:assertTrue(after.borrowed > before.borrowed, "Reading a stream should borrow buffers");
+    test:assertTrue(after.hits > before.hits, "Buffers returned by earlier chunks should be reused");
+    test:assertEquals(after.outstanding, before.outstanding, "Every borrowed buffer should be returned");
+    test:assertTrue(after.hitRate > 0.0 && after.hitRate <= 1.0);
+}
+
+@test:Config {
+    groups: ["bufferPool"],
+    dependsOn: [testBufferPoolReuse]
+}
+function testByteStreamChunksNotPooled() returns error? {
+    BufferPoolStats before = smbClient.getBufferPoolStats();
+    stream<byte[], error?> chunks = check smbClient->getBytesAsStream("/buffer-pool-test.bin",
+            chunkSize = 4096);
+    int chunkCount = 0;
+    check from byte[] _ in chunks
+        do {
+            chunkCount += 1;
+        };
+
+    BufferPoolStats after = smbClient.getBufferPoolStats();
+    test:assertEquals(chunkCount, 49);
+    test:assertTrue(after.borrowed - before.borrowed < chunkCount,
+            "Stream chunks are kept by the consumer, so they should not be read into pooled buffers");
+    test:assertEquals(after.outstanding, before.outstanding, "Every borrowed buffer should be returned");
+}
@@ -18,7 +18,7 @@ import ballerina/test;
 import ballerina/lang.runtime;
 
 // Tests for client operations not covered by existing tests:
-// rename, move, copy, rmdir, size, isDirectory
+// rename, move, copy, rmdir, size, isDirectory, and getBytes and getText of large files
 
 @test:Config {
     groups: ["client", "rename"]
@@ -161,6 +161,45 @@ function testIsDirectory() returns error? {
     _ = check smbClient->delete(isDirFilePath);
 }
 
+@test:Config {
+    groups: ["client", "getBytes"],
+    dependsOn: [testIsDirectory]
+}
+function testGetBytesLargeFile() returns error? {
+    string path = "/test/get-bytes-large.bin";
+    byte[] block = [];
+    foreach int i in 0 ..< 4096 {
+        block.push(<byte>(i % 256));
+    }
+    byte[] content = [];
+    foreach int i in 0 ..< 768 {
+        content.push(...block);
+    }
+    content.push(1, 2, 3);
+    check smbClient->putBytes(path, content, OVERWRITE);
+    byte[] result = check smbClient->getBytes(path);
+    test:assertEquals(result.length(), content.length(), "Large file length mismatch");
+    test:assertEquals(result, content, "Large file content mismatch");
+    _ = check smbClient->delete(path);
+}
+
+@test:Config {
+    groups: ["client", "getText"],
+    dependsOn: [testGetBytesLargeFile]
+}
+function testGetTextLargeMultiByte() returns error? {
+    string path = "/test/get-text-large.txt";
+    string line = "naïve café, déjà vu — ✓ 日本語\n";
+    string content = "";
+    foreach int i in 0 ..< 20000 {
+        content += line;
+    }
+    check smbClient->putText(path, content, OVERWRITE);
+    string result = check smbClient->getText(path);
+    test:assertEquals(result, content, "Large multi-byte text mismatch");
+    _ = check smbClient->delete(path);
+}
+
 
 // ── Test 1: empty dialects list ───────────────────────────────────────────
 // SmbClient.initClientEndpoint checks `dialectsArray.size() <= 0` and
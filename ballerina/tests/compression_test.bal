@@ -0,0 +1,136 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+import ballerina/io;
+
+final Client gzipTestClient = check new ({
+    host: "localhost",
+    port: 445,
+    share: "testshare",
+    auth: {
+        credentials: {
+            username: "testuser",
+            password: "testpass"
+        }
+    },
+    compression: AUTO
+});
+
+final Client plainTestClient = check new ({
+    host: "localhost",
+    port: 445,
+    share: "testshare",
+    auth: {
+        credentials: {
+            username: "testuser",
+            password: "testpass"
+        }
+    }
+});
+
+type GzipCsvRow record {|
+    int id;
+    string region;
+    decimal amount;
+|};
+
+@test:BeforeSuite
+function setupCompressionTestDirectory() returns error? {
+    Error? mkdirResult = plainTestClient->mkdir("gziptest");
+    if mkdirResult is Error {
+        io:println("Directory may already exist: " + mkdirResult.message());
+    }
+}
+
+@test:Config {
+    groups: ["compression"]
+}
+function testPutTextGzipRoundTrip() returns error? {
+    string path = "/gziptest/notes.txt.gz";
+    string content = string:'join("\n", ...from int i in 0 ..< 2000 select string `line ${i}: all systems nominal`);
+    check gzipTestClient->putText(path, content);
+
+    test:assertEquals(check gzipTestClient->getText(path), content);
+    byte[] stored = check plainTestClient->getBytes(path);
+    test:assertEquals(stored.slice(0, 2), [0x1f, 0x8b], "The file should hold gzip content");
+    test:assertTrue(stored.length() < content.toBytes().length() / 5, "Repetitive content should compress");
+}
+
+@test:Config {
+    groups: ["compression"]
+}
+function testGzipAppend() returns error? {
+    string path = "/gziptest/appended.log.gz";
+    check gzipTestClient->putText(path, "first\n");
+    check gzipTestClient->putText(path, "second\n", APPEND);
+
+    test:assertEquals(check gzipTestClient->getText(path), "first\nsecond\n");
+}
+
+@test:Config {
+    groups: ["compression"]
+}
+function testGzipCsvStreamRoundTrip() returns error? {
+    string path = "/gziptest/sales.csv.gz";
+    GzipCsvRow[] rows = from int i in 0 ..< 5000 select {id: i, region: i % 2 == 0 ? "north" : "south", amount: 12.5};
+    check gzipTestClient->putCsvAsStream(path, rows.toStream());
+
+    stream<GzipCsvRow, error?> result = check gzipTestClient->getCsvAsStream(path);
+    GzipCsvRow[] readRows = check from GzipCsvRow row in result select row;
+    test:assertEquals(readRows, rows);
+}
+
+@test:Config {
+    groups: ["compression"]
+}
+function testGzipBytesStreamRoundTrip() returns error? {
+    string path = "/gziptest/payload.bin.gz";
+    byte[] content = [];
+    foreach int i in 0 ..< 200000 {
+        content.push(<byte>(i % 251));
+    }
+    check gzipTestClient->putBytesAsStream(path, [content.slice(0, 100000), content.slice(100000)].toStream());
+
+    stream<byte[], error?> result = check gzipTestClient->getBytesAsStream(path);
+    byte[] readContent = [];
+    check from byte[] chunk in result
+        do {
+            readContent.push(...chunk);
+        };
+    test:assertEquals(readContent, content);
+}
+
+@test:Config {
+    groups: ["compression"]
+}
+function testAutoCompressionSkipsOtherFiles() returns error? {
+    string path = "/gziptest/plain.txt";
+    check gzipTestClient->putText(path, "not compressed");
+
+    test:assertEquals(check plainTestClient->getText(path), "not compressed");
+}
+
+@test:Config {
+    groups: ["compression"]
+}
+function testGzipReadOfPlainContent() returns error? {
+    string path = "/gziptest/mislabelled.json.gz";
+    check plainTestClient->putText(path, "{\"id\": 1}");
+
+    json|Error result = gzipTestClient->getJson(path);
+    test:assertTrue(result is Error, "Content without a gzip header should not be read as compressed");
+}
@@ -0,0 +1,188 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+import ballerina/io;
+
+final Client digestTestClient = check new ({
+    host: "localhost",
+    port: 445,
+    share: "testshare",
+    auth: {
+        credentials: {
+            username: "testuser",
+            password: "testpass"
+        }
+    }
+});
+
+const ABC_SHA_256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+const DIGITS_CRC32C = "E3069283";
+
+@test:BeforeSuite
+function setupDigestTestDirectory() returns error? {
+    Error? mkdirResult = digestTestClient->mkdir("digesttest");
+    if mkdirResult is Error {
+        io:println("Directory may already exist: " + mkdirResult.message());
+    }
+}
+
+@test:Config {
+    groups: ["digest"]
+}
+function testPutAndGetBytesWithDigest() returns error? {
+    string path = "/digesttest/abc.bin";
+    check digestTestClient->putBytes(path, "abc".toBytes(), expectedDigest = {value: ABC_SHA_256});
+
+    byte[] content = check digestTestClient->getBytes(path, {value: ABC_SHA_256});
+    test:assertEquals(content, "abc".toBytes());
+    string text = check digestTestClient->getText(path, {algorithm: SHA_256, value: ABC_SHA_256.toUpperAscii()});
+    test:assertEquals(text, "abc");
+}
+
+@test:Config {
+    groups: ["digest"]
+}
+function testPutTextDigestMismatch() returns error? {
+    string path = "/digesttest/not-written.txt";
+    Error? result = digestTestClient->putText(path, "abd", expectedDigest = {value: ABC_SHA_256});
+
+    test:assertTrue(result is Error, "A put whose content does not match the digest should fail");
+    test:assertFalse(check digestTestClient->exists(path), "Nothing should be written when the digest does not match");
+}
+
+@test:Config {
+    groups: ["digest"]
+}
+function testGetBytesDigestMismatch() returns error? {
+    string path = "/digesttest/changed.bin";
+    check digestTestClient->putBytes(path, "abd".toBytes());
+
+    byte[]|Error result = digestTestClient->getBytes(path, {value: ABC_SHA_256});
+    test:assertTrue(result is Error, "A read whose content does not match the digest should fail");
+}
+
+@test:Config {
+    groups: ["digest"]
+}
+function testBytesStreamWithCrc32c() returns error? {
+    string path = "/digesttest/digits.bin";
+    check digestTestClient->putBytesAsStream(path, ["1234".toBytes(), "56789".toBytes()].toStream(),
+            expectedDigest = {algorithm: CRC32C, value: DIGITS_CRC32C});
+
+    stream<byte[], error?> content = check digestTestClient->getBytesAsStream(path,
+            {algorithm: CRC32C, value: DIGITS_CRC32C});
+    byte[] readContent = [];
+    check from byte[] chunk in content
+        do {
+            readContent.push(...chunk);
+        };
+    test:assertEquals(readContent, "123456789".toBytes());
+}
+
+@test:Config {
+    groups: ["digest"]
+}
+function testGetBytesAsStreamDigestMismatch() returns error? {
+    string path = "/digesttest/digits-changed.bin";
+    check digestTestClient->putBytes(path, "123456780".toBytes());
+
+    stream<byte[], error?> content = check digestTestClient->getBytesAsStream(path,
+            {algorithm: CRC32C, value: DIGITS_CRC32C});
+    record {|byte[] value;|}? chunk = check content.next();
+    test:assertEquals(chunk?.value, "123456780".toBytes());
+    record {|byte[] value;|}|error? end = content.next();
+    test:assertTrue(end is error, "The stream should end with an error when the digest does not match");
+}
+
+@test:Config {
+    groups: ["digest"]
+}
+function testPutBytesAsStreamDigestMismatchOverwrite() returns error? {
+    string path = "/digesttest/streamed.bin";
+    Error? result = digestTestClient->putBytesAsStream(path, ["1234".toBytes(), "56780".toBytes()].toStream(),
+            expectedDigest = {algorithm: CRC32C, value: DIGITS_CRC32C});
+
+    test:assertTrue(result is Error, "A streamed put whose content does not match the digest should fail");
+    test:assertFalse(check digestTestClient->exists(path), "Nothing should be left at the path");
+}
+
+@test:Config {
+    groups: ["digest"]
+}
+function testPutBytesAsStreamDigestMismatchKeepsEarlierContent() returns error? {
+    string path = "/digesttest/kept.bin";
+    check digestTestClient->putText(path, "earlier content");
+    Error? result = digestTestClient->putBytesAsStream(path, ["1234".toBytes(), "56780".toBytes()].toStream(),
+            expectedDigest = {algorithm: CRC32C, value: DIGITS_CRC32C});
+
+    test:assertTrue(result is Error, "A streamed put whose content does not match the digest should fail");
+    test:assertEquals(check digestTestClient->getText(path), "earlier content",
+            "An overwrite that does not match should leave the earlier content in place");
+    FileInfo[] files = check digestTestClient->list("/digesttest");
+    test:assertFalse(files.some(file => file.name.endsWith(".part")), "The temporary file should be removed");
+
+    check digestTestClient->putBytesAsStream(path, ["1234".toBytes(), "56789".toBytes()].toStream(),
+            expectedDigest = {algorithm: CRC32C, value: DIGITS_CRC32C});
+    test:assertEquals(check digestTestClient->getText(path), "123456789",
+            "An overwrite that matches should replace the file");
+}
+
+@test:Config {
+    groups: ["digest"]
+}
+function testComputedDigest() returns error? {
+    string path = "/digesttest/computed.bin";
+    ComputedDigest putDigest = new;
+    test:assertEquals(putDigest.value(), (), "No digest should be there before a transfer");
+    check digestTestClient->putBytes(path, "abc".toBytes(), computedDigest = putDigest);
+    test:assertEquals(putDigest.value(), ABC_SHA_256);
+
+    ComputedDigest getDigest = new (CRC32C);
+    check digestTestClient->putText(path, "123456789", computedDigest = getDigest);
+    test:assertEquals(getDigest.value(), DIGITS_CRC32C.toLowerAscii());
+    string text = check digestTestClient->getText(path, computedDigest = getDigest);
+    test:assertEquals(text, "123456789");
+    test:assertEquals(getDigest.value(), DIGITS_CRC32C.toLowerAscii());
+
+    ComputedDigest streamDigest = new;
+    check digestTestClient->putBytesAsStream(path, ["a".toBytes(), "bc".toBytes()].toStream(),
+            computedDigest = streamDigest);
+    test:assertEquals(streamDigest.value(), ABC_SHA_256);
+
+    ComputedDigest readDigest = new;
+    stream<byte[], error?> content = check digestTestClient->getBytesAsStream(path, computedDigest = readDigest);
+    check from byte[] _ in content
+        do {
+        };
+    test:assertEquals(readDigest.value(), ABC_SHA_256, "The digest should be set once the stream has ended");
+
+    byte[]|Error mixed = digestTestClient->getBytes(path, {value: ABC_SHA_256}, new ComputedDigest(CRC32C));
+    test:assertTrue(mixed is Error, "An expected and a computed digest of different algorithms should be rejected");
+}
+
+@test:Config {
+    groups: ["digest"]
+}
+function testPutBytesAsStreamDigestMismatchAppend() returns error? {
+    string path = "/digesttest/appended.log";
+    check digestTestClient->putText(path, "existing\n");
+    Error? result = digestTestClient->putBytesAsStream(path, ["1234".toBytes(), "56780".toBytes()].toStream(),
+            APPEND, {algorithm: CRC32C, value: DIGITS_CRC32C});
+
+    test:assertTrue(result is Error, "A streamed append whose content does not match the digest should fail");
+    test:assertEquals(check digestTestClient->getText(path), "existing\n", "The file should be cut back");
+}
@@ -0,0 +1,74 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+@test:Config {
+    groups: ["fileHandle"]
+}
+function testFileHandleRead() returns error? {
+    string path = "/file-handle-read.bin";
+    byte[] content = [];
+    foreach int i in 0 ..< 10000 {
+        content.push(<byte>(i % 251));
+    }
+    check smbClient->putBytes(path, content);
+
+    FileHandle handle = check smbClient->openFile(path, options = {readAheadSize: 4096});
+    test:assertEquals(check handle.size(), 10000);
+    test:assertEquals(check handle.read(100, 10), content.slice(100, 110));
+    test:assertEquals(check handle.read(200, 50), content.slice(200, 250), "A read in the window should match");
+    test:assertEquals(check handle.read(9000, 8000), content.slice(9000), "A read past the end should be cut short");
+    test:assertEquals(check handle.read(9990, 4), content.slice(9990, 9994), "A read near the end should match");
+    test:assertEquals(check handle.read(3000, 5000), content.slice(3000, 8000),
+            "A read larger than the window should match");
+    test:assertEquals(check handle.read(10000, 5), [], "A read at the end should be empty");
+    test:assertTrue(handle.write(0, [1, 2, 3]) is Error, "A file opened for reading should not be writable");
+    check handle.close();
+    check handle.close();
+    test:assertTrue(handle.read(0, 1) is Error, "A closed handle should not be readable");
+}
+
+@test:Config {
+    groups: ["fileHandle"]
+}
+function testFileHandleReadWrite() returns error? {
+    string path = "/file-handle-write.bin";
+    FileHandle handle = check smbClient->openFile(path, READ_WRITE);
+    check handle.write(0, "hello".toBytes());
+    check handle.write(10, "world".toBytes());
+    test:assertEquals(check handle.size(), 15);
+    byte[] expected = [...("hello".toBytes()), 0, 0, 0, 0, 0, ...("world".toBytes())];
+    test:assertEquals(check handle.read(0, 15), expected, "The gap between the writes should read as zeros");
+
+    check handle.write(1, "ipp".toBytes());
+    test:assertEquals(check handle.read(0, 5), "hippo".toBytes(), "A write should be seen by the reads after it");
+
+    check handle.truncate(5);
+    test:assertEquals(check handle.size(), 5);
+    test:assertEquals(check handle.read(0, 15), "hippo".toBytes());
+    check handle.close();
+    test:assertEquals(check smbClient->getText(path), "hippo");
+    check smbClient->delete(path);
+}
+
+@test:Config {
+    groups: ["fileHandle"]
+}
+function testFileHandleMissingFile() {
+    FileHandle|Error result = smbClient->openFile("/file-handle-missing.bin");
+    test:assertTrue(result is Error, "A missing file should not be opened for reading");
+}
@@ -269,6 +269,13 @@ int binaryStreamChunkCount = 0;
 int binaryStreamTotalBytes = 0;
 string? capturedBinaryStreamFileName = ();
 
+int textStreamCounter = 0;
+string[] capturedTextStreamLines = [];
+
+int gzipCsvCounter = 0;
+ListenerCsvRecord[] capturedGzipCsvRecords = [];
+string? capturedGzipCsvFileName = ();
+
 int xmlRecordCounter = 0;
 XmlConfig? capturedXmlRecordContent = ();
 string? capturedXmlRecordFileName = ();
@@ -406,6 +413,21 @@ Service csvRecordStreamService = service object {
     }
 };
 
+Service gzipCsvService = service object {
+    remote function onFileCsv(stream<ListenerCsvRecord, error?> content, FileInfo fileInfo) returns error? {
+        gzipCsvCounter += 1;
+        capturedGzipCsvFileName = fileInfo.name;
+        capturedGzipCsvRecords = check from ListenerCsvRecord rec in content select rec;
+    }
+};
+
+Service textStreamService = service object {
+    remote function onFileText(stream<string, error?> content, FileInfo fileInfo) returns error? {
+        textStreamCounter += 1;
+        capturedTextStreamLines = check from string line in content select line;
+    }
+};
+
 Service binaryStreamService = service object {
     remote function onFile(stream<byte[], error?> content, FileInfo fileInfo) returns error? {
         binaryStreamCounter += 1;
@@ -1504,3 +1526,98 @@ function testOnFileDeleteWithCaller() returns error? {
         io:println("Failed to clean up /delete_tests directory: ", cleanupResult.message());
     }
 }
+
+@test:Config {
+    groups: ["listener", "content-handlers", "text-stream"],
+    dependsOn: [testOnFileByteStreamHandler]
+}
+function testOnFileTextStreamHandler() returns error? {
+    textStreamCounter = 0;
+    capturedTextStreamLines = [];
+    error? mkdirResult = smbClient->mkdir("content_tests/text_stream");
+    if mkdirResult is error {
+        io:println("Directory might already exist: ", mkdirResult.message());
+    }
+    Listener textStreamListener = check new ({
+        host: "localhost",
+        port: 445,
+        auth: {
+            credentials: {
+                username: "testuser",
+                password: "testpass"
+            }
+        },
+        share: "testshare",
+        pollingInterval: 2
+    });
+    check textStreamListener.attach(textStreamService);
+    check textStreamListener.'start();
+    runtime:registerListener(textStreamListener);
+    runtime:sleep(3);
+    textStreamCounter = 0;
+    capturedTextStreamLines = [];
+
+    check smbClient->putText("/content_tests/text_stream/app.log", "first line\r\nsecond, ünïcode line\n\nlast line");
+    runtime:sleep(5);
+
+    check textStreamListener.immediateStop();
+    test:assertTrue(textStreamCounter >= 1, "onFileText with stream<string> should be triggered at least once");
+    test:assertEquals(capturedTextStreamLines, ["first line", "second, ünïcode line", "", "last line"]);
+}
+
+@test:Config {
+    groups: ["listener", "content-handlers", "compression"],
+    dependsOn: [testOnFileTextStreamHandler]
+}
+function testOnFileCsvGzipHandler() returns error? {
+    gzipCsvCounter = 0;
+    capturedGzipCsvRecords = [];
+    capturedGzipCsvFileName = ();
+    error? mkdirResult = smbClient->mkdir("content_tests/csv_gzip");
+    if mkdirResult is error {
+        io:println("Directory might already exist: ", mkdirResult.message());
+    }
+    Listener gzipListener = check new ({
+        host: "localhost",
+        port: 445,
+        auth: {
+            credentials: {
+                username: "testuser",
+                password: "testpass"
+            }
+        },
+        share: "testshare",
+        pollingInterval: 2,
+        compression: AUTO
+    });
+    check gzipListener.attach(gzipCsvService);
+    check gzipListener.'start();
+    runtime:registerListener(gzipListener);
+    runtime:sleep(3);
+    gzipCsvCounter = 0;
+
+    Client gzipClient = check new ({
+        host: "localhost",
+        port: 445,
+        share: "testshare",
+        auth: {
+            credentials: {
+                username: "testuser",
+                password: "testpass"
+            }
+        },
+        compression: AUTO
+    });
+    check gzipClient->putText("/content_tests/csv_gzip/users.csv.gz",
+            "id,name,email\n1,Alice,alice@example.com\n2,Bob,bob@example.com\n");
+    check gzipClient->close();
+    runtime:sleep(5);
+
+    check gzipListener.immediateStop();
+    test:assertTrue(gzipCsvCounter >= 1, "onFileCsv should be triggered for a .csv.gz file");
+    test:assertEquals(capturedGzipCsvFileName, "users.csv.gz", "The file info should name the file on the share");
+    test:assertEquals(capturedGzipCsvRecords, [
+        {id: "1", name: "Alice", email: "alice@example.com"},
+        {id: "2", name: "Bob", email: "bob@example.com"}
+    ]);
+}
@@ -0,0 +1,70 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/test;
+
+const LOCAL_FILE_SOURCE = "target/local_file_source.bin";
+const LOCAL_FILE_TARGET = "target/local_file_target.bin";
+
+@test:Config {
+    groups: ["localFile"]
+}
+function testPutFileAndGetFile() returns error? {
+    byte[] content = [];
+    foreach int i in 0 ..< 300000 {
+        content.push(<byte>(i % 253));
+    }
+    check io:fileWriteBytes(LOCAL_FILE_SOURCE, content);
+
+    check smbClient->putFile(LOCAL_FILE_SOURCE, "/localfile.bin");
+    test:assertEquals(check smbClient->size("/localfile.bin"), 300000);
+
+    check smbClient->putFile(LOCAL_FILE_SOURCE, "/localfile.bin", APPEND);
+    test:assertEquals(check smbClient->size("/localfile.bin"), 600000);
+
+    check smbClient->getFile("/localfile.bin", LOCAL_FILE_TARGET);
+    byte[] copied = check io:fileReadBytes(LOCAL_FILE_TARGET);
+    test:assertEquals(copied.length(), 600000);
+    test:assertEquals(copied.slice(300000), content);
+}
+
+@test:Config {
+    groups: ["localFile"]
+}
+function testPutFileEmpty() returns error? {
+    check io:fileWriteBytes(LOCAL_FILE_SOURCE + ".empty", []);
+    check smbClient->putFile(LOCAL_FILE_SOURCE + ".empty", "/localfile_empty.bin");
+    test:assertEquals(check smbClient->size("/localfile_empty.bin"), 0);
+    check smbClient->getFile("/localfile_empty.bin", LOCAL_FILE_TARGET + ".empty");
+    test:assertEquals(check io:fileReadBytes(LOCAL_FILE_TARGET + ".empty"), []);
+}
+
+@test:Config {
+    groups: ["localFile"]
+}
+function testPutFileMissingSource() {
+    Error? result = smbClient->putFile("target/no_such_local_file.bin", "/localfile_missing.bin");
+    test:assertTrue(result is Error, "Copying a missing local file should fail");
+}
+
+@test:Config {
+    groups: ["localFile"]
+}
+function testGetFileMissingSource() {
+    Error? result = smbClient->getFile("/no_such_remote_file.bin", LOCAL_FILE_TARGET + ".missing");
+    test:assertTrue(result is Error, "Copying a missing remote file should fail");
+}
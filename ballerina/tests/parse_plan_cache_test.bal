@@ -0,0 +1,79 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+final Client parsePlanFailSafeClient = check new ({
+    host: "localhost",
+    port: 445,
+    share: "testshare",
+    auth: {
+        credentials: {
+            username: "testuser",
+            password: "testpass"
+        }
+    },
+    csvFailSafe: {
+        contentType: METADATA
+    }
+});
+
+type PlanCacheProbe record {|
+    string probe;
+    int count;
+|};
+
+type PlanCacheRow record {|
+    string name;
+    int value;
+|};
+
+@test:Config {
+    groups: ["parsePlanCache"]
+}
+function testParsePlanReuse() returns error? {
+    check smbClient->putJson("/parse-plan-probe.json", {probe: "cache", count: 2});
+    PlanCacheProbe first = check smbClient->getJson("/parse-plan-probe.json");
+    ParsePlanCacheStats afterFirst = smbClient.getParsePlanCacheStats();
+
+    PlanCacheProbe second = check smbClient->getJson("/parse-plan-probe.json");
+    ParsePlanCacheStats afterSecond = smbClient.getParsePlanCacheStats();
+
+    test:assertEquals(second, first, "A read with a cached plan should bind the same value");
+    test:assertEquals(second, {probe: "cache", count: 2});
+    test:assertEquals(afterSecond.hits, afterFirst.hits + 1, "The second read should reuse the plan");
+    test:assertEquals(afterSecond.misses, afterFirst.misses, "The second read should not build a plan");
+    test:assertTrue(afterSecond.hitRate > 0.0 && afterSecond.hitRate <= 1.0);
+}
+
+@test:Config {
+    groups: ["parsePlanCache"],
+    dependsOn: [testParsePlanReuse]
+}
+function testParsePlanCacheBound() returns error? {
+    ParsePlanCacheStats before = smbClient.getParsePlanCacheStats();
+    // Fail-safe CSV reads of different files write to different error logs but share the plan of their type.
+    foreach int i in 0 ..< 3 {
+        string path = string `/parse-plan-cache-${i}.csv`;
+        check parsePlanFailSafeClient->putText(path, string `name,value${"\n"}row,${i}${"\n"}`);
+        PlanCacheRow[] rows = check parsePlanFailSafeClient->getCsv(path);
+        test:assertEquals(rows, [{name: "row", value: i}]);
+    }
+    ParsePlanCacheStats after = parsePlanFailSafeClient.getParsePlanCacheStats();
+    test:assertTrue(after.cachedPlans <= 256, "The cache should never hold more than 256 plans");
+    test:assertTrue(after.misses <= before.misses + 1, "Only the first file should build a plan");
+    test:assertTrue(after.hits >= before.hits + 2, "Later files of the same type and configuration should reuse it");
+}
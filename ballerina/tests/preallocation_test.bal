@@ -0,0 +1,115 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/test;
+
+const PREALLOCATION_LOCAL_SOURCE = "target/preallocation_source.bin";
+
+final Client preallocationTestClient = check new ({
+    host: "localhost",
+    port: 445,
+    share: "testshare",
+    auth: {
+        credentials: {
+            username: "testuser",
+            password: "testpass"
+        }
+    },
+    preallocationThreshold: 1024
+});
+
+function preallocationContent(int length, int seed) returns byte[] {
+    byte[] content = [];
+    foreach int i in 0 ..< length {
+        content.push(<byte>((i + seed) % 251));
+    }
+    return content;
+}
+
+@test:Config {
+    groups: ["preallocation"]
+}
+function testPreallocatedPutBytes() returns error? {
+    byte[] first = preallocationContent(100000, 0);
+    byte[] second = preallocationContent(50000, 7);
+    check preallocationTestClient->putBytes("/preallocated.bin", first);
+    test:assertEquals(check preallocationTestClient->size("/preallocated.bin"), first.length());
+
+    check preallocationTestClient->putBytes("/preallocated.bin", second, APPEND);
+    test:assertEquals(check preallocationTestClient->getBytes("/preallocated.bin"), [...first, ...second],
+            "Preallocating the file should not change what is written");
+
+    check preallocationTestClient->putBytes("/preallocated.bin", [1, 2, 3]);
+    test:assertEquals(check preallocationTestClient->getBytes("/preallocated.bin"), [1, 2, 3],
+            "Writes below the threshold should not be preallocated");
+}
+
+@test:Config {
+    groups: ["preallocation"]
+}
+function testPreallocatedPutFile() returns error? {
+    byte[] content = preallocationContent(300000, 3);
+    check io:fileWriteBytes(PREALLOCATION_LOCAL_SOURCE, content);
+    check preallocationTestClient->putFile(PREALLOCATION_LOCAL_SOURCE, "/preallocated_file.bin");
+    check preallocationTestClient->putFile(PREALLOCATION_LOCAL_SOURCE, "/preallocated_file.bin", APPEND);
+    test:assertEquals(check preallocationTestClient->size("/preallocated_file.bin"), 2 * content.length());
+    test:assertEquals(check preallocationTestClient->getBytes("/preallocated_file.bin"), [...content, ...content]);
+}
+
+@test:Config {
+    groups: ["preallocation"]
+}
+function testTruncate() returns error? {
+    byte[] content = preallocationContent(5000, 0);
+    check preallocationTestClient->putBytes("/truncated.bin", content);
+
+    check preallocationTestClient->truncate("/truncated.bin", 1000);
+    test:assertEquals(check preallocationTestClient->getBytes("/truncated.bin"), content.slice(0, 1000));
+
+    check preallocationTestClient->truncate("/truncated.bin", 1500);
+    byte[] extended = check preallocationTestClient->getBytes("/truncated.bin");
+    test:assertEquals(extended.length(), 1500);
+    test:assertEquals(extended.slice(0, 1000), content.slice(0, 1000));
+    foreach byte b in extended.slice(1000) {
+        test:assertEquals(b, 0, "Extending a file should fill it with zeros");
+    }
+
+    Error? result = preallocationTestClient->truncate("/truncated.bin", -1);
+    test:assertTrue(result is Error, "A negative size should be rejected");
+    result = preallocationTestClient->truncate("/no_such_file_to_truncate.bin", 10);
+    test:assertTrue(result is Error, "Truncating a missing file should fail");
+}
+
+@test:Config {
+    groups: ["preallocation"]
+}
+function testZeroRange() returns error? {
+    byte[] content = preallocationContent(8192, 1);
+    check preallocationTestClient->putBytes("/zeroed.bin", content);
+
+    check preallocationTestClient->zeroRange("/zeroed.bin", 1000, 2000);
+    byte[] zeroed = check preallocationTestClient->getBytes("/zeroed.bin");
+    test:assertEquals(zeroed.length(), content.length(), "Zeroing a range should not change the size");
+    test:assertEquals(zeroed.slice(0, 1000), content.slice(0, 1000));
+    test:assertEquals(zeroed.slice(3000), content.slice(3000));
+    foreach byte b in zeroed.slice(1000, 3000) {
+        test:assertEquals(b, 0, "The range should read back as zeros");
+    }
+
+    Error? result = preallocationTestClient->zeroRange("/zeroed.bin", 0, -1);
+    test:assertTrue(result is Error, "A negative length should be rejected");
+}
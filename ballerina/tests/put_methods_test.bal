@@ -445,6 +445,11 @@ function testGetXmlAsNestedRecord() returns error? {
     }
 }
 
+type NoteRow record {|
+    string name;
+    string note;
+|};
+
 type Address record {|
     string city;
     string zip;
@@ -479,6 +484,40 @@ function testPutCsvStringArrays() returns error? {
     groups: ["put", "putCsv"],
     dependsOn: [testPutCsvStringArrays]
 }
+function testGetCsvStringArraysWithQuotedFields() returns error? {
+    string path = "/test/get-csv-quoted-fields.csv";
+    string[][] content = [
+        ["name", "note", "city"],
+        ["Zoë", "line one\nline two", "São Paulo"],
+        ["Bob", "say \"hi\", then leave", ""],
+        ["", "a,b,c", "Boston"]
+    ];
+    check testClient->putCsv(path, content, OVERWRITE);
+    string[][] result = check testClient->getCsv(path);
+    test:assertEquals(result, content.slice(1));
+}
+
+@test:Config {
+    groups: ["put", "putCsv"],
+    dependsOn: [testGetCsvStringArraysWithQuotedFields]
+}
+function testGetCsvStringArraysWithEscapedQuotes() returns error? {
+    string quotedPath = "/test/get-csv-doubled-quotes.csv";
+    check testClient->putText(quotedPath, "name,note\n\"x\"\"y\",\"a, b\"\nplain,\"\"\n", OVERWRITE);
+    string escapedPath = "/test/get-csv-escaped-quotes.csv";
+    check testClient->putText(escapedPath, "name,note\n\"a\\\"b\",c\n\"x\"\"y\",\"ends\\\\\"\n", OVERWRITE);
+    foreach string path in [quotedPath, escapedPath] {
+        string[][] rows = check testClient->getCsv(path);
+        NoteRow[] records = check testClient->getCsv(path);
+        string[][] expected = from NoteRow row in records select [row.name, row.note];
+        test:assertEquals(rows, expected, string `string[][] should split ${path} as data.csv does`);
+    }
+}
+
+@test:Config {
+    groups: ["put", "putCsv"],
+    dependsOn: [testGetCsvStringArraysWithEscapedQuotes]
+}
 function testPutCsvAppend() returns error? {
     string path = "/test/put-csv-append.csv";
     string[][] header = [
@@ -620,6 +659,93 @@ function testPutCsvRecordsAppendNoHeader() returns error? {
     }
 }
 
+type LedgerEntry record {|
+    string memo;
+    int quantity;
+    decimal amount;
+    boolean settled;
+|};
+
+@test:Config {
+    groups: ["put", "putCsv", "putCsvRecords"],
+    dependsOn: [testPutCsvRecordsAppendNoHeader]
+}
+function testPutCsvRecordsWithTypedColumns() returns error? {
+    string path = "/test/put-csv-typed-columns.csv";
+    LedgerEntry[] records = [
+        {memo: "plain", quantity: 3, amount: 10.50, settled: true},
+        {memo: "with, comma", quantity: -7, amount: 0.25, settled: false},
+        {memo: "say \"hi\"", quantity: 0, amount: 100, settled: true}
+    ];
+    check testClient->putCsv(path, records, OVERWRITE);
+    string result = check testClient->getText(path);
+    test:assertTrue(result.startsWith("memo,quantity,amount,settled"), "Header should follow the field order");
+    test:assertTrue(result.includes("plain,3,10.50,true"));
+    test:assertTrue(result.includes("\"with, comma\",-7,0.25,false"));
+    test:assertTrue(result.includes("\"say \"\"hi\"\"\",0,100,true"));
+
+    LedgerEntry[] readBack = check testClient->getCsv(path);
+    test:assertEquals(readBack, records);
+}
+
+@test:Config {
+    groups: ["put", "putCsv", "putCsvRecords"],
+    dependsOn: [testPutCsvRecordsWithTypedColumns]
+}
+function testGetCsvRecordsLargeFile() returns error? {
+    string path = "/test/get-csv-large-records.csv";
+    // About 12 MB, which is bound in several parts in parallel. Some quoted memos hold line breaks.
+    LedgerEntry[] records = from int i in 0 ..< 400000
+        select {
+            memo: i % 11 == 0 ? string `entry ${i},${"\n"}"carried"` : string `entry ${i}`,
+            quantity: i,
+            amount: 0.25,
+            settled: i % 2 == 0
+        };
+    check testClient->putCsv(path, records, OVERWRITE);
+
+    LedgerEntry[] readBack = check testClient->getCsv(path);
+    test:assertEquals(readBack.length(), records.length());
+    test:assertEquals(readBack, records, "Records should be bound in their original order");
+}
+
+type RegionTotal record {|
+    string region;
+    decimal total;
+|};
+
+@test:Config {
+    groups: ["put", "putCsv", "csvReadOptions"],
+    dependsOn: [testGetCsvRecordsLargeFile]
+}
+function testGetCsvWithReadOptions() returns error? {
+    string path = "/test/get-csv-read-options.csv";
+    string csvContent = "id,region,total,note\n1,EU,10.5,\"first, EU\"\n2,APAC,3,second\n" +
+        "3,EU,abc,third\n4,US,100,\"fourth\nline\"\n5,EU,42,fifth";
+    check testClient->putText(path, csvContent, OVERWRITE);
+
+    string[][] euRows = check testClient->getCsv(path,
+            options = {columns: ["id", "region"], filter: {column: "region", equals: "EU"}});
+    test:assertEquals(euRows, [["1", "EU"], ["3", "EU"], ["5", "EU"]]);
+
+    RegionTotal[] euTotals = check testClient->getCsv(path, options = {
+        columns: ["region", "total"],
+        filter: [{column: "region", equals: "EU"}, {column: "total", min: 0}]
+    });
+    test:assertEquals(euTotals, [{region: "EU", total: 10.5}, {region: "EU", total: 42}],
+            "A row should be kept only if it meets the conditions on every column");
+
+    string[][] notes = check testClient->getCsv(path,
+            options = {columns: ["note", "id"], filter: {column: "region", 'in: ["US", "APAC"]}});
+    test:assertEquals(notes, [["second", "2"], ["fourth\nline", "4"]]);
+
+    string[][] inRange = check testClient->getCsv(path, options = {filter: {column: "total", min: 3, max: 50}});
+    test:assertEquals(inRange.map(row => row[0]), ["1", "2", "5"]);
+
+    string[][]|Error unknownColumn = testClient->getCsv(path, options = {columns: ["region", "missing"]});
+    test:assertTrue(unknownColumn is Error, "A column that is not in the header should give an error");
+}
+
 @test:Config {
     groups: ["put", "integration"],
     dependsOn: [testPutCsvRecordsAppendNoHeader]
@@ -0,0 +1,69 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+final Client spillTestClient = check new ({
+    host: "localhost",
+    port: 445,
+    share: "testshare",
+    auth: {
+        credentials: {
+            username: "testuser",
+            password: "testpass"
+        }
+    },
+    spillThreshold: 1
+});
+
+type SpillRow record {|
+    int id;
+    string name;
+|};
+
+@test:Config {
+    groups: ["spill"]
+}
+function testGetCsvFromSpillFile() returns error? {
+    string path = "/spill-test.csv";
+    string csvContent = "id,name\n";
+    foreach int i in 1 ... 5000 {
+        csvContent += string `${i},"name ${i}, quoted"` + "\n";
+    }
+    check spillTestClient->putText(path, csvContent);
+
+    SpillRow[] rows = check spillTestClient->getCsv(path);
+    test:assertEquals(rows.length(), 5000);
+    test:assertEquals(rows[4999], {id: 5000, name: "name 5000, quoted"});
+
+    string[][] table = check spillTestClient->getCsv(path);
+    test:assertEquals(table.length(), 5000);
+    test:assertEquals(table[0], ["1", "name 1, quoted"]);
+
+    string[][] names = check spillTestClient->getCsv(path,
+            options = {columns: ["name"], filter: {column: "id", min: 10, max: 12}});
+    test:assertEquals(names, [["name 10, quoted"], ["name 11, quoted"], ["name 12, quoted"]]);
+}
+
+@test:Config {
+    groups: ["spill"]
+}
+function testGetCsvFromSpillFileBindingError() returns error? {
+    string path = "/spill-test-invalid.csv";
+    check spillTestClient->putText(path, "id,name\n1,one\nnot-a-number,two\n");
+    SpillRow[]|Error rows = spillTestClient->getCsv(path);
+    test:assertTrue(rows is Error, "A row that cannot be bound should give an error");
+}
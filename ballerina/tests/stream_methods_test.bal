@@ -95,6 +95,37 @@ function testGetBytesAsStreamEmpty() returns error? {
     test:assertEquals(result.length(), 0, "Empty file stream should be empty");
 }
 
+@test:Config {
+    groups: ["stream", "getBytesAsStream"],
+    dependsOn: [testGetBytesAsStreamLargeFile]
+}
+function testGetBytesAsStreamChunkSize() returns error? {
+    string path = "/streamtest/bytes-stream-large.bin";
+    stream<byte[], error?> byteStream = check streamTestClient->getBytesAsStream(path, chunkSize = 4096);
+    int[] chunkLengths = [];
+    byte[] result = [];
+    check from byte[] chunk in byteStream
+        do {
+            chunkLengths.push(chunk.length());
+            result.push(...chunk);
+        };
+    test:assertEquals(chunkLengths, [4096, 4096, 4096, 4096, 3616], "Every chunk but the last should be full");
+    test:assertEquals(result.length(), 20000);
+
+    stream<byte[], error?> defaultStream = check streamTestClient->getBytesAsStream(path);
+    byte[][] chunks = check from byte[] chunk in defaultStream select chunk;
+    test:assertEquals(chunks.length(), 1, "A file smaller than the largest read should be a single chunk");
+}
+
+@test:Config {
+    groups: ["stream", "getBytesAsStream"]
+}
+function testGetBytesAsStreamInvalidChunkSize() {
+    stream<byte[], error?>|Error result = streamTestClient->getBytesAsStream("/streamtest/bytes-stream-basic.bin",
+            chunkSize = 0);
+    test:assertTrue(result is Error, "A chunk size of zero should be rejected");
+}
+
 @test:Config {
     groups: ["stream", "getCsvAsStream", "getCsvAsStreamRecord"],
     dependsOn: [testGetCsvAsStreamWithSpecialChars]
@@ -290,6 +321,50 @@ function testGetCsvAsStreamRecordWithTypes() returns error? {
     test:assertEquals(result[1].inStock, false, "Second product inStock mismatch");
 }
 
+@test:Config {
+    groups: ["stream", "getCsvAsStream", "getCsvAsStreamRecord"],
+    dependsOn: [testGetCsvAsStreamRecordWithTypes]
+}
+function testGetCsvAsStreamRecordAcrossChunks() returns error? {
+    string path = "/streamtest/csv-stream-record-chunks.csv";
+    // About 250 KB, so the content is read in several chunks. Some quoted fields hold line breaks and
+    // commas, and fall across the boundary of a chunk.
+    Employee[] records = from int i in 0 ..< 5000
+        select {
+            name: string `Employee ${i}`,
+            age: i % 60,
+            department: i % 7 == 0 ? string `Research,${"\n"}Lab "${i}"` : "Engineering"
+        };
+    check streamTestClient->putCsv(path, records, OVERWRITE);
+
+    stream<Employee, error?> csvStream = check streamTestClient->getCsvAsStream(path);
+    Employee[] result = [];
+    check from Employee emp in csvStream
+        do {
+            result.push(emp);
+        };
+    test:assertEquals(result.length(), records.length(), "Record stream row count mismatch");
+    test:assertEquals(result, records, "Rows should be bound the same way across chunks");
+}
+
+@test:Config {
+    groups: ["stream", "getCsvAsStream", "csvReadOptions"],
+    dependsOn: [testGetCsvAsStreamRecordAcrossChunks]
+}
+function testGetCsvAsStreamWithReadOptions() returns error? {
+    string path = "/streamtest/csv-stream-read-options.csv";
+    // Several chunks, each of which is reduced to the selected columns and rows on its own.
+    Employee[] records = from int i in 0 ..< 5000
+        select {name: string `Employee ${i}`, age: i % 60, department: i % 3 == 0 ? "Research" : "Sales"};
+    check streamTestClient->putCsv(path, records, OVERWRITE);
+
+    stream<record {|string name; int age;|}, error?> csvStream = check streamTestClient->getCsvAsStream(path,
+            options = {columns: ["name", "age"], filter: {column: "department", equals: "Research"}});
+    record {|string name; int age;|}[] result = check from var row in csvStream select row;
+    test:assertEquals(result.length(), 1667);
+    test:assertEquals(result[1], {name: "Employee 3", age: 3});
+}
+
 @test:Config {
     groups: ["stream", "getCsvAsStream"],
     dependsOn: [testGetCsvAsStreamRecordWithTypes]
@@ -638,3 +713,199 @@ function testBytesStreamVsNonStreamConsistency() returns error? {
         test:assertEquals(streamResult, bytesResult);
     }
 }
+
+final Client smallBufferStreamClient = check new ({
+    host: "localhost",
+    port: 445,
+    share: "testshare",
+    auth: {
+        credentials: {
+            username: "testuser",
+            password: "testpass"
+        }
+    },
+    bufferSize: 16
+});
+
+@test:Config {
+    groups: ["stream", "putBytesAsStream"],
+    dependsOn: [testPutBytesAsStreamRoundTrip]
+}
+function testPutBytesAsStreamAcrossBufferBoundaries() returns error? {
+    string path = "/streamtest/bytes-stream-small-buffer.bin";
+    byte[][] chunks = ["first".toBytes(), [], "a chunk longer than the buffer".toBytes(), "x".toBytes()];
+    stream<byte[], error?> byteStream = chunks.toStream();
+    check smallBufferStreamClient->putBytesAsStream(path, byteStream, OVERWRITE);
+
+    byte[] expected = [];
+    foreach byte[] chunk in chunks {
+        expected.push(...chunk);
+    }
+    test:assertEquals(check streamTestClient->getBytes(path), expected);
+}
+
+@test:Config {
+    groups: ["stream", "putCsvAsStream", "putCsvAsStreamRecord"],
+    dependsOn: [testPutCsvAsStreamRoundTrip]
+}
+function testPutCsvAsStreamAcrossBufferBoundaries() returns error? {
+    string path = "/streamtest/csv-stream-small-buffer.csv";
+    Employee[] records = from int i in 0 ..< 50
+        select {name: string `Employee, ${i}`, age: 20 + i, department: "Engineering"};
+    stream<Employee, error?> csvStream = records.toStream();
+    check smallBufferStreamClient->putCsvAsStream(path, csvStream, OVERWRITE);
+
+    Employee[] result = check streamTestClient->getCsv(path);
+    test:assertEquals(result, records);
+}
+
+@test:Config {
+    groups: ["stream", "getJsonArrayAsStream"]
+}
+function testGetJsonArrayAsStream() returns error? {
+    string path = "/streamtest/json-array-stream.json";
+    // About 300 KB, so items fall across the chunks the file is read in. Some hold brackets, commas,
+    // and escaped quotes in their strings.
+    Employee[] records = from int i in 0 ..< 5000
+        select {
+            name: string `Employee ${i}`,
+            age: i % 60,
+            department: i % 7 == 0 ? string `R&D, "Lab ${i}" [east]` : "Engineering"
+        };
+    check streamTestClient->putJson(path, records.toJson(), OVERWRITE);
+
+    stream<Employee, error?> jsonStream = check streamTestClient->getJsonArrayAsStream(path);
+    Employee[] result = check from Employee emp in jsonStream select emp;
+    test:assertEquals(result, records, "Items should be bound the same way across chunks");
+
+    stream<json, error?> plainStream = check streamTestClient->getJsonArrayAsStream(path);
+    record {|json value;|}? first = check plainStream.next();
+    test:assertEquals(first?.value, records[0].toJson());
+    check plainStream.close();
+}
+
+@test:Config {
+    groups: ["stream", "getJsonArrayAsStream"]
+}
+function testGetJsonArrayAsStreamNotAnArray() returns error? {
+    string path = "/streamtest/json-array-stream-object.json";
+    check streamTestClient->putJson(path, {name: "not an array"}, OVERWRITE);
+
+    stream<json, error?> jsonStream = check streamTestClient->getJsonArrayAsStream(path);
+    record {|json value;|}|error? first = jsonStream.next();
+    test:assertTrue(first is error, "A file that does not hold a JSON array should end the stream with an error");
+}
+
+type Order record {|
+    string id;
+    decimal total;
+|};
+
+@test:Config {
+    groups: ["stream", "getXmlAsStream"]
+}
+function testGetXmlAsStream() returns error? {
+    string path = "/streamtest/xml-element-stream.xml";
+    Order[] orders = from int i in 0 ..< 3000 select {id: string `ORD-${i}`, total: <decimal>i + 0.25d};
+    xml orderElements = xml ``;
+    foreach Order 'order in orders {
+        orderElements += xml `<Order><id>${'order.id}</id><total>${'order.total}</total></Order>`;
+    }
+    xml feed = xml `<Feed><Header><Order><id>skipped</id></Order></Header><Orders>${orderElements}</Orders></Feed>`;
+    check streamTestClient->putXml(path, feed, OVERWRITE);
+
+    stream<Order, error?> orderStream = check streamTestClient->getXmlAsStream(path, "Orders/Order");
+    Order[] result = check from Order 'order in orderStream select 'order;
+    test:assertEquals(result, orders, "Only the elements inside Orders should be returned");
+
+    stream<xml, error?> elementStream = check streamTestClient->getXmlAsStream(path, "Order");
+    xml[] elements = check from xml element in elementStream select element;
+    test:assertEquals(elements.length(), orders.length() + 1);
+    test:assertEquals(elements[0], xml `<Order><id>skipped</id></Order>`);
+}
+
+@test:Config {
+    groups: ["stream", "getXmlAsStream"],
+    dependsOn: [testGetXmlAsStream]
+}
+function testGetXmlAsStreamInvalidPath() returns error? {
+    stream<xml, error?>|Error result = streamTestClient->getXmlAsStream("/streamtest/xml-element-stream.xml",
+            "Orders//Order");
+    test:assertTrue(result is Error, "An element path with an empty name should be rejected");
+}
+
+@test:Config {
+    groups: ["stream", "jsonLines"]
+}
+function testJsonLinesAsStreamRoundTrip() returns error? {
+    string path = "/streamtest/json-lines-stream.jsonl";
+    Employee[] records = from int i in 0 ..< 5000
+        select {name: string `Employee ${i}`, age: i % 60, department: i % 7 == 0 ? "R&D\nLab" : "Engineering"};
+    check streamTestClient->putJsonLinesAsStream(path, records.toStream(), OVERWRITE);
+
+    stream<Employee, error?> lineStream = check streamTestClient->getJsonLinesAsStream(path);
+    Employee[] result = check from Employee emp in lineStream select emp;
+    test:assertEquals(result, records, "Each line should hold one value, line breaks in strings escaped");
+}
+
+@test:Config {
+    groups: ["stream", "jsonLines"],
+    dependsOn: [testJsonLinesAsStreamRoundTrip]
+}
+function testPutJsonLinesAsStreamAppend() returns error? {
+    string path = "/streamtest/json-lines-append.jsonl";
+    json[] first = [{id: 1}, "text", null];
+    json[] second = [[1, 2], {id: 2}];
+    check smallBufferStreamClient->putJsonLinesAsStream(path, first.toStream(), OVERWRITE);
+    check smallBufferStreamClient->putJsonLinesAsStream(path, second.toStream(), APPEND);
+
+    test:assertEquals(check streamTestClient->getText(path), "{\"id\":1}\n\"text\"\nnull\n[1, 2]\n{\"id\":2}\n");
+    stream<json, error?> lineStream = check streamTestClient->getJsonLinesAsStream(path);
+    json[] result = check from json value in lineStream select value;
+    test:assertEquals(result, [...first, ...second]);
+}
+
+@test:Config {
+    groups: ["stream", "jsonLines"]
+}
+function testGetJsonLinesAsStreamSkipsBlankLines() returns error? {
+    string path = "/streamtest/json-lines-blank.jsonl";
+    check streamTestClient->putText(path, "{\"id\":1}\r\n\r\n  \n{\"id\":2}\nnot json\n", OVERWRITE);
+
+    stream<record {|int id;|}, error?> lineStream = check streamTestClient->getJsonLinesAsStream(path);
+    record {|record {|int id;|} value;|}? first = check lineStream.next();
+    test:assertEquals(first?.value, {id: 1});
+    record {|record {|int id;|} value;|}? second = check lineStream.next();
+    test:assertEquals(second?.value, {id: 2});
+    record {|record {|int id;|} value;|}|error? invalid = lineStream.next();
+    test:assertTrue(invalid is error, "A line that is not JSON should end the stream with an error");
+}
+
+@test:Config {
+    groups: ["stream", "getLinesAsStream"]
+}
+function testGetLinesAsStream() returns error? {
+    string path = "/streamtest/lines-stream.log";
+    // About 450 KB, so lines fall across the chunks the file is read in.
+    string[] lines = from int i in 0 ..< 10000 select string `${i}: request served in ${i % 97} ms — ok`;
+    check streamTestClient->putText(path, string:'join("\r\n", ...lines) + "\r\n", OVERWRITE);
+
+    stream<string, error?> lineStream = check streamTestClient->getLinesAsStream(path);
+    string[] result = check from string line in lineStream select line;
+    test:assertEquals(result, lines);
+}
+
+@test:Config {
+    groups: ["stream", "getLinesAsStream"]
+}
+function testGetLinesAsStreamLineTooLong() returns error? {
+    string path = "/streamtest/lines-stream-long.log";
+    check streamTestClient->putText(path, "short\n" + string:'join("", ...from int i in 0 ..< 100 select "x") + "\n",
+            OVERWRITE);
+
+    stream<string, error?> lineStream = check streamTestClient->getLinesAsStream(path, maxLineLength = 64);
+    record {|string value;|}? first = check lineStream.next();
+    test:assertEquals(first?.value, "short");
+    record {|string value;|}|error? long = lineStream.next();
+    test:assertTrue(long is error, "A line longer than maxLineLength should end the stream with an error");
+}
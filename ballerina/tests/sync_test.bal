@@ -0,0 +1,84 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/test;
+
+final Client syncTestClient = check new ({
+    host: "localhost",
+    port: 445,
+    share: "testshare",
+    auth: {
+        credentials: {
+            username: "testuser",
+            password: "testpass"
+        }
+    }
+});
+
+const SYNC_LOCAL_DIRECTORY = "target/sync_test/mirror";
+
+@test:Config {
+    groups: ["sync"]
+}
+function testSyncDirectory() returns error? {
+    Error? mkdirResult = syncTestClient->mkdir("synctest");
+    if mkdirResult is Error {
+        io:println("Directory may already exist: " + mkdirResult.message());
+    }
+    mkdirResult = syncTestClient->mkdir("synctest/nested");
+    if mkdirResult is Error {
+        io:println("Directory may already exist: " + mkdirResult.message());
+    }
+    check syncTestClient->putText("/synctest/a.txt", "alpha");
+    check syncTestClient->putText("/synctest/nested/b.txt", "beta");
+
+    SyncSummary summary = check syncTestClient->syncDirectory(SYNC_LOCAL_DIRECTORY, "/synctest",
+        {direction: DOWNLOAD, deleteExtraneous: true});
+    test:assertEquals(summary.transferred, 2);
+    test:assertEquals(summary.bytesTransferred, 9);
+    test:assertEquals(summary.failures, []);
+    test:assertEquals(check io:fileReadString(SYNC_LOCAL_DIRECTORY + "/nested/b.txt"), "beta");
+
+    summary = check syncTestClient->syncDirectory(SYNC_LOCAL_DIRECTORY, "/synctest", {direction: DOWNLOAD});
+    test:assertEquals(summary.transferred, 0, "Unchanged files should not be copied again");
+    test:assertEquals(summary.skipped, 2);
+
+    check io:fileWriteString(SYNC_LOCAL_DIRECTORY + "/a.txt", "alpha, changed");
+    summary = check syncTestClient->syncDirectory(SYNC_LOCAL_DIRECTORY, "/synctest");
+    test:assertEquals(summary.transferred, 1, "Only the changed file should be copied");
+    test:assertEquals(summary.skipped, 1);
+    test:assertEquals(check syncTestClient->getText("/synctest/a.txt"), "alpha, changed");
+
+    check io:fileWriteString(SYNC_LOCAL_DIRECTORY + "/c.txt", "gamma");
+    check syncTestClient->putText("/synctest/extra.txt", "not in the source");
+    summary = check syncTestClient->syncDirectory(SYNC_LOCAL_DIRECTORY, "/synctest",
+        {deleteExtraneous: true, compareDigests: true, maxConcurrentTransfers: 1});
+    test:assertEquals(summary.transferred, 1);
+    test:assertEquals(summary.skipped, 2);
+    test:assertEquals(summary.deleted, 1);
+    test:assertFalse(check syncTestClient->exists("/synctest/extra.txt"));
+    test:assertEquals(check syncTestClient->getText("/synctest/c.txt"), "gamma");
+}
+
+@test:Config {
+    groups: ["sync"]
+}
+function testSyncDirectoryWithoutWorkers() {
+    SyncSummary|Error result = syncTestClient->syncDirectory(SYNC_LOCAL_DIRECTORY, "/synctest",
+        {maxConcurrentTransfers: 0});
+    test:assertTrue(result is Error, "A sync without workers should fail");
+}
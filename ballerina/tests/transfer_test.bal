@@ -0,0 +1,111 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/test;
+
+final Client transferTestClient = check new ({
+    host: "localhost",
+    port: 445,
+    share: "testshare",
+    auth: {
+        credentials: {
+            username: "testuser",
+            password: "testpass"
+        }
+    }
+});
+
+const TRANSFER_LOCAL_DIRECTORY = "target/transfer_test/local";
+
+@test:Config {
+    groups: ["transfer"]
+}
+function testDownloadDirectory() returns error? {
+    Error? mkdirResult = transferTestClient->mkdir("transfertest");
+    if mkdirResult is Error {
+        io:println("Directory may already exist: " + mkdirResult.message());
+    }
+    mkdirResult = transferTestClient->mkdir("transfertest/nested");
+    if mkdirResult is Error {
+        io:println("Directory may already exist: " + mkdirResult.message());
+    }
+    mkdirResult = transferTestClient->mkdir("transfertest/empty");
+    if mkdirResult is Error {
+        io:println("Directory may already exist: " + mkdirResult.message());
+    }
+    check transferTestClient->putText("/transfertest/a.txt", "alpha");
+    check transferTestClient->putText("/transfertest/nested/b.txt", "beta");
+    check transferTestClient->putBytes("/transfertest/nested/large.bin", createTransferContent(200000));
+
+    stream<TransferProgress, error?> progress = check transferTestClient->downloadDirectory("/transfertest",
+        TRANSFER_LOCAL_DIRECTORY, {maxConcurrentTransfers: 2, maxInFlightBytes: 1024});
+    TransferProgress[] reports = check from TransferProgress report in progress select report;
+    test:assertEquals(reports.length(), 3);
+    TransferProgress last = reports[reports.length() - 1];
+    test:assertEquals(last.filesTransferred, 3);
+    test:assertEquals(last.totalFiles, 3);
+    test:assertEquals(last.bytesTransferred, 200009);
+    test:assertEquals(last.totalBytes, 200009);
+    test:assertEquals(check io:fileReadString(TRANSFER_LOCAL_DIRECTORY + "/nested/b.txt"), "beta");
+    test:assertEquals((check io:fileReadBytes(TRANSFER_LOCAL_DIRECTORY + "/nested/large.bin")).length(), 200000);
+}
+
+@test:Config {
+    groups: ["transfer"],
+    dependsOn: [testDownloadDirectory]
+}
+function testUploadDirectory() returns error? {
+    stream<TransferProgress, error?> progress = check transferTestClient->uploadDirectory(TRANSFER_LOCAL_DIRECTORY,
+        "/transfertest_upload/copy");
+    int bytes = 0;
+    check from TransferProgress report in progress
+        do {
+            bytes += report.size;
+        };
+    test:assertEquals(bytes, 200009);
+    test:assertTrue(check transferTestClient->exists("/transfertest_upload/copy/empty"),
+        "Empty directories should be created");
+    test:assertEquals(check transferTestClient->getText("/transfertest_upload/copy/nested/b.txt"), "beta");
+    byte[] large = check transferTestClient->getBytes("/transfertest_upload/copy/nested/large.bin");
+    test:assertEquals(large, createTransferContent(200000));
+}
+
+@test:Config {
+    groups: ["transfer"]
+}
+function testDownloadMissingDirectory() {
+    stream<TransferProgress, error?>|Error result = transferTestClient->downloadDirectory("/transfertest_missing",
+        TRANSFER_LOCAL_DIRECTORY);
+    test:assertTrue(result is Error, "Downloading a missing directory should fail");
+}
+
+@test:Config {
+    groups: ["transfer"]
+}
+function testUploadDirectoryWithoutBudget() {
+    stream<TransferProgress, error?>|Error result = transferTestClient->uploadDirectory(TRANSFER_LOCAL_DIRECTORY,
+        "/transfertest_upload", {maxInFlightBytes: 0});
+    test:assertTrue(result is Error, "An upload without an in-flight budget should fail");
+}
+
+function createTransferContent(int size) returns byte[] {
+    byte[] content = [];
+    foreach int i in 0 ..< size {
+        content.push(<byte>(i % 251));
+    }
+    return content;
+}
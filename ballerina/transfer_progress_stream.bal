@@ -0,0 +1,62 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Stream reporting the progress of a directory upload or download.
+# An entry is returned as each file finishes; the stream ends once every file is copied.
+public class TransferProgressStream {
+
+    private boolean isClosed = false;
+    private Error? err;
+
+    public isolated function init(Error? err = ()) {
+        self.err = err;
+    }
+
+    # Waits for the next file to be copied and returns the progress so far.
+    #
+    # + return - A record containing the progress when a file is copied,
+    #            `()` once every file is copied or else an `error` if a file could not be copied
+    public isolated function next() returns record {|TransferProgress value;|}|error? {
+        return externGetTransferProgressStreamEntry(self);
+    }
+
+    # Closes the stream. The files already being copied are finished, and the rest are not copied.
+    #
+    # + return - Returns `()` when the closing was successful or an `error`
+    public isolated function close() returns error? {
+        if !self.isClosed {
+            var closeResult = externCloseTransferProgressStream(self);
+            if closeResult is () {
+                self.isClosed = true;
+            }
+            return closeResult;
+        }
+        return ();
+    }
+}
+
+isolated function externGetTransferProgressStreamEntry(TransferProgressStream iterator)
+        returns record {|TransferProgress value;|}|error? = @java:Method {
+    'class: "io.ballerina.lib.smb.client.DirectoryTransfer",
+    name: "next"
+} external;
+
+isolated function externCloseTransferProgressStream(TransferProgressStream iterator) returns error? = @java:Method {
+    'class: "io.ballerina.lib.smb.client.DirectoryTransfer",
+    name: "close"
+} external;
@@ -30,6 +30,13 @@ import ballerina/time;
 # + connectTimeout - Connection timeout in seconds
 # + laxDataBinding - Whether to relax data binding for XML, JSON, and CSV content
 # + csvFailSafe - Skips malformed CSV records and logs them to a file instead of failing the operation
+# + compression - Which files are gzip compressed as they are written and decompressed as they are read
+# + spillThreshold - Size in bytes above which `getCsv` downloads a file to a temporary local file and binds it
+# from a memory-mapped view of that file instead of reading it into memory. `0` never does
+# + admission - Limits on the reads and writes run at the same time, across all the strands using the client.
+# Nothing is limited without it
+# + preallocationThreshold - Size in bytes from which a write of a known size, such as `putBytes` or `putFile`,
+# reserves the space of the whole file on the server before it writes. `0` never does
 public type ClientConfiguration record {|
     string host = "localhost";
     int port = 445;
@@ -43,6 +50,84 @@ public type ClientConfiguration record {|
     decimal connectTimeout = 30.0;
     boolean laxDataBinding = false;
     FailSafeOptions csvFailSafe?;
+    Compression compression = NONE;
+    int spillThreshold = 0;
+    AdmissionConfiguration admission?;
+    int preallocationThreshold = 0;
+|};
+
+# Limits on the reads and writes a client runs at the same time. They apply to `getBytes`, `getText`, `getJson`,
+# `getXml`, and `getCsv`, which are charged the size of the file on the share, and to `putBytes`, `putText`,
+# `putJson`, `putXml`, and `putCsv`, which are charged the size of the content.
+#
+# + maxInFlightBytes - Largest total size in bytes of the files being read or written at the same time. An
+# operation on a larger file is admitted once nothing else is in flight
+# + maxConcurrentReads - Largest number of reads at the same time
+# + maxConcurrentWrites - Largest number of writes at the same time
+# + maxWaitTime - Longest time in seconds an operation waits to be admitted before it fails with an `smb:Error`.
+# `0` fails at once when a limit is reached
+public type AdmissionConfiguration record {|
+    int maxInFlightBytes = 268435456;
+    int maxConcurrentReads = 16;
+    int maxConcurrentWrites = 16;
+    decimal maxWaitTime = 30;
+|};
+
+# Current use of a client's admission limits.
+#
+# + inFlightBytes - Total size in bytes of the files being read or written
+# + peakInFlightBytes - Largest value `inFlightBytes` has had
+# + utilization - `inFlightBytes` as a fraction of `maxInFlightBytes`
+# + activeReads - Number of reads running
+# + activeWrites - Number of writes running
+# + waiting - Number of operations waiting to be admitted
+# + admitted - Number of operations admitted so far
+# + rejected - Number of operations that failed because they were not admitted in time
+# + totalWaitTime - Time in seconds the admitted operations spent waiting, added up
+# + longestWaitTime - Longest time in seconds an admitted operation waited
+public type AdmissionStats record {|
+    int inFlightBytes;
+    int peakInFlightBytes;
+    float utilization;
+    int activeReads;
+    int activeWrites;
+    int waiting;
+    int admitted;
+    int rejected;
+    decimal totalWaitTime;
+    decimal longestWaitTime;
+|};
+
+# Use of the buffers that all clients and listeners in the program read and write files through.
+#
+# + borrowed - Number of buffers borrowed so far
+# + hits - Number of borrowed buffers that were reused rather than allocated
+# + hitRate - `hits` as a fraction of `borrowed`
+# + outstanding - Number of buffers borrowed and not yet returned
+# + outstandingBytes - Total size in bytes of the outstanding buffers
+# + pooledBytes - Total size in bytes of the returned heap buffers kept for reuse
+# + pooledDirectBytes - Total size in bytes of the returned direct buffers, held outside the heap, kept for reuse
+public type BufferPoolStats record {|
+    int borrowed;
+    int hits;
+    float hitRate;
+    int outstanding;
+    int outstandingBytes;
+    int pooledBytes;
+    int pooledDirectBytes;
+|};
+
+# Use of the parse plans that all clients and listeners in the program reuse to bind JSON, XML, and CSV content.
+#
+# + hits - Number of reads that bound content with a plan built by an earlier read
+# + misses - Number of reads that had to build a plan
+# + hitRate - `hits` as a fraction of all reads
+# + cachedPlans - Number of plans cached now, at most 256
+public type ParsePlanCacheStats record {|
+    int hits;
+    int misses;
+    float hitRate;
+    int cachedPlans;
 |};
 
 # How content is written to an existing file.
@@ -54,6 +139,26 @@ public enum FileWriteOption {
     APPEND
 }
 
+# How a file is opened with `openFile`.
+#
+# READ - Read the file, which must exist
+# READ_WRITE - Read and write the file, creating it if it does not exist
+public enum FileAccessMode {
+    READ,
+    READ_WRITE
+}
+
+# Which files hold gzip compressed content.
+#
+# NONE - Content is read and written as is
+# GZIP - The content of every file is compressed
+# AUTO - The content of files whose names end in `.gz` is compressed
+public enum Compression {
+    NONE,
+    GZIP,
+    AUTO
+}
+
 # SMB protocol dialect used to communicate with the server.
 #
 # SMB_3_1_1 - SMB 3.1.1
@@ -116,6 +221,7 @@ public type FileInfo record {|
 # + connectTimeout - Connection timeout in seconds
 # + laxDataBinding - Whether to relax data binding for XML, JSON, and CSV content
 # + csvFailSafe - Skips malformed CSV records and logs them to a file instead of failing the operation
+# + compression - Which files are gzip decompressed before their content is passed to a handler
 public type ListenerConfiguration record {|
     string host = "localhost";
     int port = 445;
@@ -131,6 +237,7 @@ public type ListenerConfiguration record {|
     decimal connectTimeout = 30.0;
     boolean laxDataBinding = false;
     FailSafeOptions csvFailSafe?;
+    Compression compression = NONE;
 |};
 
 # Post-processing action that deletes the file.
@@ -197,6 +304,34 @@ public type ContentCsvRecordStreamEntry record {|
     record {} value;
 |};
 
+# Record returned from the `next` method in `ContentLineStream`.
+#
+# + value - A line of the text file, without its line break
+public type ContentLineStreamEntry record {|
+    string value;
+|};
+
+# Record returned from the `next` method in `ContentJsonStream`.
+#
+# + value - An item of a JSON array or a line of a JSON Lines file
+public type ContentJsonStreamEntry record {|
+    json value;
+|};
+
+# Record returned from the `next` method in `ContentXmlStream`.
+#
+# + value - A matching element of the XML document
+public type ContentXmlStreamEntry record {|
+    xml|record {} value;
+|};
+
+# Record returned from the `next` method in `TransferProgressStream`.
+#
+# + value - The progress after a file is copied
+public type TransferProgressStreamEntry record {|
+    TransferProgress value;
+|};
+
 # Fail-safe options for CSV content processing.
 #
 # + contentType - What to record in the error log for each skipped record
@@ -214,3 +349,154 @@ public enum ErrorLogContentType {
     RAW,
     RAW_AND_METADATA
 }
+
+# Selects the columns and rows of a CSV file to bind. Rows are selected and columns dropped as the file
+# is split into fields, so the values of dropped columns and rows are never created.
+#
+# + columns - Names of the columns to keep, in the order they are returned. All columns are kept if not specified
+# + filter - Condition a row must meet to be kept, or conditions on several columns, all of which it must meet.
+# All rows are kept if not specified
+public type CsvReadOptions record {|
+    string[] columns?;
+    CsvRowFilter|CsvRowFilter[] filter?;
+|};
+
+# Condition on the value of one CSV column. A row is kept only if it meets every condition specified.
+#
+# + column - Name of the column the condition applies to
+# + equals - Value the column must have
+# + 'in - Values one of which the column must have
+# + min - Smallest number the column may hold. A value that is not a number does not meet this condition
+# + max - Largest number the column may hold. A value that is not a number does not meet this condition
+public type CsvRowFilter record {|
+    string column;
+    string equals?;
+    string[] 'in?;
+    decimal min?;
+    decimal max?;
+|};
+
+# Algorithm of a content digest.
+#
+# SHA_256 - SHA-256, as 64 hexadecimal digits
+# CRC32C - CRC-32C (Castagnoli), as 8 hexadecimal digits
+public enum DigestAlgorithm {
+    SHA_256,
+    CRC32C
+}
+
+# Digest the content of a transfer is expected to have. The digest is computed as the content is read or
+# written, over the content as the client sees it, and the hexadecimal value is compared ignoring case.
+#
+# + algorithm - Algorithm the digest is computed with
+# + value - Expected digest, in hexadecimal
+public type Digest record {|
+    DigestAlgorithm algorithm = SHA_256;
+    string value;
+|};
+
+# Which way a directory sync copies files.
+#
+# UPLOAD - Copy the local directory to the share
+# DOWNLOAD - Copy the directory on the share to the local file system
+public enum SyncDirection {
+    UPLOAD,
+    DOWNLOAD
+}
+
+# Options of a directory sync.
+#
+# + direction - Which way files are copied
+# + compareDigests - Compare the SHA-256 digests of files of the same size instead of their last write times.
+# Both copies of each such file are read
+# + deleteExtraneous - Remove the files and directories of the destination that are not in the source
+# + maxConcurrentTransfers - Largest number of files copied at the same time
+public type SyncOptions record {|
+    SyncDirection direction = UPLOAD;
+    boolean compareDigests = false;
+    boolean deleteExtraneous = false;
+    int maxConcurrentTransfers = 4;
+|};
+
+# Outcome of a directory sync.
+#
+# + transferred - Number of files copied because they were new or had changed
+# + skipped - Number of files left alone because they had not changed
+# + deleted - Number of files and directories removed from the destination
+# + bytesTransferred - Number of bytes copied
+# + failures - Files that could not be copied or removed. The rest of the directory is synced regardless
+public type SyncSummary record {|
+    int transferred;
+    int skipped;
+    int deleted;
+    int bytesTransferred;
+    SyncFailure[] failures;
+|};
+
+# A file a directory sync could not copy or remove.
+#
+# + path - Path of the file, relative to the synced directories
+# + message - Reason the file could not be copied or removed
+public type SyncFailure record {|
+    string path;
+    string message;
+|};
+
+# Options of a directory upload or download.
+#
+# + maxConcurrentTransfers - Largest number of files copied at the same time
+# + maxInFlightBytes - Largest total size in bytes of the files being copied at the same time. A file larger than
+# this is copied once no other file is being copied
+public type DirectoryTransferOptions record {|
+    int maxConcurrentTransfers = 4;
+    int maxInFlightBytes = 67108864;
+|};
+
+# Progress of a directory upload or download, reported as each file is copied.
+#
+# + path - Path of the file just copied, relative to the transferred directories
+# + size - Number of bytes copied for the file
+# + filesTransferred - Number of files copied so far, this one included
+# + totalFiles - Number of files in the directory
+# + bytesTransferred - Number of bytes copied so far, this file included
+# + totalBytes - Number of bytes in the directory's files
+public type TransferProgress record {|
+    string path;
+    int size;
+    int filesTransferred;
+    int totalFiles;
+    int bytesTransferred;
+    int totalBytes;
+|};
+
+# Options of an appender opened with `openAppender`.
+#
+# + batchSize - Number of bytes gathered before they are written to the file in one request. Content larger than
+# this is written on its own
+# + flushInterval - Longest time in seconds gathered content waits before it is written. With `0`, each write is
+# written at once
+public type AppenderOptions record {|
+    int batchSize = 65536;
+    decimal flushInterval = 1;
+|};
+
+# Options of a file handle opened with `openFile`.
+#
+# + readAheadSize - Number of bytes fetched in one request for a smaller read, and kept so that nearby reads are
+# served from memory. With `0`, each read is fetched on its own
+public type FileHandleOptions record {|
+    int readAheadSize = 65536;
+|};
+
+# An entry of a ZIP archive, as listed in its central directory.
+#
+# + name - Path of the entry in the archive, with `/` as the separator
+# + size - Size of the entry's content in bytes
+# + compressedSize - Number of bytes the entry's content takes in the archive
+# + isDirectory - `true` if the entry is a directory
+public type ArchiveEntry record {|
+    string name;
+    int size;
+    int compressedSize;
+    boolean isDirectory;
+|};
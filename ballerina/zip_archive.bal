@@ -0,0 +1,55 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# A ZIP archive on an SMB share, read in place.
+# The central directory is read when the archive is opened, and an entry's content only when it is asked for.
+# The archive cannot be written through other handles until it is closed.
+public isolated class ZipArchive {
+
+    # Lists the entries of the archive, in the order of its central directory.
+    # ```ballerina
+    # smb:ArchiveEntry[] entries = archive.entries();
+    # ```
+    #
+    # + return - The entries of the archive
+    public isolated function entries() returns ArchiveEntry[] = @java:Method {
+        'class: "io.ballerina.lib.smb.client.ZipArchive"
+    } external;
+
+    # Retrieves the content of an entry as a byte stream, decompressed as it is read.
+    # ```ballerina
+    # stream<byte[], error?> content = check archive.getEntryAsStream("data/orders.csv");
+    # ```
+    #
+    # + name - The path of the entry in the archive
+    # + return - A stream of the entry's content, which ends with an error if the content does not match its size
+    # and CRC-32, or an `smb:Error` if the archive has no such entry or it cannot be read
+    public isolated function getEntryAsStream(string name) returns stream<byte[], error?>|Error = @java:Method {
+        'class: "io.ballerina.lib.smb.client.ZipArchive"
+    } external;
+
+    # Closes the archive. Closing a closed archive has no effect.
+    # ```ballerina
+    # check archive.close();
+    # ```
+    #
+    # + return - `()` or else an `smb:Error` if the archive could not be closed
+    public isolated function close() returns Error? = @java:Method {
+        'class: "io.ballerina.lib.smb.client.ZipArchive"
+    } external;
+}
@@ -178,7 +178,7 @@ public class SmbServiceValidationTest {
     @Test(description = "Stream completion types the listener cannot satisfy are rejected")
     public void testInvalidStreamCompletionType() {
         assertErrors("invalid_stream_completion_1", INVALID_CONTENT_PARAMETER_TYPE,
-                INVALID_CONTENT_PARAMETER_TYPE, INVALID_CONTENT_PARAMETER_TYPE);
+                INVALID_CONTENT_PARAMETER_TYPE, INVALID_CONTENT_PARAMETER_TYPE, INVALID_CONTENT_PARAMETER_TYPE);
     }
 
     @Test(description = "Completion types that accept what the listener produces are allowed")
@@ -201,7 +201,8 @@ public class SmbServiceValidationTest {
                 "missing remote keyword in the `onFileJson` method");
 
         assertMessages("invalid_content_service_2",
-                "missing required parameter in the `onFileText` method, expected `string`",
+                "missing required parameter in the `onFileText` method, expected `string` or "
+                        + "`stream<string, error?>`",
                 "missing required parameter in the `onFileCsv` method, expected `string[][]`, a record array, "
                         + "`stream<string[], error?>` or a stream of records");
 
@@ -225,7 +226,7 @@ public class SmbServiceValidationTest {
         assertErrors("invalid_quoted_identifier", INVALID_CONTENT_PARAMETER_TYPE, INVALID_OPTIONAL_PARAMETER);
         assertMessages("invalid_quoted_identifier",
                 "invalid parameter type `record {|int 'limit;|}` provided for the `onFileText` method, "
-                        + "expected `string`",
+                        + "expected `string` or `stream<string, error?>`",
                 "invalid parameter type `record {|string 'from;|}` provided for the `onFileJson` method, only "
                         + "`smb:FileInfo` and `smb:Caller` are allowed as optional parameters");
     }
@@ -234,7 +235,7 @@ public class SmbServiceValidationTest {
     public void testBraceTypeMessagesRender() {
         assertMessages("invalid_content_service_6",
                 "invalid parameter type `record {|int x;|}` provided for the `onFileText` method, "
-                        + "expected `string`",
+                        + "expected `string` or `stream<string, error?>`",
                 "invalid parameter type `record {|int y;|}` provided for the `onFileJson` method, only "
                         + "`smb:FileInfo` and `smb:Caller` are allowed as optional parameters");
     }
@@ -38,9 +38,13 @@ service "ByteStreamCompletionService" on remoteServer {
     }
 }
 
-// Expected: INVALID_CONTENT_PARAMETER_TYPE x 1
+// Expected: INVALID_CONTENT_PARAMETER_TYPE x 2
 service "RecordStreamCompletionService" on remoteServer {
 
+    remote function onFileText(stream<string, int> content) returns error? {
+        return;
+    }
+
     remote function onFileCsv(stream<Employee, int> content) returns error? {
         return;
     }
@@ -101,3 +101,10 @@ service "recordCsvStream" on remoteServer {
         return;
     }
 }
+
+service "textStream" on remoteServer {
+
+    remote function onFileText(stream<string, error?> content, smb:FileInfo fileInfo) returns error? {
+        return;
+    }
+}
@@ -140,7 +140,7 @@ public class SmbContentFunctionValidator {
 
         return switch (contentMethodName) {
             case ON_FILE_FUNC -> validateOnFileContentType(typeKind, typeSymbol);
-            case ON_FILE_TEXT_FUNC -> typeKind == STRING;
+            case ON_FILE_TEXT_FUNC -> typeKind == STRING || (typeKind == STREAM && isStringStream(typeSymbol));
             case ON_FILE_JSON_FUNC -> typeKind == JSON || typeKind == RECORD || isRecordTypeReference(typeSymbol);
             case ON_FILE_XML_FUNC -> typeKind == XML || typeKind == RECORD || isRecordTypeReference(typeSymbol);
             case ON_FILE_CSV_FUNC -> validateOnFileCsvContentType(typeKind, typeSymbol);
@@ -169,8 +169,8 @@ public class SmbContentFunctionValidator {
      * Checks that a stream parameter's completion type accepts what the listener produces.
      *
      * <p>The listener always builds its streams with an {@code error?} completion type
-     * ({@code ByteIterator} and {@code CsvIterator}), so a handler declaring anything narrower, such as
-     * {@code stream<byte[], int>}, would compile and then fail when the stream is passed to it.
+     * ({@code ByteIterator}, {@code CsvIterator} and {@code TextIterator}), so a handler declaring anything
+     * narrower, such as {@code stream<byte[], int>}, would compile and then fail when the stream is passed to it.
      *
      * @param streamTypeSymbol the declared stream type
      * @return true if the declared completion type accepts {@code error?}
@@ -185,6 +185,13 @@ public class SmbContentFunctionValidator {
         return types.ERROR.subtypeOf(completionType) && types.NIL.subtypeOf(completionType);
     }
 
+    private boolean isStringStream(TypeSymbol typeSymbol) {
+        // onFileText accepts stream<string, error?>, one line per element
+        StreamTypeSymbol streamTypeSymbol = (StreamTypeSymbol) typeSymbol;
+        return hasErrorOrNilCompletionType(streamTypeSymbol) &&
+                streamTypeSymbol.typeParameter().typeKind() == STRING;
+    }
+
     private boolean validateOnFileCsvContentType(TypeDescKind typeKind, TypeSymbol typeSymbol) {
         if (typeKind == ARRAY) {
             // Array variant: string[][] or record{}[]
@@ -244,7 +251,7 @@ public class SmbContentFunctionValidator {
     private String getExpectedContentType() {
         return switch (contentMethodName) {
             case ON_FILE_FUNC -> "`byte[]` or `stream<byte[], error?>`";
-            case ON_FILE_TEXT_FUNC -> "`string`";
+            case ON_FILE_TEXT_FUNC -> "`string` or `stream<string, error?>`";
             case ON_FILE_JSON_FUNC -> "`json` or a record type";
             case ON_FILE_XML_FUNC -> "`xml` or a record type";
             case ON_FILE_CSV_FUNC -> "`string[][]`, a record array, `stream<string[], error?>` "
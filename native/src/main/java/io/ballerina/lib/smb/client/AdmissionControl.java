@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.client;
+
+import io.ballerina.lib.smb.util.ModuleUtils;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the reads and writes a client runs at the same time, by the number of each and by the total size of the
+ * files they transfer. An operation that would go over a limit waits until others finish, for up to the configured
+ * wait time, and then fails. An operation on a file larger than the whole byte budget is admitted once nothing else
+ * is in flight, rather than never.
+ */
+final class AdmissionControl {
+
+    private static final BString MAX_IN_FLIGHT_BYTES = StringUtils.fromString("maxInFlightBytes");
+    private static final BString MAX_CONCURRENT_READS = StringUtils.fromString("maxConcurrentReads");
+    private static final BString MAX_CONCURRENT_WRITES = StringUtils.fromString("maxConcurrentWrites");
+    private static final BString MAX_WAIT_TIME = StringUtils.fromString("maxWaitTime");
+    private static final BString IN_FLIGHT_BYTES = StringUtils.fromString("inFlightBytes");
+    private static final BString PEAK_IN_FLIGHT_BYTES = StringUtils.fromString("peakInFlightBytes");
+    private static final BString UTILIZATION = StringUtils.fromString("utilization");
+    private static final BString ACTIVE_READS = StringUtils.fromString("activeReads");
+    private static final BString ACTIVE_WRITES = StringUtils.fromString("activeWrites");
+    private static final BString WAITING = StringUtils.fromString("waiting");
+    private static final BString ADMITTED = StringUtils.fromString("admitted");
+    private static final BString REJECTED = StringUtils.fromString("rejected");
+    private static final BString TOTAL_WAIT_TIME = StringUtils.fromString("totalWaitTime");
+    private static final BString LONGEST_WAIT_TIME = StringUtils.fromString("longestWaitTime");
+    private static final String ADMISSION_STATS = "AdmissionStats";
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * A permit that does not hold any part of a budget, for clients without admission control.
+     */
+    static final Permit UNLIMITED = () -> { };
+
+    private final long maxInFlightBytes;
+    private final int maxConcurrentReads;
+    private final int maxConcurrentWrites;
+    private final long maxWaitNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private long inFlightBytes;
+    private long peakInFlightBytes;
+    private int activeReads;
+    private int activeWrites;
+    private int waiting;
+    private long admitted;
+    private long rejected;
+    private long totalWaitNanos;
+    private long longestWaitNanos;
+
+    private AdmissionControl(long maxInFlightBytes, int maxConcurrentReads, int maxConcurrentWrites,
+                             long maxWaitNanos) {
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.maxConcurrentReads = maxConcurrentReads;
+        this.maxConcurrentWrites = maxConcurrentWrites;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    /**
+     * Creates the admission control of a client from its {@code AdmissionConfiguration} value.
+     *
+     * @param config The configuration, or null when the client has none
+     * @return The admission control, or null when nothing is limited
+     */
+    static AdmissionControl from(Object config) {
+        if (!(config instanceof BMap<?, ?> admission)) {
+            return null;
+        }
+        long maxInFlightBytes = (Long) admission.get(MAX_IN_FLIGHT_BYTES);
+        long maxConcurrentReads = (Long) admission.get(MAX_CONCURRENT_READS);
+        long maxConcurrentWrites = (Long) admission.get(MAX_CONCURRENT_WRITES);
+        BigDecimal maxWaitTime = ((BDecimal) admission.get(MAX_WAIT_TIME)).decimalValue();
+        if (maxInFlightBytes <= 0 || maxConcurrentReads <= 0 || maxConcurrentWrites <= 0) {
+            throw new IllegalArgumentException("The admission limits must be greater than zero");
+        }
+        if (maxWaitTime.signum() < 0) {
+            throw new IllegalArgumentException("The maximum admission wait time must not be negative");
+        }
+        long maxWaitNanos = maxWaitTime.movePointRight(9).longValue();
+        return new AdmissionControl(maxInFlightBytes, (int) Math.min(maxConcurrentReads, Integer.MAX_VALUE),
+                (int) Math.min(maxConcurrentWrites, Integer.MAX_VALUE), maxWaitNanos);
+    }
+
+    /**
+     * Waits until a read or write of the given size fits in the limits, and takes its share of them.
+     *
+     * @param isWrite Whether the operation writes rather than reads
+     * @param bytes   The number of bytes the operation transfers
+     * @return The permit, to be closed when the operation is done
+     * @throws IOException If the operation is not admitted within the wait time
+     */
+    Permit admit(boolean isWrite, long bytes) throws IOException {
+        long charged = Math.min(Math.max(bytes, 0), maxInFlightBytes);
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            long remaining = maxWaitNanos;
+            waiting++;
+            try {
+                while (!fits(isWrite, charged)) {
+                    if (remaining <= 0) {
+                        rejected++;
+                        throw new IOException("The client is at its limit of " + describeLimit(isWrite, charged)
+                                + " and the operation was not admitted within the wait time");
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejected++;
+                throw new IOException("Interrupted while waiting to be admitted", e);
+            } finally {
+                waiting--;
+            }
+            long waited = System.nanoTime() - start;
+            totalWaitNanos += waited;
+            longestWaitNanos = Math.max(longestWaitNanos, waited);
+            admitted++;
+            inFlightBytes += charged;
+            peakInFlightBytes = Math.max(peakInFlightBytes, inFlightBytes);
+            if (isWrite) {
+                activeWrites++;
+            } else {
+                activeReads++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return () -> release(isWrite, charged);
+    }
+
+    private boolean fits(boolean isWrite, long charged) {
+        if (isWrite ? activeWrites >= maxConcurrentWrites : activeReads >= maxConcurrentReads) {
+            return false;
+        }
+        return inFlightBytes == 0 || inFlightBytes + charged <= maxInFlightBytes;
+    }
+
+    private String describeLimit(boolean isWrite, long charged) {
+        if (isWrite ? activeWrites >= maxConcurrentWrites : activeReads >= maxConcurrentReads) {
+            return isWrite ? maxConcurrentWrites + " concurrent writes" : maxConcurrentReads + " concurrent reads";
+        }
+        return maxInFlightBytes + " bytes in flight, with " + inFlightBytes + " in flight and " + charged
+                + " requested,";
+    }
+
+    private void release(boolean isWrite, long charged) {
+        lock.lock();
+        try {
+            inFlightBytes -= charged;
+            if (isWrite) {
+                activeWrites--;
+            } else {
+                activeReads--;
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Creates an {@code AdmissionStats} value describing the current use of the limits.
+     *
+     * @return The statistics
+     */
+    BMap<BString, Object> stats() {
+        BMap<BString, Object> stats = ValueCreator.createRecordValue(ModuleUtils.getModule(), ADMISSION_STATS);
+        lock.lock();
+        try {
+            stats.put(IN_FLIGHT_BYTES, inFlightBytes);
+            stats.put(PEAK_IN_FLIGHT_BYTES, peakInFlightBytes);
+            stats.put(UTILIZATION, (double) inFlightBytes / maxInFlightBytes);
+            stats.put(ACTIVE_READS, (long) activeReads);
+            stats.put(ACTIVE_WRITES, (long) activeWrites);
+            stats.put(WAITING, (long) waiting);
+            stats.put(ADMITTED, admitted);
+            stats.put(REJECTED, rejected);
+            stats.put(TOTAL_WAIT_TIME, toSeconds(totalWaitNanos));
+            stats.put(LONGEST_WAIT_TIME, toSeconds(longestWaitNanos));
+        } finally {
+            lock.unlock();
+        }
+        return stats;
+    }
+
+    private static BDecimal toSeconds(long nanos) {
+        return ValueCreator.createDecimalValue(BigDecimal.valueOf(nanos / NANOS_PER_MILLI, 3));
+    }
+
+    /**
+     * A share of the limits held by one operation.
+     */
+    @FunctionalInterface
+    interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.client;
+
+import com.hierynomus.smbj.share.DiskShare;
+import io.ballerina.lib.smb.client.DirectoryTree.Entry;
+import io.ballerina.lib.smb.util.ModuleUtils;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Brings a directory on the share and a local directory into line by copying only the files that are new or have
+ * changed since the last sync. A file has changed when its size differs, or, unless digests are compared, when its
+ * last write time differs. The last write time of each copy is set to that of its source, so an unchanged file is
+ * skipped on the next run. Files are copied on a bounded number of workers, after the directories they go into
+ * have been created.
+ */
+final class DirectorySync {
+
+    /**
+     * The difference in last write times below which two files are taken to be written at the same time. Some
+     * file systems keep last write times to two seconds only.
+     */
+    private static final long MODIFIED_TIME_TOLERANCE_MILLIS = 2000;
+    private static final BString DIRECTION = StringUtils.fromString("direction");
+    private static final BString COMPARE_DIGESTS = StringUtils.fromString("compareDigests");
+    private static final BString DELETE_EXTRANEOUS = StringUtils.fromString("deleteExtraneous");
+    private static final BString MAX_CONCURRENT_TRANSFERS = StringUtils.fromString("maxConcurrentTransfers");
+    private static final BString TRANSFERRED = StringUtils.fromString("transferred");
+    private static final BString SKIPPED = StringUtils.fromString("skipped");
+    private static final BString DELETED = StringUtils.fromString("deleted");
+    private static final BString BYTES_TRANSFERRED = StringUtils.fromString("bytesTransferred");
+    private static final BString FAILURES = StringUtils.fromString("failures");
+    private static final BString PATH = StringUtils.fromString("path");
+    private static final BString MESSAGE = StringUtils.fromString("message");
+    private static final String DIRECTION_DOWNLOAD = "DOWNLOAD";
+    private static final String SYNC_SUMMARY = "SyncSummary";
+    private static final String SYNC_FAILURE = "SyncFailure";
+
+    private final DirectoryTree tree;
+    private final boolean isDownload;
+    private final boolean compareDigests;
+    private final boolean deleteExtraneous;
+    private final int maxConcurrentTransfers;
+    private final AtomicLong transferred = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong bytesTransferred = new AtomicLong();
+    private final Queue<String[]> failures = new ConcurrentLinkedQueue<>();
+
+    private DirectorySync(DirectoryTree tree, BMap<BString, Object> options) {
+        this.tree = tree;
+        this.isDownload = DIRECTION_DOWNLOAD.equals(options.getStringValue(DIRECTION).getValue());
+        this.compareDigests = options.getBooleanValue(COMPARE_DIGESTS);
+        this.deleteExtraneous = options.getBooleanValue(DELETE_EXTRANEOUS);
+        this.maxConcurrentTransfers = options.getIntValue(MAX_CONCURRENT_TRANSFERS).intValue();
+    }
+
+    /**
+     * Syncs a local directory and a directory on the share.
+     *
+     * @param share      The share
+     * @param localPath  The path of the local directory
+     * @param remotePath The path of the directory on the share
+     * @param options    The {@code SyncOptions} value
+     * @param bufferSize The size of the buffer each file is copied through
+     * @return The {@code SyncSummary} value
+     * @throws IOException If either directory cannot be listed, or a directory cannot be created
+     */
+    static BMap<BString, Object> sync(DiskShare share, String localPath, String remotePath,
+                                      BMap<BString, Object> options, int bufferSize) throws IOException {
+        DirectorySync directorySync = new DirectorySync(new DirectoryTree(share, localPath, remotePath, bufferSize),
+                options);
+        if (directorySync.maxConcurrentTransfers <= 0) {
+            throw new IllegalArgumentException("The maximum number of concurrent transfers must be greater than zero");
+        }
+        directorySync.run();
+        return directorySync.summary();
+    }
+
+    private void run() throws IOException {
+        Path localRoot = tree.localRoot();
+        Map<String, Entry> localFiles = new HashMap<>();
+        NavigableSet<String> localDirectories = new TreeSet<>();
+        Map<String, Entry> remoteFiles = new HashMap<>();
+        NavigableSet<String> remoteDirectories = new TreeSet<>();
+        if (isDownload) {
+            tree.listRemote(remoteFiles, remoteDirectories);
+            Files.createDirectories(localRoot);
+            tree.listLocal(localFiles, localDirectories);
+            for (String directory : remoteDirectories) {
+                Files.createDirectories(localRoot.resolve(directory));
+            }
+            transferChanged(remoteFiles, localFiles);
+            if (deleteExtraneous) {
+                deleteLocal(localFiles, localDirectories, remoteFiles, remoteDirectories);
+            }
+        } else {
+            if (!Files.isDirectory(localRoot)) {
+                throw new IOException("The local directory " + localRoot + " does not exist");
+            }
+            tree.listLocal(localFiles, localDirectories);
+            if (tree.remoteRootExists()) {
+                tree.listRemote(remoteFiles, remoteDirectories);
+            } else {
+                tree.createRemoteRoot();
+            }
+            for (String directory : localDirectories) {
+                if (!remoteDirectories.contains(directory)) {
+                    tree.createRemoteDirectory(directory);
+                }
+            }
+            transferChanged(localFiles, remoteFiles);
+            if (deleteExtraneous) {
+                deleteRemote(remoteFiles, remoteDirectories, localFiles, localDirectories);
+            }
+        }
+    }
+
+    private void transferChanged(Map<String, Entry> sourceFiles, Map<String, Entry> targetFiles) {
+        // Closing the executor waits for every queued copy to finish.
+        try (ExecutorService executor = Executors.newFixedThreadPool(maxConcurrentTransfers,
+                Thread.ofVirtual().name("smb-sync-", 0).factory())) {
+            sourceFiles.forEach((relativePath, source) -> executor.execute(
+                    () -> transferIfChanged(relativePath, source, targetFiles.get(relativePath))));
+        }
+    }
+
+    private void transferIfChanged(String relativePath, Entry source, Entry target) {
+        try {
+            if (target != null && !hasChanged(relativePath, source, target)) {
+                skipped.incrementAndGet();
+                return;
+            }
+            long bytes = isDownload ? tree.download(relativePath, source) : tree.upload(relativePath, source);
+            bytesTransferred.addAndGet(bytes);
+            transferred.incrementAndGet();
+        } catch (Exception e) {
+            addFailure(relativePath, e);
+        }
+    }
+
+    private boolean hasChanged(String relativePath, Entry source, Entry target)
+            throws IOException, NoSuchAlgorithmException {
+        if (source.size() != target.size()) {
+            return true;
+        }
+        if (!compareDigests) {
+            return Math.abs(source.lastWriteMillis() - target.lastWriteMillis()) >= MODIFIED_TIME_TOLERANCE_MILLIS;
+        }
+        return !Arrays.equals(tree.localDigest(relativePath), tree.remoteDigest(relativePath));
+    }
+
+    private void deleteRemote(Map<String, Entry> remoteFiles, NavigableSet<String> remoteDirectories,
+                              Map<String, Entry> localFiles, Set<String> localDirectories) {
+        for (String relativePath : remoteFiles.keySet()) {
+            if (!localFiles.containsKey(relativePath)) {
+                delete(relativePath, () -> tree.deleteRemoteFile(relativePath));
+            }
+        }
+        for (String relativePath : remoteDirectories.descendingSet()) {
+            if (!localDirectories.contains(relativePath)) {
+                delete(relativePath, () -> tree.deleteRemoteDirectory(relativePath));
+            }
+        }
+    }
+
+    private void deleteLocal(Map<String, Entry> localFiles, NavigableSet<String> localDirectories,
+                             Map<String, Entry> remoteFiles, Set<String> remoteDirectories) {
+        Path localRoot = tree.localRoot();
+        for (String relativePath : localFiles.keySet()) {
+            if (!remoteFiles.containsKey(relativePath)) {
+                delete(relativePath, () -> Files.delete(localRoot.resolve(relativePath)));
+            }
+        }
+        for (String relativePath : localDirectories.descendingSet()) {
+            if (!remoteDirectories.contains(relativePath)) {
+                delete(relativePath, () -> Files.delete(localRoot.resolve(relativePath)));
+            }
+        }
+    }
+
+    private void delete(String relativePath, Deletion deletion) {
+        try {
+            deletion.run();
+            deleted.incrementAndGet();
+        } catch (Exception e) {
+            addFailure(relativePath, e);
+        }
+    }
+
+    private void addFailure(String relativePath, Exception e) {
+        failures.add(new String[]{relativePath, e.getMessage() != null ? e.getMessage() : e.toString()});
+    }
+
+    private BMap<BString, Object> summary() {
+        BMap<BString, Object> summary = ValueCreator.createRecordValue(ModuleUtils.getModule(), SYNC_SUMMARY);
+        summary.put(TRANSFERRED, transferred.get());
+        summary.put(SKIPPED, skipped.get());
+        summary.put(DELETED, deleted.get());
+        summary.put(BYTES_TRANSFERRED, bytesTransferred.get());
+        List<BMap<BString, Object>> failureRecords = new ArrayList<>();
+        for (String[] failure : failures) {
+            BMap<BString, Object> failureRecord = ValueCreator.createRecordValue(ModuleUtils.getModule(),
+                    SYNC_FAILURE);
+            failureRecord.put(PATH, StringUtils.fromString(failure[0]));
+            failureRecord.put(MESSAGE, StringUtils.fromString(failure[1]));
+            failureRecords.add(failureRecord);
+        }
+        summary.put(FAILURES, ValueCreator.createArrayValue(failureRecords.toArray(new BMap[0]),
+                TypeCreator.createArrayType(ValueCreator.createRecordValue(ModuleUtils.getModule(), SYNC_FAILURE)
+                        .getType())));
+        return summary;
+    }
+
+    @FunctionalInterface
+    private interface Deletion {
+        void run() throws Exception;
+    }
+}
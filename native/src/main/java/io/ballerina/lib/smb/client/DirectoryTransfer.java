@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.client;
+
+import com.hierynomus.smbj.share.DiskShare;
+import io.ballerina.lib.smb.client.DirectoryTree.Entry;
+import io.ballerina.lib.smb.util.ModuleUtils;
+import io.ballerina.lib.smb.util.SmbUtil;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.StreamType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.ballerina.lib.smb.client.SmbClient.SMB_ERROR;
+import static io.ballerina.lib.smb.iterator.ByteIterator.FIELD_VALUE;
+import static io.ballerina.lib.smb.iterator.ByteIterator.IS_CLOSED;
+
+/**
+ * Copies every file of a local directory to a directory on the share, or the other way. The directories of the
+ * destination are all created before any file is copied. Files are then copied on a bounded number of workers, and
+ * no worker starts on a file while the bytes already being copied would go over the in-flight budget. Files no
+ * larger than the buffer are handed to the workers in batches, so a directory of many small files is not copied
+ * one scheduled task per file. Progress is reported through a Ballerina stream as each file finishes; the first
+ * file that fails ends the stream with an error and the files not yet started are left alone.
+ */
+public final class DirectoryTransfer {
+
+    private static final int MAX_BATCH_FILES = 32;
+    private static final BString MAX_CONCURRENT_TRANSFERS = StringUtils.fromString("maxConcurrentTransfers");
+    private static final BString MAX_IN_FLIGHT_BYTES = StringUtils.fromString("maxInFlightBytes");
+    private static final BString PATH = StringUtils.fromString("path");
+    private static final BString SIZE = StringUtils.fromString("size");
+    private static final BString FILES_TRANSFERRED = StringUtils.fromString("filesTransferred");
+    private static final BString TOTAL_FILES = StringUtils.fromString("totalFiles");
+    private static final BString BYTES_TRANSFERRED = StringUtils.fromString("bytesTransferred");
+    private static final BString TOTAL_BYTES = StringUtils.fromString("totalBytes");
+    private static final String KEY_TRANSFER = "transfer";
+    private static final String REC_PROGRESS = "TransferProgress";
+    private static final String REC_ENTRY = "TransferProgressStreamEntry";
+    private static final Object END = new Object();
+
+    private final DirectoryTree tree;
+    private final boolean isDownload;
+    private final ByteBudget budget;
+    private final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+    private final AtomicInteger pendingBatches = new AtomicInteger();
+    private final long totalFiles;
+    private final long totalBytes;
+    private long filesTransferred;
+    private long bytesTransferred;
+    private volatile boolean cancelled;
+
+    private DirectoryTransfer(DirectoryTree tree, boolean isDownload, long maxInFlightBytes, long totalFiles,
+                              long totalBytes) {
+        this.tree = tree;
+        this.isDownload = isDownload;
+        this.budget = new ByteBudget(maxInFlightBytes);
+        this.totalFiles = totalFiles;
+        this.totalBytes = totalBytes;
+    }
+
+    /**
+     * Creates the directories of the destination and starts copying the files in the background.
+     *
+     * @param share      The share
+     * @param localPath  The path of the local directory
+     * @param remotePath The path of the directory on the share
+     * @param isDownload Whether files are copied from the share rather than to it
+     * @param options    The {@code DirectoryTransferOptions} value
+     * @param bufferSize The size of the buffer each file is copied through
+     * @return A stream of {@code TransferProgress} values, one for each file
+     * @throws IOException If the source cannot be listed, or a directory cannot be created
+     */
+    static Object start(DiskShare share, String localPath, String remotePath, boolean isDownload,
+                        BMap<BString, Object> options, int bufferSize) throws IOException {
+        int maxConcurrentTransfers = options.getIntValue(MAX_CONCURRENT_TRANSFERS).intValue();
+        long maxInFlightBytes = options.getIntValue(MAX_IN_FLIGHT_BYTES);
+        if (maxConcurrentTransfers <= 0) {
+            throw new IllegalArgumentException("The maximum number of concurrent transfers must be greater than zero");
+        }
+        if (maxInFlightBytes <= 0) {
+            throw new IllegalArgumentException("The maximum number of in-flight bytes must be greater than zero");
+        }
+        DirectoryTree tree = new DirectoryTree(share, localPath, remotePath, bufferSize);
+        if (isDownload && !tree.remoteRootExists()) {
+            throw new IOException("The directory " + remotePath + " does not exist on the share");
+        }
+        Map<String, Entry> files = new HashMap<>();
+        createDirectories(tree, isDownload, files);
+        long totalBytes = 0;
+        for (Entry entry : files.values()) {
+            totalBytes += entry.size();
+        }
+        DirectoryTransfer transfer = new DirectoryTransfer(tree, isDownload, maxInFlightBytes, files.size(),
+                totalBytes);
+        List<List<Map.Entry<String, Entry>>> batches = batch(files, bufferSize);
+        if (batches.isEmpty()) {
+            transfer.events.add(END);
+        } else {
+            transfer.pendingBatches.set(batches.size());
+            ExecutorService executor = Executors.newFixedThreadPool(maxConcurrentTransfers,
+                    Thread.ofVirtual().name("smb-transfer-", 0).factory());
+            for (List<Map.Entry<String, Entry>> batch : batches) {
+                executor.execute(() -> transfer.copy(batch));
+            }
+            executor.shutdown();
+        }
+        BObject streamObject = ValueCreator.createObjectValue(ModuleUtils.getModule(), "TransferProgressStream",
+                null, null);
+        streamObject.addNativeData(KEY_TRANSFER, transfer);
+        StreamType streamType = TypeCreator.createStreamType(
+                ValueCreator.createRecordValue(ModuleUtils.getModule(), REC_PROGRESS).getType(),
+                TypeCreator.createUnionType(PredefinedTypes.TYPE_ERROR, PredefinedTypes.TYPE_NULL));
+        return ValueCreator.createStreamValue(streamType, streamObject);
+    }
+
+    private static void createDirectories(DirectoryTree tree, boolean isDownload, Map<String, Entry> files)
+            throws IOException {
+        NavigableSet<String> sourceDirectories = new TreeSet<>();
+        if (isDownload) {
+            tree.listRemote(files, sourceDirectories);
+            Path localRoot = tree.localRoot();
+            Files.createDirectories(localRoot);
+            for (String directory : sourceDirectories) {
+                Files.createDirectories(localRoot.resolve(directory));
+            }
+            return;
+        }
+        Path localRoot = tree.localRoot();
+        if (!Files.isDirectory(localRoot)) {
+            throw new IOException("The local directory " + localRoot + " does not exist");
+        }
+        tree.listLocal(files, sourceDirectories);
+        NavigableSet<String> targetDirectories = new TreeSet<>();
+        if (tree.remoteRootExists()) {
+            tree.listRemote(new HashMap<>(), targetDirectories);
+        } else {
+            tree.createRemoteRoot();
+        }
+        for (String directory : sourceDirectories) {
+            if (!targetDirectories.contains(directory)) {
+                tree.createRemoteDirectory(directory);
+            }
+        }
+    }
+
+    /**
+     * Splits the files into the units of work handed to the workers. Larger files go first, each on its own, so
+     * that the longest copies are not left to run alone at the end; files no larger than the buffer follow in
+     * batches of up to {@value #MAX_BATCH_FILES}.
+     */
+    private static List<List<Map.Entry<String, Entry>>> batch(Map<String, Entry> files, int bufferSize) {
+        List<Map.Entry<String, Entry>> sorted = new ArrayList<>(files.entrySet());
+        sorted.sort(Comparator.comparingLong((Map.Entry<String, Entry> file) -> file.getValue().size()).reversed());
+        List<List<Map.Entry<String, Entry>>> batches = new ArrayList<>();
+        List<Map.Entry<String, Entry>> smallFiles = new ArrayList<>();
+        for (Map.Entry<String, Entry> file : sorted) {
+            if (file.getValue().size() > bufferSize) {
+                batches.add(List.of(file));
+                continue;
+            }
+            smallFiles.add(file);
+            if (smallFiles.size() == MAX_BATCH_FILES) {
+                batches.add(smallFiles);
+                smallFiles = new ArrayList<>();
+            }
+        }
+        if (!smallFiles.isEmpty()) {
+            batches.add(smallFiles);
+        }
+        return batches;
+    }
+
+    private void copy(List<Map.Entry<String, Entry>> batch) {
+        long batchBytes = 0;
+        for (Map.Entry<String, Entry> file : batch) {
+            batchBytes += file.getValue().size();
+        }
+        try {
+            budget.acquire(batchBytes);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(batch.getFirst().getKey(), e);
+            finishBatch();
+            return;
+        }
+        try {
+            for (Map.Entry<String, Entry> file : batch) {
+                if (cancelled) {
+                    break;
+                }
+                String relativePath = file.getKey();
+                try {
+                    long bytes = isDownload ? tree.download(relativePath, file.getValue())
+                            : tree.upload(relativePath, file.getValue());
+                    report(relativePath, bytes);
+                } catch (Exception e) {
+                    fail(relativePath, e);
+                }
+            }
+        } finally {
+            budget.release(batchBytes);
+            finishBatch();
+        }
+    }
+
+    private synchronized void report(String relativePath, long bytes) {
+        filesTransferred++;
+        bytesTransferred += bytes;
+        events.add(new Progress(relativePath, bytes, filesTransferred, bytesTransferred));
+    }
+
+    private void fail(String relativePath, Exception e) {
+        // The failure is queued before the transfer is marked cancelled, so the stream never ends without it.
+        events.add(new Failure(relativePath, e.getMessage() != null ? e.getMessage() : e.toString()));
+        cancelled = true;
+    }
+
+    private void finishBatch() {
+        if (pendingBatches.decrementAndGet() == 0) {
+            events.add(END);
+        }
+    }
+
+    /**
+     * Waits for the next file to finish and returns its progress.
+     * This method is called by Ballerina runtime when iterating the stream.
+     *
+     * @param recordIterator The iterator object
+     * @return The next entry with the progress, null once every file is copied, or an error if a file failed
+     */
+    public static Object next(BObject recordIterator) {
+        DirectoryTransfer transfer = (DirectoryTransfer) recordIterator.getNativeData(KEY_TRANSFER);
+        if (transfer == null || transfer.cancelled && transfer.events.isEmpty()) {
+            recordIterator.set(IS_CLOSED, true);
+            return null;
+        }
+        Object event;
+        try {
+            event = transfer.events.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close(recordIterator);
+            return SmbUtil.createError("Interrupted while waiting for the transfer: " + e.getMessage(), SMB_ERROR);
+        }
+        if (event instanceof Progress progress) {
+            BMap<BString, Object> progressRecord = ValueCreator.createRecordValue(ModuleUtils.getModule(),
+                    REC_PROGRESS);
+            progressRecord.put(PATH, StringUtils.fromString(progress.path()));
+            progressRecord.put(SIZE, progress.size());
+            progressRecord.put(FILES_TRANSFERRED, progress.filesTransferred());
+            progressRecord.put(TOTAL_FILES, transfer.totalFiles);
+            progressRecord.put(BYTES_TRANSFERRED, progress.bytesTransferred());
+            progressRecord.put(TOTAL_BYTES, transfer.totalBytes);
+            BMap<BString, Object> streamEntry = ValueCreator.createRecordValue(ModuleUtils.getModule(), REC_ENTRY);
+            streamEntry.put(FIELD_VALUE, progressRecord);
+            return streamEntry;
+        }
+        close(recordIterator);
+        if (event instanceof Failure failure) {
+            return SmbUtil.createError("Failed to transfer " + failure.path() + ": " + failure.message(),
+                    SMB_ERROR);
+        }
+        return null;
+    }
+
+    /**
+     * Closes the stream. Files already being copied are finished; the rest are not started.
+     *
+     * @param recordIterator The iterator object
+     * @return null
+     */
+    public static Object close(BObject recordIterator) {
+        DirectoryTransfer transfer = (DirectoryTransfer) recordIterator.getNativeData(KEY_TRANSFER);
+        if (transfer != null) {
+            transfer.cancelled = true;
+            transfer.events.clear();
+        }
+        recordIterator.set(IS_CLOSED, true);
+        return null;
+    }
+
+    private record Progress(String path, long size, long filesTransferred, long bytesTransferred) {
+    }
+
+    private record Failure(String path, String message) {
+    }
+
+    /**
+     * The bytes that may be copied at the same time. A unit of work larger than the whole budget is let through
+     * once nothing else is in flight, rather than never.
+     */
+    private static final class ByteBudget {
+
+        private final long limit;
+        private long inFlight;
+
+        ByteBudget(long limit) {
+            this.limit = limit;
+        }
+
+        synchronized void acquire(long bytes) throws InterruptedException {
+            long needed = Math.min(bytes, limit);
+            while (inFlight > 0 && inFlight + needed > limit) {
+                wait();
+            }
+            inFlight += needed;
+        }
+
+        synchronized void release(long bytes) {
+            inFlight -= Math.min(bytes, limit);
+            notifyAll();
+        }
+    }
+}
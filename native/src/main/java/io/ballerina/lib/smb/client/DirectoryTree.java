@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.client;
+
+import com.hierynomus.msdtyp.AccessMask;
+import com.hierynomus.msdtyp.FileTime;
+import com.hierynomus.msfscc.FileAttributes;
+import com.hierynomus.msfscc.fileinformation.FileBasicInformation;
+import com.hierynomus.msfscc.fileinformation.FileIdBothDirectoryInformation;
+import com.hierynomus.mssmb2.SMB2CreateDisposition;
+import com.hierynomus.mssmb2.SMB2CreateOptions;
+import com.hierynomus.mssmb2.SMB2ShareAccess;
+import com.hierynomus.smbj.share.DiskShare;
+import com.hierynomus.smbj.share.File;
+import io.ballerina.lib.smb.util.BufferPool;
+import io.ballerina.lib.smb.util.ShareListing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+/**
+ * A local directory and a directory on the share that files are copied between. Files are named by their path
+ * relative to the two directories, with {@code /} as the separator. Each copy is given the last write time of its
+ * source.
+ */
+final class DirectoryTree {
+
+    private static final int DIGEST_BUFFER_SIZE = 8192;
+
+    private final DiskShare share;
+    private final Path localRoot;
+    private final String remoteRoot;
+    private final int bufferSize;
+
+    DirectoryTree(DiskShare share, String localPath, String remotePath, int bufferSize) {
+        this.share = share;
+        this.localRoot = Path.of(localPath);
+        this.remoteRoot = trimSlashes(remotePath);
+        this.bufferSize = bufferSize;
+    }
+
+    Path localRoot() {
+        return localRoot;
+    }
+
+    void listLocal(Map<String, Entry> files, Collection<String> directories) throws IOException {
+        try (Stream<Path> paths = Files.walk(localRoot)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (path.equals(localRoot)) {
+                    continue;
+                }
+                String relativePath = relativePath(path);
+                if (Files.isDirectory(path)) {
+                    directories.add(relativePath);
+                } else if (Files.isRegularFile(path)) {
+                    files.put(relativePath, new Entry(Files.size(path), Files.getLastModifiedTime(path).toMillis()));
+                }
+            }
+        }
+    }
+
+    void listRemote(Map<String, Entry> files, Collection<String> directories) {
+        Map<String, FileIdBothDirectoryInformation> remoteFiles = new HashMap<>();
+        List<String> remoteDirectories = new ArrayList<>();
+        ShareListing.collectRecursively(share, remoteRoot, remoteFiles, remoteDirectories);
+        int prefixLength = ShareListing.childPath(remoteRoot, "").length();
+        remoteFiles.forEach((path, info) -> files.put(path.substring(prefixLength),
+                new Entry(info.getEndOfFile(), info.getLastWriteTime().toEpochMillis())));
+        for (String directory : remoteDirectories) {
+            directories.add(directory.substring(prefixLength));
+        }
+    }
+
+    boolean remoteRootExists() {
+        return remoteRoot.isEmpty() || share.folderExists(remoteRoot);
+    }
+
+    void createRemoteRoot() {
+        StringBuilder path = new StringBuilder();
+        for (String segment : remoteRoot.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (!path.isEmpty()) {
+                path.append('/');
+            }
+            path.append(segment);
+            if (!share.folderExists(path.toString())) {
+                share.mkdir(path.toString());
+            }
+        }
+    }
+
+    void createRemoteDirectory(String relativePath) {
+        share.mkdir(remotePath(relativePath));
+    }
+
+    void deleteRemoteFile(String relativePath) {
+        share.rm(remotePath(relativePath));
+    }
+
+    void deleteRemoteDirectory(String relativePath) {
+        share.rmdir(remotePath(relativePath), false);
+    }
+
+    /**
+     * Copies a local file to the share. A file no larger than the buffer is read whole and sent in one write
+     * request, rather than through a stream that flushes on close.
+     *
+     * @param relativePath The path of the file
+     * @param source       The local file's entry
+     * @return The number of bytes copied
+     * @throws IOException If the file cannot be read or written
+     */
+    long upload(String relativePath, Entry source) throws IOException {
+        Path localFile = localRoot.resolve(relativePath);
+        long bytes;
+        try (File file = share.openFile(remotePath(relativePath), EnumSet.of(AccessMask.GENERIC_WRITE),
+                EnumSet.of(FileAttributes.FILE_ATTRIBUTE_NORMAL), SMB2ShareAccess.ALL,
+                SMB2CreateDisposition.FILE_OVERWRITE_IF, EnumSet.noneOf(SMB2CreateOptions.class))) {
+            if (source.size() <= bufferSize) {
+                byte[] content = Files.readAllBytes(localFile);
+                if (content.length > 0) {
+                    file.write(content, 0);
+                }
+                bytes = content.length;
+            } else {
+                try (InputStream in = Files.newInputStream(localFile);
+                     OutputStream out = file.getOutputStream()) {
+                    bytes = copy(in, out);
+                }
+            }
+            file.setFileInformation(new FileBasicInformation(FileBasicInformation.DONT_SET,
+                    FileBasicInformation.DONT_SET, FileTime.ofEpochMillis(source.lastWriteMillis()),
+                    FileBasicInformation.DONT_SET, 0));
+        }
+        return bytes;
+    }
+
+    long download(String relativePath, Entry source) throws IOException {
+        Path target = localRoot.resolve(relativePath);
+        long bytes;
+        try (File file = openForRead(remotePath(relativePath));
+             InputStream in = file.getInputStream();
+             OutputStream out = Files.newOutputStream(target)) {
+            bytes = copy(in, out);
+        }
+        Files.setLastModifiedTime(target, java.nio.file.attribute.FileTime.fromMillis(source.lastWriteMillis()));
+        return bytes;
+    }
+
+    byte[] localDigest(String relativePath) throws IOException, NoSuchAlgorithmException {
+        try (InputStream content = Files.newInputStream(localRoot.resolve(relativePath))) {
+            return sha256(content);
+        }
+    }
+
+    byte[] remoteDigest(String relativePath) throws IOException, NoSuchAlgorithmException {
+        try (File file = openForRead(remotePath(relativePath));
+             InputStream content = file.getInputStream()) {
+            return sha256(content);
+        }
+    }
+
+    private File openForRead(String path) {
+        return share.openFile(path, EnumSet.of(AccessMask.GENERIC_READ), null, SMB2ShareAccess.ALL,
+                SMB2CreateDisposition.FILE_OPEN, null);
+    }
+
+    private long copy(InputStream in, OutputStream out) throws IOException {
+        try (BufferPool.Lease<byte[]> lease = BufferPool.borrow(bufferSize)) {
+            byte[] buffer = lease.buffer();
+            long total = 0;
+            int read;
+            while ((read = in.read(buffer, 0, bufferSize)) != -1) {
+                out.write(buffer, 0, read);
+                total += read;
+            }
+            return total;
+        }
+    }
+
+    private static byte[] sha256(InputStream content) throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (BufferPool.Lease<byte[]> lease = BufferPool.borrow(DIGEST_BUFFER_SIZE)) {
+            byte[] buffer = lease.buffer();
+            int read;
+            while ((read = content.read(buffer, 0, DIGEST_BUFFER_SIZE)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    private String remotePath(String relativePath) {
+        return remoteRoot.isEmpty() ? relativePath : remoteRoot + "/" + relativePath;
+    }
+
+    private String relativePath(Path path) {
+        StringJoiner joiner = new StringJoiner("/");
+        for (Path name : localRoot.relativize(path)) {
+            joiner.add(name.toString());
+        }
+        return joiner.toString();
+    }
+
+    private static String trimSlashes(String path) {
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(start, end);
+    }
+
+    /**
+     * The size and last write time of a file in either directory.
+     *
+     * @param size            The size in bytes
+     * @param lastWriteMillis The last write time, in milliseconds since the epoch
+     */
+    record Entry(long size, long lastWriteMillis) {
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.client;
+
+import com.hierynomus.msdtyp.AccessMask;
+import com.hierynomus.msfscc.FileAttributes;
+import com.hierynomus.msfscc.fileinformation.FileStandardInformation;
+import com.hierynomus.mssmb2.SMB2CreateDisposition;
+import com.hierynomus.mssmb2.SMB2CreateOptions;
+import com.hierynomus.mssmb2.SMB2ShareAccess;
+import com.hierynomus.smbj.share.DiskShare;
+import com.hierynomus.smbj.share.File;
+import io.ballerina.lib.smb.util.BufferPool;
+import io.ballerina.lib.smb.util.ContentCompression;
+import io.ballerina.lib.smb.util.ModuleUtils;
+import io.ballerina.lib.smb.util.SmbUtil;
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.ballerina.lib.smb.client.SmbClient.SMB_ERROR;
+
+/**
+ * Appends to a file through a handle that stays open. Written content is gathered in a buffer and written in one
+ * request at the end of the file once the buffer holds a batch, once the oldest content has waited for the flush
+ * interval, or when the appender is flushed or closed. The end of the file is looked up once, when it is opened,
+ * and then tracked, so the file is opened without sharing write access and other writers are kept out until the
+ * appender is closed.
+ * <p>
+ * A failed write leaves its content in the buffer, to be written again at the same offset by the next flush. A
+ * write that fails on the timer is reported by the next call to the appender.
+ */
+public final class FileAppender {
+
+    private static final BString BATCH_SIZE = StringUtils.fromString("batchSize");
+    private static final BString FLUSH_INTERVAL = StringUtils.fromString("flushInterval");
+    private static final String KEY_APPENDER = "appender";
+    private static final String APPENDER = "Appender";
+    private static final String APPEND_ERROR = "Failed to append to file: ";
+    private static final String FLUSH_ERROR = "Failed to flush appender: ";
+    private static final String CLOSE_ERROR = "Failed to close appender: ";
+    private static final int MAX_BATCH_SIZE = Integer.MAX_VALUE - 8;
+    private static final int INITIAL_PENDING_SIZE = 4096;
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("smb-appender-timer").factory());
+
+    private final File file;
+    private final String path;
+    private final ContentCompression compression;
+    private final int bufferSize;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private BufferPool.Lease<byte[]> lease;
+    private byte[] pending;
+    private int pendingLength;
+    private long endOffset;
+    private ScheduledFuture<?> scheduledFlush;
+    private IOException failure;
+    private boolean closed;
+
+    private FileAppender(File file, String path, ContentCompression compression, int bufferSize, int batchSize,
+                         long flushIntervalNanos, long endOffset) {
+        this.file = file;
+        this.path = path;
+        this.compression = compression;
+        this.bufferSize = bufferSize;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushIntervalNanos;
+        this.endOffset = endOffset;
+        this.lease = BufferPool.borrow(Math.min(batchSize, INITIAL_PENDING_SIZE));
+        this.pending = lease.buffer();
+    }
+
+    /**
+     * Opens a file for appending, creating it if it does not exist.
+     *
+     * @param share       The share the file is on
+     * @param path        The path of the file
+     * @param options     The {@code AppenderOptions} value
+     * @param compression The compression of the client
+     * @param bufferSize  The buffer size of the client, used when the content is compressed
+     * @return The {@code Appender} object
+     * @throws IOException If the file cannot be opened
+     */
+    static BObject open(DiskShare share, String path, BMap<BString, Object> options, ContentCompression compression,
+                        int bufferSize) throws IOException {
+        long batchSize = options.getIntValue(BATCH_SIZE);
+        BigDecimal flushInterval = ((BDecimal) options.get(FLUSH_INTERVAL)).decimalValue();
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be greater than zero");
+        }
+        if (flushInterval.signum() < 0) {
+            throw new IllegalArgumentException("The flush interval must not be negative");
+        }
+        File file = share.openFile(path, EnumSet.of(AccessMask.GENERIC_WRITE, AccessMask.FILE_READ_ATTRIBUTES),
+                EnumSet.of(FileAttributes.FILE_ATTRIBUTE_NORMAL), EnumSet.of(SMB2ShareAccess.FILE_SHARE_READ),
+                SMB2CreateDisposition.FILE_OPEN_IF, EnumSet.noneOf(SMB2CreateOptions.class));
+        FileAppender appender;
+        try {
+            long endOfFile = file.getFileInformation(FileStandardInformation.class).getEndOfFile();
+            appender = new FileAppender(file, path, compression, bufferSize,
+                    (int) Math.min(batchSize, MAX_BATCH_SIZE), flushInterval.movePointRight(9).longValue(),
+                    endOfFile);
+        } catch (RuntimeException e) {
+            file.close();
+            throw e;
+        }
+        BObject appenderObject = ValueCreator.createObjectValue(ModuleUtils.getModule(), APPENDER);
+        appenderObject.addNativeData(KEY_APPENDER, appender);
+        return appenderObject;
+    }
+
+    public static Object write(Environment env, BObject appenderObject, Object content) {
+        return env.yieldAndRun(() -> {
+            try {
+                byte[] bytes = content instanceof BString text
+                        ? text.getValue().getBytes(StandardCharsets.UTF_8) : ((BArray) content).getBytes();
+                getAppender(appenderObject).append(bytes);
+                return null;
+            } catch (Exception e) {
+                return SmbUtil.createError(APPEND_ERROR + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    public static Object flush(Environment env, BObject appenderObject) {
+        return env.yieldAndRun(() -> {
+            try {
+                getAppender(appenderObject).flushGathered();
+                return null;
+            } catch (Exception e) {
+                return SmbUtil.createError(FLUSH_ERROR + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    public static Object close(Environment env, BObject appenderObject) {
+        return env.yieldAndRun(() -> {
+            try {
+                getAppender(appenderObject).closeFile();
+                return null;
+            } catch (Exception e) {
+                return SmbUtil.createError(CLOSE_ERROR + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    private static FileAppender getAppender(BObject appenderObject) {
+        return (FileAppender) appenderObject.getNativeData(KEY_APPENDER);
+    }
+
+    private void append(byte[] bytes) throws IOException {
+        lock.lock();
+        try {
+            ensureOpen();
+            if (pendingLength + bytes.length > batchSize) {
+                writePending();
+            }
+            if (bytes.length >= batchSize) {
+                writeBatch(bytes, bytes.length);
+                return;
+            }
+            ensureCapacity(pendingLength + bytes.length);
+            System.arraycopy(bytes, 0, pending, pendingLength, bytes.length);
+            pendingLength += bytes.length;
+            if (pendingLength == batchSize || flushIntervalNanos == 0) {
+                writePending();
+            } else if (scheduledFlush == null) {
+                scheduleFlush();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grows the buffer of gathered content to hold at least the given number of bytes, at least doubling it but never
+     * past the batch size, so an appender that gathers little content does not hold a buffer of a whole batch.
+     */
+    private void ensureCapacity(int required) {
+        if (required <= pending.length) {
+            return;
+        }
+        BufferPool.Lease<byte[]> grown = BufferPool.borrow((int) Math.min(batchSize,
+                Math.max(required, 2L * pending.length)));
+        System.arraycopy(pending, 0, grown.buffer(), 0, pendingLength);
+        lease.close();
+        lease = grown;
+        pending = grown.buffer();
+    }
+
+    /**
+     * Schedules a flush of the gathered content once the flush interval has passed. A flush that has already been
+     * started by the timer when the content is written another way can still be waiting for the lock, so each
+     * flush is handed its own future and does nothing once that is no longer the scheduled one.
+     */
+    private void scheduleFlush() {
+        AtomicReference<ScheduledFuture<?>> task = new AtomicReference<>();
+        task.set(TIMER.schedule(() -> Thread.startVirtualThread(() -> flushOnTimer(task)), flushIntervalNanos,
+                TimeUnit.NANOSECONDS));
+        scheduledFlush = task.get();
+    }
+
+    private void flushGathered() throws IOException {
+        lock.lock();
+        try {
+            ensureOpen();
+            writePending();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushOnTimer(AtomicReference<ScheduledFuture<?>> task) {
+        lock.lock();
+        try {
+            // The future is set before the lock that scheduled it is released, so it is read only under the lock.
+            if (closed || scheduledFlush != task.get()) {
+                return;
+            }
+            scheduledFlush = null;
+            writePending();
+        } catch (IOException | RuntimeException e) {
+            failure = e instanceof IOException ioException ? ioException : new IOException(e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeFile() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            failure = null;
+            try {
+                writePending();
+            } finally {
+                try {
+                    file.close();
+                } finally {
+                    lease.close();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("The appender is closed");
+        }
+        if (failure != null) {
+            IOException timerFailure = failure;
+            failure = null;
+            throw timerFailure;
+        }
+    }
+
+    private void writePending() throws IOException {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        if (pendingLength == 0) {
+            return;
+        }
+        writeBatch(pending, pendingLength);
+        pendingLength = 0;
+    }
+
+    private void writeBatch(byte[] bytes, int length) throws IOException {
+        byte[] content = bytes;
+        int contentLength = length;
+        if (compression.appliesTo(path)) {
+            // Each batch is a gzip member of its own; a file of several members reads back as their concatenation.
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            try (OutputStream out = compression.encode(encoded, path, bufferSize)) {
+                out.write(bytes, 0, length);
+            }
+            content = encoded.toByteArray();
+            contentLength = content.length;
+        }
+        file.write(content, endOffset, 0, contentLength);
+        endOffset += contentLength;
+    }
+}
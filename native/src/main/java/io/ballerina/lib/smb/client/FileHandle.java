@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.client;
+
+import com.hierynomus.msdtyp.AccessMask;
+import com.hierynomus.msfscc.FileAttributes;
+import com.hierynomus.msfscc.fileinformation.FileStandardInformation;
+import com.hierynomus.mssmb2.SMB2CreateDisposition;
+import com.hierynomus.mssmb2.SMB2CreateOptions;
+import com.hierynomus.mssmb2.SMB2ShareAccess;
+import com.hierynomus.smbj.share.DiskShare;
+import com.hierynomus.smbj.share.File;
+import io.ballerina.lib.smb.util.BufferPool;
+import io.ballerina.lib.smb.util.ModuleUtils;
+import io.ballerina.lib.smb.util.SmbUtil;
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.ballerina.lib.smb.client.SmbClient.SMB_ERROR;
+
+/**
+ * A file kept open for reads and writes at any offset. A read smaller than the read-ahead size fetches a window of
+ * that size around it in one request and keeps it, so later reads that fall in the window are served from memory.
+ * The window is placed to start at the read, or to end at the end of the file when the read is that close to it,
+ * so reads that walk back from the end, such as those of an archive's central directory, are served from it too.
+ * <p>
+ * The file is opened without sharing write access, so the window and the tracked size stay current: other handles
+ * can read the file but cannot write it until the handle is closed.
+ */
+public final class FileHandle {
+
+    private static final BString READ_AHEAD_SIZE = StringUtils.fromString("readAheadSize");
+    private static final String KEY_FILE_HANDLE = "fileHandle";
+    private static final String FILE_HANDLE = "FileHandle";
+    private static final String MODE_READ_WRITE = "READ_WRITE";
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final File file;
+    private final boolean writable;
+    private final int maxReadSize;
+    private final int readAheadSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private BufferPool.Lease<byte[]> window;
+    private long windowStart;
+    private int windowLength;
+    private long size;
+    private boolean closed;
+
+    private FileHandle(File file, boolean writable, int readAheadSize, long size) {
+        this.file = file;
+        this.writable = writable;
+        this.maxReadSize = file.getDiskShare().getTreeConnect().getNegotiatedProtocol().getMaxReadSize();
+        this.readAheadSize = readAheadSize;
+        this.size = size;
+    }
+
+    /**
+     * Opens a file for reads, or reads and writes, at any offset. A file opened for writing is created if it does
+     * not exist.
+     *
+     * @param share   The share the file is on
+     * @param path    The path of the file
+     * @param mode    The {@code FileAccessMode} name
+     * @param options The {@code FileHandleOptions} value
+     * @return The {@code FileHandle} object
+     */
+    static BObject open(DiskShare share, String path, String mode, BMap<BString, Object> options) {
+        long readAheadSize = options.getIntValue(READ_AHEAD_SIZE);
+        if (readAheadSize < 0) {
+            throw new IllegalArgumentException("The read-ahead size must not be negative");
+        }
+        FileHandle handle = open(share, path, MODE_READ_WRITE.equals(mode),
+                (int) Math.min(readAheadSize, MAX_ARRAY_LENGTH));
+        BObject handleObject = ValueCreator.createObjectValue(ModuleUtils.getModule(), FILE_HANDLE);
+        handleObject.addNativeData(KEY_FILE_HANDLE, handle);
+        return handleObject;
+    }
+
+    /**
+     * Opens a file for reads, or reads and writes, at any offset, for use from Java.
+     *
+     * @param share         The share the file is on
+     * @param path          The path of the file
+     * @param writable      Whether the file is opened for writing, and created if it does not exist
+     * @param readAheadSize The number of bytes fetched for a smaller read
+     * @return The handle
+     */
+    static FileHandle open(DiskShare share, String path, boolean writable, int readAheadSize) {
+        Set<AccessMask> accessMask = writable
+                ? EnumSet.of(AccessMask.GENERIC_READ, AccessMask.GENERIC_WRITE)
+                : EnumSet.of(AccessMask.GENERIC_READ);
+        File file = share.openFile(path, accessMask, EnumSet.of(FileAttributes.FILE_ATTRIBUTE_NORMAL),
+                EnumSet.of(SMB2ShareAccess.FILE_SHARE_READ),
+                writable ? SMB2CreateDisposition.FILE_OPEN_IF : SMB2CreateDisposition.FILE_OPEN,
+                EnumSet.noneOf(SMB2CreateOptions.class));
+        try {
+            return new FileHandle(file, writable, readAheadSize,
+                    file.getFileInformation(FileStandardInformation.class).getEndOfFile());
+        } catch (RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    public static Object read(Environment env, BObject handleObject, long offset, long length) {
+        return env.yieldAndRun(() -> {
+            try {
+                return ValueCreator.createArrayValue(getHandle(handleObject).readBytes(offset, length));
+            } catch (Exception e) {
+                return SmbUtil.createError("Failed to read file: " + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    public static Object write(Environment env, BObject handleObject, long offset, BArray content) {
+        return env.yieldAndRun(() -> {
+            try {
+                getHandle(handleObject).writeAt(offset, content.getBytes());
+                return null;
+            } catch (Exception e) {
+                return SmbUtil.createError("Failed to write file: " + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    public static Object size(BObject handleObject) {
+        try {
+            return getHandle(handleObject).currentSize();
+        } catch (Exception e) {
+            return SmbUtil.createError("Failed to get file size: " + e.getMessage(), SMB_ERROR);
+        }
+    }
+
+    public static Object truncate(Environment env, BObject handleObject, long newSize) {
+        return env.yieldAndRun(() -> {
+            try {
+                getHandle(handleObject).setSize(newSize);
+                return null;
+            } catch (Exception e) {
+                return SmbUtil.createError("Failed to truncate file: " + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    public static Object close(Environment env, BObject handleObject) {
+        return env.yieldAndRun(() -> {
+            try {
+                getHandle(handleObject).closeFile();
+                return null;
+            } catch (Exception e) {
+                return SmbUtil.createError("Failed to close file: " + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    private static FileHandle getHandle(BObject handleObject) {
+        return (FileHandle) handleObject.getNativeData(KEY_FILE_HANDLE);
+    }
+
+    byte[] readBytes(long offset, long length) throws IOException {
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("The offset and length must not be negative");
+        }
+        lock.lock();
+        try {
+            ensureOpen();
+            if (offset >= size) {
+                return new byte[0];
+            }
+            byte[] content = new byte[(int) Math.min(Math.min(length, size - offset), MAX_ARRAY_LENGTH)];
+            int filled = readAt(offset, content, 0, content.length);
+            return filled == content.length ? content : Arrays.copyOf(content, filled);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads bytes from an offset into a buffer, through the read-ahead window.
+     *
+     * @param offset       The offset of the first byte to read
+     * @param buffer       The buffer to read into
+     * @param bufferOffset The offset in the buffer of the first byte
+     * @param length       The number of bytes to read
+     * @return The number of bytes read, fewer than asked for when the file ends first
+     * @throws IOException If the handle is closed
+     */
+    int readAt(long offset, byte[] buffer, int bufferOffset, int length) throws IOException {
+        lock.lock();
+        try {
+            ensureOpen();
+            if (offset >= size || length == 0) {
+                return 0;
+            }
+            int count = (int) Math.min(length, size - offset);
+            long end = offset + count;
+            if (!inWindow(offset, end) && count < readAheadSize) {
+                fillWindow(Math.max(0, Math.min(offset, size - readAheadSize)));
+            }
+            if (inWindow(offset, end)) {
+                System.arraycopy(window.buffer(), (int) (offset - windowStart), buffer, bufferOffset, count);
+                return count;
+            }
+            return readFully(offset, buffer, bufferOffset, count);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeAt(long offset, byte[] content) throws IOException {
+        if (offset < 0) {
+            throw new IllegalArgumentException("The offset must not be negative");
+        }
+        lock.lock();
+        try {
+            ensureOpen();
+            ensureWritable();
+            file.write(content, offset);
+            size = Math.max(size, offset + content.length);
+            if (window != null) {
+                // Keep the window current by copying in the part of the write that falls in it.
+                long from = Math.max(offset, windowStart);
+                long to = Math.min(offset + content.length, windowStart + windowLength);
+                if (from < to) {
+                    System.arraycopy(content, (int) (from - offset), window.buffer(), (int) (from - windowStart),
+                            (int) (to - from));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long currentSize() throws IOException {
+        lock.lock();
+        try {
+            ensureOpen();
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void setSize(long newSize) throws IOException {
+        if (newSize < 0) {
+            throw new IllegalArgumentException("The size must not be negative");
+        }
+        lock.lock();
+        try {
+            ensureOpen();
+            ensureWritable();
+            file.setLength(newSize);
+            size = newSize;
+            if (window != null && windowStart + windowLength > newSize) {
+                windowLength = (int) Math.max(0, newSize - windowStart);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void closeFile() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                file.close();
+            } finally {
+                if (window != null) {
+                    window.close();
+                    window = null;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean inWindow(long from, long to) {
+        return window != null && from >= windowStart && to <= windowStart + windowLength;
+    }
+
+    private void fillWindow(long start) {
+        if (window == null) {
+            window = BufferPool.borrow(readAheadSize);
+        }
+        windowStart = start;
+        // The window is empty until it is filled, in case the read fails.
+        windowLength = 0;
+        windowLength = readFully(start, window.buffer(), 0, (int) Math.min(readAheadSize, size - start));
+    }
+
+    private int readFully(long offset, byte[] buffer, int bufferOffset, int length) {
+        int filled = 0;
+        while (filled < length) {
+            int bytesRead = file.read(buffer, offset + filled, bufferOffset + filled,
+                    Math.min(maxReadSize, length - filled));
+            if (bytesRead <= 0) {
+                break;
+            }
+            filled += bytesRead;
+        }
+        return filled;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("The file handle is closed");
+        }
+    }
+
+    private void ensureWritable() throws IOException {
+        if (!writable) {
+            throw new IOException("The file was opened for reading only");
+        }
+    }
+}
@@ -21,7 +21,10 @@ package io.ballerina.lib.smb.client;
 import com.hierynomus.msdtyp.AccessMask;
 import com.hierynomus.msfscc.FileAttributes;
 import com.hierynomus.msfscc.fileinformation.FileAllInformation;
+import com.hierynomus.msfscc.fileinformation.FileAllocationInformation;
+import com.hierynomus.msfscc.fileinformation.FileEndOfFileInformation;
 import com.hierynomus.msfscc.fileinformation.FileIdBothDirectoryInformation;
+import com.hierynomus.msfscc.fileinformation.FileStandardInformation;
 import com.hierynomus.mssmb2.SMB2CreateDisposition;
 import com.hierynomus.mssmb2.SMB2CreateOptions;
 import com.hierynomus.mssmb2.SMB2Dialect;
@@ -38,8 +41,17 @@ import com.hierynomus.smbj.share.File;
 import io.ballerina.lib.smb.iterator.ByteIterator;
 import io.ballerina.lib.smb.iterator.CsvIterator;
 import io.ballerina.lib.smb.iterator.IteratorToInputStream;
+import io.ballerina.lib.smb.iterator.JsonIterator;
+import io.ballerina.lib.smb.iterator.TextIterator;
+import io.ballerina.lib.smb.iterator.XmlElementIterator;
+import io.ballerina.lib.smb.util.BufferPool;
 import io.ballerina.lib.smb.util.CSVUtils;
+import io.ballerina.lib.smb.util.ContentCompression;
+import io.ballerina.lib.smb.util.ContentDigest;
+import io.ballerina.lib.smb.util.CsvProjection;
+import io.ballerina.lib.smb.util.CsvTokenizer;
 import io.ballerina.lib.smb.util.ModuleUtils;
+import io.ballerina.lib.smb.util.ShareListing;
 import io.ballerina.lib.smb.util.SmbContentConverter;
 import io.ballerina.lib.smb.util.SmbUtil;
 import io.ballerina.runtime.api.Environment;
@@ -51,6 +63,7 @@ import io.ballerina.runtime.api.types.TupleType;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.types.TypeTags;
 import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BDecimal;
 import io.ballerina.runtime.api.values.BMap;
@@ -65,18 +78,25 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.SequenceInputStream;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumSet;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -113,6 +133,10 @@ public class SmbClient {
     public static final String ENDPOINT_CONFIG_ENABLE_DFS = "enableDfs";
     public static final String ENDPOINT_CONFIG_BUFFER_SIZE = "bufferSize";
     public static final String ENDPOINT_CONFIG_CONNECT_TIMEOUT = "connectTimeout";
+    public static final String ENDPOINT_CONFIG_COMPRESSION = "compression";
+    public static final String ENDPOINT_CONFIG_SPILL_THRESHOLD = "spillThreshold";
+    public static final String ENDPOINT_CONFIG_ADMISSION = "admission";
+    public static final String ENDPOINT_CONFIG_PREALLOCATION_THRESHOLD = "preallocationThreshold";
     public static final String AUTH_TYPE = "authType";
     public static final String AUTH_TYPE_NTLM = "NTLM";
     public static final String AUTH_TYPE_KERBEROS = "KERBEROS";
@@ -133,6 +157,10 @@ public class SmbClient {
     private static final String CLIENT_CLOSED_ERROR_MESSAGE =
             "SMB Client is already closed, hence further operations are not allowed";
     private static final String ON_CLOSE_ERROR = "Error occurred while closing the SMB client: ";
+    private static final long MAPPED_WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+    private static final int SPILL_BATCH_SIZE = 8 * 1024 * 1024;
+    private static final int FSCTL_SET_ZERO_DATA = 0x000980C8;
     public static final String MISSING_CREDENTIALS_FOR_AUTH_ERROR =
             "Credentials must be provided for the specified auth configuration";
     public static final String MISSING_CREDENTIALS_FOR_KERBEROS_ERROR =
@@ -170,9 +198,13 @@ public class SmbClient {
     public static final String DELETE_FILE_ERROR = "Failed to delete file: ";
     public static final String WRITE_CSV_FILE_ERROR = "Failed to write CSV file: ";
     public static final String WRITE_XML_FILE_ERROR = "Failed to write XML file: ";
+    public static final String WRITE_JSON_LINES_FILE_ERROR = "Failed to write JSON Lines file: ";
     public static final String GET_FILE_SIZE_ERROR = "Failed to get file size: ";
     public static final String FILE_EXISTENCE_ERROR = "Failed to check file existence: ";
     public static final String COPY_FILE_ERROR = "Failed to copy file: ";
+    public static final String SYNC_DIRECTORY_ERROR = "Failed to sync directory: ";
+    public static final String UPLOAD_DIRECTORY_ERROR = "Failed to upload directory: ";
+    public static final String DOWNLOAD_DIRECTORY_ERROR = "Failed to download directory: ";
 
     private SmbClient() {
     }
@@ -227,6 +259,14 @@ public class SmbClient {
                     config.getBooleanValue(StringUtils.fromString(ENDPOINT_CONFIG_LAX_DATA_BINDING)));
             clientEndpoint.addNativeData(ENDPOINT_CONFIG_CSV_FAIL_SAFE,
                     config.getMapValue(StringUtils.fromString(ENDPOINT_CONFIG_CSV_FAIL_SAFE)));
+            clientEndpoint.addNativeData(ENDPOINT_CONFIG_COMPRESSION,
+                    ContentCompression.from(config.get(StringUtils.fromString(ENDPOINT_CONFIG_COMPRESSION))));
+            clientEndpoint.addNativeData(ENDPOINT_CONFIG_SPILL_THRESHOLD,
+                    config.getIntValue(StringUtils.fromString(ENDPOINT_CONFIG_SPILL_THRESHOLD)));
+            clientEndpoint.addNativeData(ENDPOINT_CONFIG_ADMISSION,
+                    AdmissionControl.from(config.get(StringUtils.fromString(ENDPOINT_CONFIG_ADMISSION))));
+            clientEndpoint.addNativeData(ENDPOINT_CONFIG_PREALLOCATION_THRESHOLD,
+                    config.getIntValue(StringUtils.fromString(ENDPOINT_CONFIG_PREALLOCATION_THRESHOLD)));
             
             boolean isAnonymous = authType.equals(AUTH_TYPE_ANONYMOUS);
             boolean effectiveEncryptData = !isAnonymous && encryptData;
@@ -285,14 +325,11 @@ public class SmbClient {
         return env.yieldAndRun(() -> {
             try {
                 DiskShare share = retrieveShare(clientEndpoint);
-                List<FileIdBothDirectoryInformation> files = share.list(directoryPath.getValue());
+                List<FileIdBothDirectoryInformation> files = ShareListing.list(share, directoryPath.getValue());
                 List<BMap<BString, Object>> fileInfoList = new ArrayList<>();
 
                 for (FileIdBothDirectoryInformation fileInfo : files) {
                     String fileName = fileInfo.getFileName();
-                    if (".".equals(fileName) || "..".equals(fileName)) {
-                        continue;
-                    }
                     BMap<BString, Object> fileInfoRecord = ValueCreator.createRecordValue(
                             ModuleUtils.getModule(), FILE_INFO_TYPE);
                     String fullPath = directoryPath.getValue();
@@ -308,8 +345,7 @@ public class SmbClient {
                     }
 
                     long fileAttributes = fileInfo.getFileAttributes();
-                    boolean isFolder = EnumWithValue.EnumUtils.isSet(fileAttributes,
-                            FileAttributes.FILE_ATTRIBUTE_DIRECTORY);
+                    boolean isFolder = ShareListing.isDirectory(fileInfo);
                     boolean isHidden = EnumWithValue.EnumUtils.isSet(fileAttributes,
                             FileAttributes.FILE_ATTRIBUTE_HIDDEN);
                     boolean isReadOnly = EnumWithValue.EnumUtils.isSet(fileAttributes,
@@ -343,6 +379,45 @@ public class SmbClient {
         });
     }
 
+    public static Object syncDirectory(Environment env, BObject clientEndpoint, BString localPath,
+                                       BString remotePath, BMap<BString, Object> options) {
+        return env.yieldAndRun(() -> {
+            try {
+                DiskShare share = retrieveShare(clientEndpoint);
+                return DirectorySync.sync(share, localPath.getValue(), remotePath.getValue(), options,
+                        getBufferSize(clientEndpoint));
+            } catch (Exception e) {
+                return SmbUtil.createError(SYNC_DIRECTORY_ERROR + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    public static Object uploadDirectory(Environment env, BObject clientEndpoint, BString localPath,
+                                         BString remotePath, BMap<BString, Object> options) {
+        return env.yieldAndRun(() -> {
+            try {
+                DiskShare share = retrieveShare(clientEndpoint);
+                return DirectoryTransfer.start(share, localPath.getValue(), remotePath.getValue(), false, options,
+                        getBufferSize(clientEndpoint));
+            } catch (Exception e) {
+                return SmbUtil.createError(UPLOAD_DIRECTORY_ERROR + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    public static Object downloadDirectory(Environment env, BObject clientEndpoint, BString remotePath,
+                                           BString localPath, BMap<BString, Object> options) {
+        return env.yieldAndRun(() -> {
+            try {
+                DiskShare share = retrieveShare(clientEndpoint);
+                return DirectoryTransfer.start(share, localPath.getValue(), remotePath.getValue(), true, options,
+                        getBufferSize(clientEndpoint));
+            } catch (Exception e) {
+                return SmbUtil.createError(DOWNLOAD_DIRECTORY_ERROR + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
     public static SMB2Dialect mapDialect(String dialectStr) {
         switch (dialectStr) {
             case DIALECT_SMB_3_1_1 -> {
@@ -363,10 +438,12 @@ public class SmbClient {
         }
     }
 
-    public static Object getBytes(Environment env, BObject clientEndpoint, BString filePath) {
+    public static Object getBytes(Environment env, BObject clientEndpoint, BString filePath,
+                                  Object expectedDigest, Object computedDigest) {
         return env.yieldAndRun(() -> {
             try {
-                byte[] getBytesResult = readFileAsBytes(clientEndpoint, filePath.getValue());
+                byte[] getBytesResult = readFileAsBytes(clientEndpoint, filePath.getValue(),
+                        ContentDigest.from(expectedDigest, computedDigest));
                 return ValueCreator.createArrayValue(getBytesResult);
             } catch (Exception e) {
                 return SmbUtil.createError("Failed to read file: " + e.getMessage(), SMB_ERROR);
@@ -374,10 +451,13 @@ public class SmbClient {
         });
     }
 
-    public static Object getText(Environment env, BObject clientEndpoint, BString filePath) {
+    public static Object getText(Environment env, BObject clientEndpoint, BString filePath,
+                                 Object expectedDigest, Object computedDigest) {
         return env.yieldAndRun(() -> {
             try {
-                byte[] bytes = readFileAsBytes(clientEndpoint, filePath.getValue());
+                byte[] bytes = readFileAsBytes(clientEndpoint, filePath.getValue(),
+                        ContentDigest.from(expectedDigest, computedDigest));
+                // The content is decoded once, into the String that the BString wraps; fromString does not copy it.
                 return StringUtils.fromString(new String(bytes, StandardCharsets.UTF_8));
             } catch (Exception e) {
                 return SmbUtil.createError("Failed to read file as text: " + e.getMessage(), SMB_ERROR);
@@ -389,9 +469,13 @@ public class SmbClient {
                                   io.ballerina.runtime.api.values.BTypedesc typeDesc) {
         return env.yieldAndRun(() -> {
             try {
-                byte[] bytes = readFileAsBytes(clientEndpoint, filePath.getValue());
                 boolean laxDataBinding = (boolean) clientEndpoint.getNativeData(ENDPOINT_CONFIG_LAX_DATA_BINDING);
-                return SmbContentConverter.convertBytesToJson(bytes, typeDesc.getDescribingType(), laxDataBinding);
+                try (File file = openFileForRead(clientEndpoint, filePath.getValue());
+                     AdmissionControl.Permit permit = admitRead(clientEndpoint, file);
+                     InputStream inputStream = decode(clientEndpoint, filePath.getValue(), file.getInputStream())) {
+                    return SmbContentConverter.convertStreamToJson(env, inputStream, typeDesc.getDescribingType(),
+                            laxDataBinding);
+                }
             } catch (Exception e) {
                 return SmbUtil.createError("Failed to read file as JSON: " + e.getMessage(), SMB_ERROR);
             }
@@ -402,9 +486,13 @@ public class SmbClient {
                                  io.ballerina.runtime.api.values.BTypedesc typeDesc) {
         return env.yieldAndRun(() -> {
             try {
-                byte[] bytes = readFileAsBytes(clientEndpoint, filePath.getValue());
                 boolean laxDataBinding = (boolean) clientEndpoint.getNativeData(ENDPOINT_CONFIG_LAX_DATA_BINDING);
-                return SmbContentConverter.convertBytesToXml(bytes, typeDesc.getDescribingType(), laxDataBinding);
+                try (File file = openFileForRead(clientEndpoint, filePath.getValue());
+                     AdmissionControl.Permit permit = admitRead(clientEndpoint, file);
+                     InputStream inputStream = decode(clientEndpoint, filePath.getValue(), file.getInputStream())) {
+                    return SmbContentConverter.convertStreamToXml(env, inputStream, typeDesc.getDescribingType(),
+                            laxDataBinding);
+                }
             } catch (Exception e) {
                 return SmbUtil.createError("Failed to read file as XML: " + e.getMessage(), SMB_ERROR);
             }
@@ -412,12 +500,24 @@ public class SmbClient {
     }
 
     public static Object getCsv(Environment env, BObject clientEndpoint, BString filePath,
-                                 io.ballerina.runtime.api.values.BTypedesc typeDesc) {
+                                 io.ballerina.runtime.api.values.BTypedesc typeDesc, Object readOptions) {
         return env.yieldAndRun(() -> {
             try {
-                byte[] bytes = readFileAsBytes(clientEndpoint, filePath.getValue());
-                boolean laxDataBinding = (boolean) clientEndpoint.getNativeData(ENDPOINT_CONFIG_LAX_DATA_BINDING);
+                CsvProjection projection = CsvProjection.from(readOptions);
                 BMap<?, ?> csvFailSafe = (BMap<?, ?>) clientEndpoint.getNativeData(ENDPOINT_CONFIG_CSV_FAIL_SAFE);
+                if (csvFailSafe == null && exceedsSpillThreshold(clientEndpoint, filePath.getValue())) {
+                    return readCsvFromSpillFile(env, clientEndpoint, filePath, typeDesc.getDescribingType(),
+                            projection);
+                }
+                byte[] bytes = readFileAsBytes(clientEndpoint, filePath.getValue(), null);
+                if (projection != null) {
+                    bytes = projection.apply(bytes);
+                }
+                if (csvFailSafe == null && CsvTokenizer.isStringTable(typeDesc.getDescribingType())
+                        && !CsvTokenizer.hasEscapes(bytes)) {
+                    return CsvTokenizer.parse(bytes, true);
+                }
+                boolean laxDataBinding = (boolean) clientEndpoint.getNativeData(ENDPOINT_CONFIG_LAX_DATA_BINDING);
                 String fileNamePrefix = SmbContentConverter.deriveFileNamePrefix(filePath);
                 return SmbContentConverter.convertBytesToCsv(env, bytes, typeDesc.getDescribingType(),
                         laxDataBinding, csvFailSafe, fileNamePrefix);
@@ -427,17 +527,61 @@ public class SmbClient {
         });
     }
 
-    public static Object getBytesAsStream(Environment env, BObject clientEndpoint, BString filePath) {
+    private static boolean exceedsSpillThreshold(BObject clientEndpoint, String filePath) throws IOException {
+        Object spillThreshold = clientEndpoint.getNativeData(ENDPOINT_CONFIG_SPILL_THRESHOLD);
+        if (!(spillThreshold instanceof Long threshold) || threshold <= 0) {
+            return false;
+        }
+        DiskShare share = retrieveShare(clientEndpoint);
+        return share.getFileInformation(filePath).getStandardInformation().getEndOfFile() > threshold;
+    }
+
+    /**
+     * Downloads a CSV file into a temporary local file and binds it from a memory-mapped view of that file, a
+     * batch of records at a time, so the raw content is never held on the heap as a whole. The temporary file is
+     * removed once the records are bound.
+     */
+    private static Object readCsvFromSpillFile(Environment env, BObject clientEndpoint, BString filePath,
+                                               Type targetType, CsvProjection projection) throws IOException {
+        boolean isStringTable = CsvTokenizer.isStringTable(targetType);
+        boolean laxDataBinding = (boolean) clientEndpoint.getNativeData(ENDPOINT_CONFIG_LAX_DATA_BINDING);
+        String fileNamePrefix = SmbContentConverter.deriveFileNamePrefix(filePath);
+        try (SpillFile spillFile = SpillFile.create()) {
+            readFileToLocalFile(clientEndpoint, filePath.getValue(), spillFile.path());
+            return CsvIterator.bindAll(spillFile.open(), SPILL_BATCH_SIZE,
+                    (ArrayType) TypeUtils.getReferredType(targetType), batch -> {
+                        byte[] content = projection == null ? batch : projection.apply(batch);
+                        if (isStringTable && !CsvTokenizer.hasEscapes(content)) {
+                            return CsvTokenizer.parse(content, true);
+                        }
+                        return SmbContentConverter.convertBytesToCsv(env, content, targetType, laxDataBinding,
+                                null, fileNamePrefix);
+                    });
+        }
+    }
+
+    public static Object getBytesAsStream(Environment env, BObject clientEndpoint, BString filePath,
+                                          Object expectedDigest, Object chunkSize, Object computedDigest) {
         return env.yieldAndRun(() -> {
             try {
                 SMBClient smbClient = (SMBClient) clientEndpoint.getNativeData(SMB_CLIENT_CONNECTOR);
                 if (smbClient == null) {
                     return SmbUtil.createError(CLIENT_CLOSED_ERROR_MESSAGE, SMB_ERROR);
                 }
+                if (chunkSize instanceof Long size && size <= 0) {
+                    return SmbUtil.createError("Failed to read file as byte stream: The chunk size must be "
+                            + "greater than zero", SMB_ERROR);
+                }
+                int streamChunkSize = chunkSize instanceof Long size ? (int) Math.min(size, MAX_ARRAY_LENGTH)
+                        : retrieveShare(clientEndpoint).getTreeConnect().getNegotiatedProtocol().getMaxReadSize();
                 boolean laxDataBinding = (boolean) clientEndpoint.getNativeData(ENDPOINT_CONFIG_LAX_DATA_BINDING);
+                ContentDigest digest = ContentDigest.from(expectedDigest, computedDigest);
                 InputStream inputStream = getFileInputStream(clientEndpoint, filePath.getValue());
+                if (digest != null) {
+                    inputStream = digest.verifying(inputStream);
+                }
                 Type streamValueType = TypeCreator.createArrayType(PredefinedTypes.TYPE_BYTE);
-                return createByteStream(inputStream, streamValueType, laxDataBinding);
+                return createByteStream(inputStream, streamValueType, laxDataBinding, streamChunkSize);
             } catch (Exception e) {
                 return SmbUtil.createError("Failed to read file as byte stream: " + e.getMessage(), SMB_ERROR);
             }
@@ -445,7 +589,7 @@ public class SmbClient {
     }
 
     public static Object getCsvAsStream(Environment env, BObject clientEndpoint, BString filePath,
-                                        BTypedesc typeDesc) {
+                                        BTypedesc typeDesc, Object readOptions) {
         return env.yieldAndRun(() -> {
             try {
                 SMBClient smbClient = (SMBClient) clientEndpoint.getNativeData(SMB_CLIENT_CONNECTOR);
@@ -455,26 +599,164 @@ public class SmbClient {
                 boolean laxDataBinding = (boolean) clientEndpoint.getNativeData(ENDPOINT_CONFIG_LAX_DATA_BINDING);
                 InputStream inputStream = getFileInputStream(clientEndpoint, filePath.getValue());
                 Type streamValueType = typeDesc.getDescribingType();
-                return createCsvStream(inputStream, streamValueType, laxDataBinding);
+                return createCsvStream(inputStream, streamValueType, laxDataBinding,
+                        CsvProjection.from(readOptions));
             } catch (Exception e) {
                 return SmbUtil.createError("Failed to read file as CSV stream: " + e.getMessage(), SMB_ERROR);
             }
         });
     }
 
+    public static Object getLinesAsStream(Environment env, BObject clientEndpoint, BString filePath,
+                                          long maxLineLength) {
+        return env.yieldAndRun(() -> {
+            try {
+                SMBClient smbClient = (SMBClient) clientEndpoint.getNativeData(SMB_CLIENT_CONNECTOR);
+                if (smbClient == null) {
+                    return SmbUtil.createError(CLIENT_CLOSED_ERROR_MESSAGE, SMB_ERROR);
+                }
+                if (maxLineLength <= 0) {
+                    return SmbUtil.createError("The maximum line length must be greater than zero", SMB_ERROR);
+                }
+                InputStream inputStream = getFileInputStream(clientEndpoint, filePath.getValue());
+                return TextIterator.createLineStream(inputStream, (int) Math.min(maxLineLength, Integer.MAX_VALUE));
+            } catch (Exception e) {
+                return SmbUtil.createError("Failed to read file as a stream of lines: " + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    public static Object getJsonArrayAsStream(Environment env, BObject clientEndpoint, BString filePath,
+                                              BTypedesc typeDesc) {
+        return env.yieldAndRun(() -> {
+            try {
+                SMBClient smbClient = (SMBClient) clientEndpoint.getNativeData(SMB_CLIENT_CONNECTOR);
+                if (smbClient == null) {
+                    return SmbUtil.createError(CLIENT_CLOSED_ERROR_MESSAGE, SMB_ERROR);
+                }
+                boolean laxDataBinding = (boolean) clientEndpoint.getNativeData(ENDPOINT_CONFIG_LAX_DATA_BINDING);
+                InputStream inputStream = getFileInputStream(clientEndpoint, filePath.getValue());
+                return JsonIterator.createItemStream(inputStream, typeDesc.getDescribingType(), laxDataBinding);
+            } catch (Exception e) {
+                return SmbUtil.createError("Failed to read file as JSON array stream: " + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    public static Object getJsonLinesAsStream(Environment env, BObject clientEndpoint, BString filePath,
+                                              BTypedesc typeDesc) {
+        return env.yieldAndRun(() -> {
+            try {
+                SMBClient smbClient = (SMBClient) clientEndpoint.getNativeData(SMB_CLIENT_CONNECTOR);
+                if (smbClient == null) {
+                    return SmbUtil.createError(CLIENT_CLOSED_ERROR_MESSAGE, SMB_ERROR);
+                }
+                boolean laxDataBinding = (boolean) clientEndpoint.getNativeData(ENDPOINT_CONFIG_LAX_DATA_BINDING);
+                InputStream inputStream = getFileInputStream(clientEndpoint, filePath.getValue());
+                return JsonIterator.createLineStream(inputStream, typeDesc.getDescribingType(), laxDataBinding);
+            } catch (Exception e) {
+                return SmbUtil.createError("Failed to read file as JSON Lines stream: " + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    public static Object getXmlAsStream(Environment env, BObject clientEndpoint, BString filePath,
+                                        BString elementPath, BTypedesc typeDesc) {
+        return env.yieldAndRun(() -> {
+            try {
+                SMBClient smbClient = (SMBClient) clientEndpoint.getNativeData(SMB_CLIENT_CONNECTOR);
+                if (smbClient == null) {
+                    return SmbUtil.createError(CLIENT_CLOSED_ERROR_MESSAGE, SMB_ERROR);
+                }
+                boolean laxDataBinding = (boolean) clientEndpoint.getNativeData(ENDPOINT_CONFIG_LAX_DATA_BINDING);
+                InputStream inputStream = getFileInputStream(clientEndpoint, filePath.getValue());
+                try {
+                    return XmlElementIterator.createElementStream(inputStream, elementPath.getValue(),
+                            typeDesc.getDescribingType(), laxDataBinding);
+                } catch (Exception e) {
+                    inputStream.close();
+                    throw e;
+                }
+            } catch (Exception e) {
+                return SmbUtil.createError("Failed to read file as XML stream: " + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
     private static InputStream getFileInputStream(BObject clientEndpoint, String filePath) throws IOException {
+        InputStream content = openFileForRead(clientEndpoint, filePath).getInputStream();
+        try {
+            return decode(clientEndpoint, filePath, content);
+        } catch (IOException e) {
+            content.close();
+            throw e;
+        }
+    }
+
+    private static InputStream decode(BObject clientEndpoint, String filePath, InputStream content)
+            throws IOException {
+        return getCompression(clientEndpoint).decode(content, filePath, getBufferSize(clientEndpoint));
+    }
+
+    private static OutputStream encode(BObject clientEndpoint, String filePath, OutputStream content)
+            throws IOException {
+        return getCompression(clientEndpoint).encode(content, filePath, getBufferSize(clientEndpoint));
+    }
+
+    private static AdmissionControl getAdmissionControl(BObject clientEndpoint) {
+        return (AdmissionControl) clientEndpoint.getNativeData(ENDPOINT_CONFIG_ADMISSION);
+    }
+
+    private static AdmissionControl.Permit admit(BObject clientEndpoint, boolean isWrite, long bytes)
+            throws IOException {
+        AdmissionControl admission = getAdmissionControl(clientEndpoint);
+        return admission == null ? AdmissionControl.UNLIMITED : admission.admit(isWrite, bytes);
+    }
+
+    private static AdmissionControl.Permit admitRead(BObject clientEndpoint, File file) throws IOException {
+        AdmissionControl admission = getAdmissionControl(clientEndpoint);
+        return admission == null ? AdmissionControl.UNLIMITED : admission.admit(false, getEndOfFile(file));
+    }
+
+    public static Object getAdmissionStats(BObject clientEndpoint) {
+        AdmissionControl admission = getAdmissionControl(clientEndpoint);
+        return admission == null ? null : admission.stats();
+    }
+
+    public static Object getBufferPoolStats(BObject clientEndpoint) {
+        return BufferPool.stats();
+    }
+
+    public static Object getParsePlanCacheStats(BObject clientEndpoint) {
+        return SmbContentConverter.planCacheStats();
+    }
+
+    private static ContentCompression getCompression(BObject clientEndpoint) {
+        Object compression = clientEndpoint.getNativeData(ENDPOINT_CONFIG_COMPRESSION);
+        return compression instanceof ContentCompression contentCompression
+                ? contentCompression : ContentCompression.NONE;
+    }
+
+    private static File openFileForWrite(BObject clientEndpoint, String filePath) throws IOException {
+        DiskShare share = retrieveShare(clientEndpoint);
+        return share.openFile(filePath, EnumSet.of(AccessMask.GENERIC_WRITE), null, SMB2ShareAccess.ALL,
+                SMB2CreateDisposition.FILE_OPEN, EnumSet.noneOf(SMB2CreateOptions.class));
+    }
+
+    private static File openFileForRead(BObject clientEndpoint, String filePath) throws IOException {
         DiskShare share = retrieveShare(clientEndpoint);
         Set<AccessMask> accessMask = new HashSet<>();
         accessMask.add(AccessMask.GENERIC_READ);
-        File file = share.openFile(filePath, accessMask, null,
+        return share.openFile(filePath, accessMask, null,
                 SMB2ShareAccess.ALL, SMB2CreateDisposition.FILE_OPEN, null);
-        return file.getInputStream();
     }
 
-    private static Object createByteStream(InputStream content, Type streamValueType, boolean laxDataBinding) {
+    private static Object createByteStream(InputStream content, Type streamValueType, boolean laxDataBinding,
+                                           int chunkSize) {
         BObject contentByteStreamObject = ValueCreator.createObjectValue(
                 ModuleUtils.getModule(), "ContentByteStream", null, null);
         contentByteStreamObject.addNativeData(ByteIterator.NATIVE_INPUT_STREAM, content);
+        contentByteStreamObject.addNativeData(ByteIterator.NATIVE_CHUNK_SIZE, chunkSize);
         contentByteStreamObject.addNativeData(ByteIterator.NATIVE_LAX_DATA_BINDING, laxDataBinding);
         contentByteStreamObject.addNativeData(ByteIterator.NATIVE_STREAM_VALUE_TYPE, streamValueType);
         return ValueCreator.createStreamValue(TypeCreator.createStreamType(streamValueType,
@@ -482,21 +764,24 @@ public class SmbClient {
                 contentByteStreamObject);
     }
 
-    private static Object createCsvStream(InputStream content, Type streamValueType, boolean laxDataBinding) {
+    private static Object createCsvStream(InputStream content, Type streamValueType, boolean laxDataBinding,
+                                          CsvProjection projection) {
         if (streamValueType.getTag() == TypeTags.ARRAY_TAG) {
             ArrayType arrayType = (ArrayType) streamValueType;
             if (arrayType.getElementType().getTag() == TypeTags.STRING_TAG) {
-                return CsvIterator.createStringArrayStream(content, streamValueType, laxDataBinding);
+                return CsvIterator.createStringArrayStream(content, streamValueType, laxDataBinding, projection);
             }
         }
-        return CsvIterator.createRecordStream(content, streamValueType, laxDataBinding);
+        return CsvIterator.createRecordStream(content, streamValueType, laxDataBinding, projection);
     }
 
     public static Object putBytes(Environment env, BObject clientEndpoint, BString filePath,
-                                   BArray content, BString option) {
+                                   BArray content, BString option, Object expectedDigest,
+                                   Object computedDigest) {
         return env.yieldAndRun(() -> {
             try {
                 byte[] bytes = content.getBytes();
+                verifyDigest(bytes, expectedDigest, computedDigest);
                 boolean append = WRITE_OPTION_APPEND.equals(option.getValue());
                 writeFileBytes(clientEndpoint, filePath.getValue(), bytes, append);
                 return null;
@@ -506,6 +791,137 @@ public class SmbClient {
         });
     }
 
+    public static Object putFile(Environment env, BObject clientEndpoint, BString localPath, BString filePath,
+                                 BString option) {
+        return env.yieldAndRun(() -> {
+            try {
+                boolean append = WRITE_OPTION_APPEND.equals(option.getValue());
+                writeFileFromLocalFile(clientEndpoint, filePath.getValue(), Path.of(localPath.getValue()), append);
+                return null;
+            } catch (Exception e) {
+                return SmbUtil.createError(WRITE_FILE_ERROR + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    public static Object openAppender(Environment env, BObject clientEndpoint, BString filePath,
+                                      BMap<BString, Object> options) {
+        return env.yieldAndRun(() -> {
+            try {
+                return FileAppender.open(retrieveShare(clientEndpoint), filePath.getValue(), options,
+                        getCompression(clientEndpoint), getBufferSize(clientEndpoint));
+            } catch (Exception e) {
+                return SmbUtil.createError("Failed to open appender: " + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    public static Object openFile(Environment env, BObject clientEndpoint, BString filePath, BString mode,
+                                  BMap<BString, Object> options) {
+        return env.yieldAndRun(() -> {
+            try {
+                if (getCompression(clientEndpoint).appliesTo(filePath.getValue())) {
+                    return SmbUtil.createError("Failed to open file: A compressed file cannot be read or written "
+                            + "at an offset", SMB_ERROR);
+                }
+                return FileHandle.open(retrieveShare(clientEndpoint), filePath.getValue(), mode.getValue(), options);
+            } catch (Exception e) {
+                return SmbUtil.createError("Failed to open file: " + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    public static Object openArchive(Environment env, BObject clientEndpoint, BString filePath) {
+        return env.yieldAndRun(() -> {
+            try {
+                if (getCompression(clientEndpoint).appliesTo(filePath.getValue())) {
+                    return SmbUtil.createError("Failed to open archive: A compressed file cannot be read at an "
+                            + "offset", SMB_ERROR);
+                }
+                return ZipArchive.open(retrieveShare(clientEndpoint), filePath.getValue());
+            } catch (Exception e) {
+                return SmbUtil.createError("Failed to open archive: " + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    public static Object getFile(Environment env, BObject clientEndpoint, BString filePath, BString localPath) {
+        return env.yieldAndRun(() -> {
+            try {
+                readFileToLocalFile(clientEndpoint, filePath.getValue(), Path.of(localPath.getValue()));
+                return null;
+            } catch (Exception e) {
+                return SmbUtil.createError("Failed to read file: " + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    /**
+     * Writes a local file to the share from memory-mapped windows of the file, so the content is never copied
+     * onto the heap as a whole. A file the client compresses goes through the compression stream instead.
+     */
+    private static void writeFileFromLocalFile(BObject clientEndpoint, String filePath, Path localPath,
+                                               boolean append) throws IOException {
+        if (getCompression(clientEndpoint).appliesTo(filePath)) {
+            writeFileFromStream(clientEndpoint, filePath, Files.newInputStream(localPath), append, null);
+            return;
+        }
+        DiskShare share = retrieveShare(clientEndpoint);
+        Set<AccessMask> accessMask = EnumSet.of(AccessMask.GENERIC_WRITE, AccessMask.FILE_READ_ATTRIBUTES);
+        Set<FileAttributes> fileAttributes = EnumSet.of(FileAttributes.FILE_ATTRIBUTE_NORMAL);
+        SMB2CreateDisposition disposition = append ?
+                SMB2CreateDisposition.FILE_OPEN_IF : SMB2CreateDisposition.FILE_OVERWRITE_IF;
+        try (FileChannel channel = FileChannel.open(localPath, StandardOpenOption.READ);
+             File file = share.openFile(filePath, accessMask, fileAttributes, SMB2ShareAccess.ALL,
+                     disposition, EnumSet.noneOf(SMB2CreateOptions.class))) {
+            long fileOffset = append ? file.getFileInformation(FileStandardInformation.class).getEndOfFile() : 0;
+            long size = channel.size();
+            if (shouldPreallocate(clientEndpoint, filePath, size)) {
+                // The windows are written at their offsets, so the end of the file can be set first as well.
+                file.setFileInformation(new FileAllocationInformation(fileOffset + size));
+                file.setFileInformation(new FileEndOfFileInformation(fileOffset + size));
+            }
+            for (long position = 0; position < size; position += MAPPED_WINDOW_SIZE) {
+                ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(MAPPED_WINDOW_SIZE, size - position));
+                file.write(window, fileOffset + position);
+            }
+        }
+    }
+
+    /**
+     * Reads a file from the share into a local file through one pooled direct buffer the size of the largest read
+     * the server allows, so each read request goes straight to the local file. A file the client compresses goes
+     * through the decompression stream instead.
+     */
+    private static void readFileToLocalFile(BObject clientEndpoint, String filePath, Path localPath)
+            throws IOException {
+        if (getCompression(clientEndpoint).appliesTo(filePath)) {
+            try (InputStream content = getFileInputStream(clientEndpoint, filePath)) {
+                Files.copy(content, localPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return;
+        }
+        DiskShare share = retrieveShare(clientEndpoint);
+        int maxReadSize = share.getTreeConnect().getNegotiatedProtocol().getMaxReadSize();
+        try (BufferPool.Lease<ByteBuffer> lease = BufferPool.borrowDirect(maxReadSize);
+             File file = openFileForRead(clientEndpoint, filePath);
+             FileChannel channel = FileChannel.open(localPath, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = lease.buffer();
+            long fileOffset = 0;
+            long bytesRead;
+            while ((bytesRead = file.read(buffer, fileOffset)) > 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                buffer.clear().limit(maxReadSize);
+                fileOffset += bytesRead;
+            }
+        }
+    }
+
     public static Object patch(Environment env, BObject clientEndpoint, BString filePath,
                                 BArray content, long offset) {
         return env.yieldAndRun(() -> {
@@ -530,11 +946,51 @@ public class SmbClient {
         });
     }
 
+    public static Object truncate(Environment env, BObject clientEndpoint, BString filePath, long size) {
+        return env.yieldAndRun(() -> {
+            try {
+                if (size < 0) {
+                    return SmbUtil.createError("Failed to truncate file: The size must not be negative", SMB_ERROR);
+                }
+                try (File file = openFileForWrite(clientEndpoint, filePath.getValue())) {
+                    file.setFileInformation(new FileEndOfFileInformation(size));
+                }
+                return null;
+            } catch (Exception e) {
+                return SmbUtil.createError("Failed to truncate file: " + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    public static Object zeroRange(Environment env, BObject clientEndpoint, BString filePath, long offset,
+                                   long length) {
+        return env.yieldAndRun(() -> {
+            try {
+                if (offset < 0 || length < 0) {
+                    return SmbUtil.createError("Failed to zero file range: The offset and length must not be "
+                            + "negative", SMB_ERROR);
+                }
+                // FILE_ZERO_DATA_INFORMATION holds the offset of the first byte to zero and of the byte after the
+                // last, each as a 64-bit little-endian integer.
+                byte[] zeroData = ByteBuffer.allocate(2 * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                        .putLong(offset).putLong(offset + length).array();
+                try (File file = openFileForWrite(clientEndpoint, filePath.getValue())) {
+                    file.ioctl(FSCTL_SET_ZERO_DATA, true, zeroData, 0, zeroData.length);
+                }
+                return null;
+            } catch (Exception e) {
+                return SmbUtil.createError("Failed to zero file range: " + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
     public static Object putText(Environment env, BObject clientEndpoint, BString filePath,
-                                  BString content, BString option) {
+                                  BString content, BString option, Object expectedDigest,
+                                  Object computedDigest) {
         return env.yieldAndRun(() -> {
             try {
                 byte[] bytes = content.getValue().getBytes(StandardCharsets.UTF_8);
+                verifyDigest(bytes, expectedDigest, computedDigest);
                 boolean append = WRITE_OPTION_APPEND.equals(option.getValue());
                 writeFileBytes(clientEndpoint, filePath.getValue(), bytes, append);
                 return null;
@@ -584,27 +1040,72 @@ public class SmbClient {
         }
     }
 
-    private static byte[] readFileAsBytes(BObject clientEndpoint, String filePath) throws IOException {
-        DiskShare share = retrieveShare(clientEndpoint);
-        Set<AccessMask> accessMask = new HashSet<>();
-        accessMask.add(AccessMask.GENERIC_READ);
-        File file = share.openFile(filePath, accessMask, null,
-                SMB2ShareAccess.ALL, SMB2CreateDisposition.FILE_OPEN, null);
-        InputStream inputStream = file.getInputStream();
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        byte[] buffer = new byte[ARRAY_SIZE];
-        int bytesRead;
-        while ((bytesRead = inputStream.read(buffer)) != -1) {
-            outputStream.write(buffer, 0, bytesRead);
+    private static byte[] readFileAsBytes(BObject clientEndpoint, String filePath, ContentDigest digest)
+            throws IOException {
+        try (File file = openFileForRead(clientEndpoint, filePath)) {
+            boolean isCompressed = getCompression(clientEndpoint).appliesTo(filePath);
+            AdmissionControl admission = getAdmissionControl(clientEndpoint);
+            long size = !isCompressed || admission != null ? getEndOfFile(file) : -1;
+            try (AdmissionControl.Permit permit = admission == null
+                    ? AdmissionControl.UNLIMITED : admission.admit(false, size)) {
+                if (!isCompressed) {
+                    return readFileExactly(file, size, digest);
+                }
+                try (InputStream content = decode(clientEndpoint, filePath, file.getInputStream());
+                     InputStream inputStream = digest == null ? content : digest.verifying(content);
+                     BufferPool.Lease<byte[]> lease = BufferPool.borrow(ARRAY_SIZE)) {
+                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                    byte[] buffer = lease.buffer();
+                    int bytesRead;
+                    while ((bytesRead = inputStream.read(buffer, 0, ARRAY_SIZE)) != -1) {
+                        outputStream.write(buffer, 0, bytesRead);
+                    }
+                    return outputStream.toByteArray();
+                }
+            }
         }
-        return outputStream.toByteArray();
+    }
+
+    private static long getEndOfFile(File file) {
+        return file.getFileInformation(FileStandardInformation.class).getEndOfFile();
+    }
+
+    /**
+     * Reads a whole file into an array of its exact size, allocated once. Each read request fills the next part
+     * of the array, up to the largest read the server allows. The file is read as long as it was when opened; if
+     * it is cut short meanwhile, the bytes that were there are returned.
+     */
+    private static byte[] readFileExactly(File file, long size, ContentDigest digest) throws IOException {
+        if (size > MAX_ARRAY_LENGTH) {
+            throw new IOException("The file is " + size + " bytes, which is more than an array can hold");
+        }
+        byte[] content = new byte[(int) size];
+        int maxReadSize = file.getDiskShare().getTreeConnect().getNegotiatedProtocol().getMaxReadSize();
+        int filled = 0;
+        while (filled < content.length) {
+            int bytesRead = file.read(content, filled, filled, Math.min(maxReadSize, content.length - filled));
+            if (bytesRead <= 0) {
+                content = Arrays.copyOf(content, filled);
+                break;
+            }
+            filled += bytesRead;
+        }
+        if (digest != null) {
+            digest.update(content, 0, content.length);
+            digest.verify();
+        }
+        return content;
     }
 
     private static void writeFileBytes(BObject clientEndpoint, String filePath,
                                        byte[] bytes, boolean append) throws IOException {
         DiskShare share = retrieveShare(clientEndpoint);
+        boolean preallocate = shouldPreallocate(clientEndpoint, filePath, bytes.length);
         Set<AccessMask> accessMask = new HashSet<>();
         accessMask.add(AccessMask.GENERIC_WRITE);
+        if (preallocate && append) {
+            accessMask.add(AccessMask.FILE_READ_ATTRIBUTES);
+        }
 
         Set<FileAttributes> fileAttributes = new HashSet<>();
         fileAttributes.add(FileAttributes.FILE_ATTRIBUTE_NORMAL);
@@ -612,19 +1113,44 @@ public class SmbClient {
         SMB2CreateDisposition disposition = append ?
                 SMB2CreateDisposition.FILE_OPEN_IF : SMB2CreateDisposition.FILE_OVERWRITE_IF;
 
-        try (File file = share.openFile(filePath, accessMask, fileAttributes, SMB2ShareAccess.ALL,
+        try (AdmissionControl.Permit permit = admit(clientEndpoint, true, bytes.length);
+             File file = share.openFile(filePath, accessMask, fileAttributes, SMB2ShareAccess.ALL,
                 disposition, EnumSet.noneOf(SMB2CreateOptions.class));
-             OutputStream outputStream = file.getOutputStream(append)) {
+             OutputStream outputStream = encode(clientEndpoint, filePath, file.getOutputStream(append))) {
+            if (preallocate) {
+                long initialLength = append ? getEndOfFile(file) : 0;
+                file.setFileInformation(new FileAllocationInformation(initialLength + bytes.length));
+            }
             outputStream.write(bytes);
             outputStream.flush();
         }
     }
 
-    private static void writeFileFromStream(BObject clientEndpoint, String filePath,
-                                            InputStream inputStream, boolean append) throws IOException {
+    /**
+     * Whether a write of a known size reserves the space of the file before it writes. Compressed content has no
+     * known size until it is written.
+     */
+    private static boolean shouldPreallocate(BObject clientEndpoint, String filePath, long length) {
+        Object preallocationThreshold = clientEndpoint.getNativeData(ENDPOINT_CONFIG_PREALLOCATION_THRESHOLD);
+        return preallocationThreshold instanceof Long threshold && threshold > 0 && length >= threshold
+                && !getCompression(clientEndpoint).appliesTo(filePath);
+    }
+
+    private static void writeFileFromStream(BObject clientEndpoint, String filePath, InputStream inputStream,
+                                            boolean append, ContentDigest digest) throws IOException {
         DiskShare share = retrieveShare(clientEndpoint);
+        // An overwrite checked against an expected digest is written next to the file, and replaces it only once the
+        // content matches, so a mismatch leaves the earlier content in place. A digest that is only computed is
+        // written as any other content.
+        boolean isChecked = digest != null && digest.hasExpected();
+        boolean isStaged = isChecked && !append;
+        String writePath = isStaged ? filePath + "." + UUID.randomUUID() + ".part" : filePath;
+        long initialLength = isChecked ? lengthBeforeWrite(share, filePath, append) : 0;
         Set<AccessMask> accessMask = new HashSet<>();
         accessMask.add(AccessMask.GENERIC_WRITE);
+        if (isStaged) {
+            accessMask.add(AccessMask.DELETE);
+        }
 
         Set<FileAttributes> fileAttributes = new HashSet<>();
         fileAttributes.add(FileAttributes.FILE_ATTRIBUTE_NORMAL);
@@ -633,15 +1159,82 @@ public class SmbClient {
                 SMB2CreateDisposition.FILE_OPEN_IF : SMB2CreateDisposition.FILE_OVERWRITE_IF;
 
         try (InputStream in = inputStream;
-             File file = share.openFile(filePath, accessMask, fileAttributes, SMB2ShareAccess.ALL,
-                disposition, EnumSet.noneOf(SMB2CreateOptions.class));
-             OutputStream outputStream = file.getOutputStream(append)) {
-            byte[] buffer = new byte[ARRAY_SIZE];
-            int bytesRead;
-            while ((bytesRead = in.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, bytesRead);
+             File file = share.openFile(writePath, accessMask, fileAttributes, SMB2ShareAccess.ALL,
+                disposition, EnumSet.noneOf(SMB2CreateOptions.class))) {
+            try (OutputStream outputStream = encode(clientEndpoint, filePath, file.getOutputStream(append));
+                 BufferPool.Lease<byte[]> lease = BufferPool.borrow(getBufferSize(clientEndpoint))) {
+                // The stream adapters fill each read completely, so every write below is a full buffer.
+                byte[] buffer = lease.buffer();
+                int bufferSize = getBufferSize(clientEndpoint);
+                int bytesRead;
+                while ((bytesRead = in.read(buffer, 0, bufferSize)) != -1) {
+                    if (digest != null) {
+                        digest.update(buffer, 0, bytesRead);
+                    }
+                    outputStream.write(buffer, 0, bytesRead);
+                }
+                outputStream.flush();
             }
-            outputStream.flush();
+            if (digest != null) {
+                digest.verify();
+            }
+            if (isStaged) {
+                file.rename(toSharePath(filePath), true);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (isChecked) {
+                try {
+                    discardWrite(share, writePath, initialLength);
+                } catch (RuntimeException discardError) {
+                    e.addSuppressed(discardError);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Converts a path to the form a rename request takes, relative to the root of the share with backslashes.
+     */
+    private static String toSharePath(String filePath) {
+        String path = filePath.replace('/', '\\');
+        int start = 0;
+        while (start < path.length() && path.charAt(start) == '\\') {
+            start++;
+        }
+        return path.substring(start);
+    }
+
+    private static void verifyDigest(byte[] content, Object expectedDigest, Object computedDigest)
+            throws IOException, NoSuchAlgorithmException {
+        ContentDigest digest = ContentDigest.from(expectedDigest, computedDigest);
+        if (digest != null) {
+            digest.update(content, 0, content.length);
+            digest.verify();
+        }
+    }
+
+    /**
+     * Gets the length a file written with a digest is restored to when the write fails or the content does not
+     * match, or -1 when the file is removed instead.
+     */
+    private static long lengthBeforeWrite(DiskShare share, String filePath, boolean append) {
+        if (!append || !share.fileExists(filePath)) {
+            return -1;
+        }
+        return share.getFileInformation(filePath).getStandardInformation().getEndOfFile();
+    }
+
+    private static void discardWrite(DiskShare share, String filePath, long initialLength) {
+        if (initialLength < 0) {
+            if (share.fileExists(filePath)) {
+                share.rm(filePath);
+            }
+            return;
+        }
+        try (File file = share.openFile(filePath, EnumSet.of(AccessMask.GENERIC_WRITE), null, SMB2ShareAccess.ALL,
+                SMB2CreateDisposition.FILE_OPEN, null)) {
+            file.setLength(initialLength);
         }
     }
 
@@ -895,7 +1488,7 @@ public class SmbClient {
 
     public static Object putJson(Environment env, BObject clientEndpoint, BString filePath, 
                                  BString content, BString option) {
-        return putText(env, clientEndpoint, filePath, content, option);
+        return putText(env, clientEndpoint, filePath, content, option, null, null);
     }
 
     public static Object putXml(Environment env, BObject clientEndpoint, BString filePath,
@@ -929,12 +1522,15 @@ public class SmbClient {
     }
 
     public static Object putBytesAsStream(Environment env, BObject clientEndpoint, BString filePath,
-                                           BStream inputContent, BString option) {
+                                           BStream inputContent, BString option, Object expectedDigest,
+                                           Object computedDigest) {
         return env.yieldAndRun(() -> {
             try {
-                InputStream stream = createInputStreamFromIterator(env, inputContent.getIteratorObj());
+                ContentDigest digest = ContentDigest.from(expectedDigest, computedDigest);
+                InputStream stream = createInputStreamFromIterator(env, clientEndpoint,
+                        inputContent.getIteratorObj(), false);
                 boolean append = WRITE_OPTION_APPEND.equals(option.getValue());
-                writeFileFromStream(clientEndpoint, filePath.getValue(), stream, append);
+                writeFileFromStream(clientEndpoint, filePath.getValue(), stream, append, digest);
                 return null;
             } catch (Exception e) {
                 return SmbUtil.createError(WRITE_FILE_ERROR + e.getMessage(), SMB_ERROR);
@@ -948,8 +1544,9 @@ public class SmbClient {
             try {
                 boolean append = WRITE_OPTION_APPEND.equals(option.getValue());
                 boolean addHeader = !append;
-                InputStream stream = createInputStreamFromIterator(env, inputContent.getIteratorObj(), addHeader);
-                writeFileFromStream(clientEndpoint, filePath.getValue(), stream, append);
+                InputStream stream = createInputStreamFromIterator(env, clientEndpoint,
+                        inputContent.getIteratorObj(), addHeader);
+                writeFileFromStream(clientEndpoint, filePath.getValue(), stream, append, null);
                 return null;
             } catch (Exception e) {
                 return SmbUtil.createError(WRITE_CSV_FILE_ERROR + e.getMessage(), SMB_ERROR);
@@ -957,29 +1554,29 @@ public class SmbClient {
         });
     }
 
-    private static InputStream createInputStreamFromIterator(Environment environment, BObject iterator) {
-        IteratorToInputStream streamIterator = new IteratorToInputStream(environment, iterator);
-        return new SequenceInputStream(asEnumeration(streamIterator));
+    public static Object putJsonLinesAsStream(Environment env, BObject clientEndpoint, BString filePath,
+                                              BStream inputContent, BString option) {
+        return env.yieldAndRun(() -> {
+            try {
+                InputStream stream = IteratorToInputStream.forJsonLines(env, inputContent.getIteratorObj(),
+                        getBufferSize(clientEndpoint));
+                boolean append = WRITE_OPTION_APPEND.equals(option.getValue());
+                writeFileFromStream(clientEndpoint, filePath.getValue(), stream, append, null);
+                return null;
+            } catch (Exception e) {
+                return SmbUtil.createError(WRITE_JSON_LINES_FILE_ERROR + e.getMessage(), SMB_ERROR);
+            }
+        });
     }
 
-    private static InputStream createInputStreamFromIterator(Environment environment, BObject iterator,
-                                                             boolean addHeader) {
-        IteratorToInputStream streamIterator = new IteratorToInputStream(environment, iterator, addHeader);
-        return new SequenceInputStream(asEnumeration(streamIterator));
+    private static InputStream createInputStreamFromIterator(Environment environment, BObject clientEndpoint,
+                                                             BObject iterator, boolean addHeader) {
+        return new IteratorToInputStream(environment, iterator, getBufferSize(clientEndpoint), addHeader);
     }
 
-    private static <T> Enumeration<T> asEnumeration(Iterator<T> iterator) {
-        return new Enumeration<T>() {
-            @Override
-            public boolean hasMoreElements() {
-                return iterator.hasNext();
-            }
-
-            @Override
-            public T nextElement() {
-                return iterator.next();
-            }
-        };
+    private static int getBufferSize(BObject clientEndpoint) {
+        Object bufferSize = clientEndpoint.getNativeData(ENDPOINT_CONFIG_BUFFER_SIZE);
+        return bufferSize instanceof Integer size && size > 0 ? size : ARRAY_SIZE;
     }
 
     private static byte[] readFileContentFromShare(DiskShare share, String filePath) throws IOException {
@@ -989,10 +1586,12 @@ public class SmbClient {
                 SMB2CreateDisposition.FILE_OPEN, null);
         InputStream inputStream = file.getInputStream();
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        byte[] buffer = new byte[ARRAY_SIZE];
-        int bytesRead;
-        while ((bytesRead = inputStream.read(buffer)) != -1) {
-            outputStream.write(buffer, 0, bytesRead);
+        try (BufferPool.Lease<byte[]> lease = BufferPool.borrow(ARRAY_SIZE)) {
+            byte[] buffer = lease.buffer();
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buffer, 0, ARRAY_SIZE)) != -1) {
+                outputStream.write(buffer, 0, bytesRead);
+            }
         }
         return outputStream.toByteArray();
     }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A temporary local file that a large file on the share is downloaded into, so that it can be parsed from a
+ * memory-mapped view instead of a heap array. The file is deleted when this is closed. A mapping is only released
+ * when it is garbage collected, so on platforms that do not delete mapped files the file is deleted on exit
+ * instead.
+ */
+final class SpillFile implements Closeable {
+
+    private static final long MAPPED_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final Path path;
+
+    private SpillFile(Path path) {
+        this.path = path;
+    }
+
+    static SpillFile create() throws IOException {
+        return new SpillFile(Files.createTempFile("smb-spill-", ".tmp"));
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * Opens the content of the file as a stream read from memory-mapped windows of the file.
+     *
+     * @return The content
+     * @throws IOException If the file cannot be opened
+     */
+    InputStream open() throws IOException {
+        return new MappedInputStream(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            path.toFile().deleteOnExit();
+        }
+    }
+
+    private static final class MappedInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private final long size;
+        private long position;
+        private MappedByteBuffer window;
+
+        MappedInputStream(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (window == null || !window.hasRemaining()) {
+                if (position >= size) {
+                    return -1;
+                }
+                long windowSize = Math.min(MAPPED_WINDOW_SIZE, size - position);
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+                position += windowSize;
+            }
+            int count = Math.min(length, window.remaining());
+            window.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            window = null;
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,394 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.client;
+
+import com.hierynomus.smbj.share.DiskShare;
+import io.ballerina.lib.smb.iterator.ByteIterator;
+import io.ballerina.lib.smb.util.ModuleUtils;
+import io.ballerina.lib.smb.util.SmbUtil;
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import static io.ballerina.lib.smb.client.SmbClient.SMB_ERROR;
+
+/**
+ * A ZIP archive on the share, read in place. The end of central directory record is found in one read of the end
+ * of the file, and the central directory in one more, or none when it was part of the first. The content of an
+ * entry is read from its local header onwards, so only the entries asked for cross the network. Entries may be
+ * stored or deflated, and ZIP64 archives are read; encrypted entries are not.
+ */
+public final class ZipArchive {
+
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_EOCD_SIGNATURE = 0x06064b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int EOCD_SIZE = 22;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int ZIP64_EOCD_SIZE = 56;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ENCRYPTED_FLAG = 0x0001;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+    private static final int READ_AHEAD_SIZE = 65536;
+    private static final int INFLATE_BUFFER_SIZE = 65536;
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+    private static final BString NAME = StringUtils.fromString("name");
+    private static final BString SIZE = StringUtils.fromString("size");
+    private static final BString COMPRESSED_SIZE = StringUtils.fromString("compressedSize");
+    private static final BString IS_DIRECTORY = StringUtils.fromString("isDirectory");
+    private static final String KEY_ARCHIVE = "archive";
+    private static final String ZIP_ARCHIVE = "ZipArchive";
+    private static final String ARCHIVE_ENTRY = "ArchiveEntry";
+
+    private final FileHandle handle;
+    private final Map<String, Entry> entries;
+
+    private ZipArchive(FileHandle handle, Map<String, Entry> entries) {
+        this.handle = handle;
+        this.entries = entries;
+    }
+
+    /**
+     * Opens a ZIP archive and reads its central directory.
+     *
+     * @param share The share the archive is on
+     * @param path  The path of the archive
+     * @return The {@code ZipArchive} object
+     * @throws IOException If the file is not a ZIP archive or cannot be read
+     */
+    static BObject open(DiskShare share, String path) throws IOException {
+        FileHandle handle = FileHandle.open(share, path, false, READ_AHEAD_SIZE);
+        ZipArchive archive;
+        try {
+            archive = new ZipArchive(handle, readCentralDirectory(handle));
+        } catch (IOException | RuntimeException e) {
+            handle.closeFile();
+            throw e;
+        }
+        BObject archiveObject = ValueCreator.createObjectValue(ModuleUtils.getModule(), ZIP_ARCHIVE);
+        archiveObject.addNativeData(KEY_ARCHIVE, archive);
+        return archiveObject;
+    }
+
+    public static Object entries(BObject archiveObject) {
+        ZipArchive archive = getArchive(archiveObject);
+        BMap<?, ?>[] records = new BMap[archive.entries.size()];
+        int index = 0;
+        for (Entry entry : archive.entries.values()) {
+            BMap<BString, Object> entryRecord = ValueCreator.createRecordValue(ModuleUtils.getModule(),
+                    ARCHIVE_ENTRY);
+            entryRecord.put(NAME, StringUtils.fromString(entry.name()));
+            entryRecord.put(SIZE, entry.size());
+            entryRecord.put(COMPRESSED_SIZE, entry.compressedSize());
+            entryRecord.put(IS_DIRECTORY, entry.name().endsWith("/"));
+            records[index++] = entryRecord;
+        }
+        ArrayType arrayType = TypeCreator.createArrayType(
+                TypeCreator.createRecordType(ARCHIVE_ENTRY, ModuleUtils.getModule(), 0, false, 0));
+        return ValueCreator.createArrayValue(records, arrayType);
+    }
+
+    public static Object getEntryAsStream(Environment env, BObject archiveObject, BString name) {
+        return env.yieldAndRun(() -> {
+            try {
+                return ByteIterator.createByteStream(getArchive(archiveObject).openEntry(name.getValue()));
+            } catch (Exception e) {
+                return SmbUtil.createError("Failed to read archive entry: " + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    public static Object close(Environment env, BObject archiveObject) {
+        return env.yieldAndRun(() -> {
+            try {
+                getArchive(archiveObject).handle.closeFile();
+                return null;
+            } catch (Exception e) {
+                return SmbUtil.createError("Failed to close archive: " + e.getMessage(), SMB_ERROR);
+            }
+        });
+    }
+
+    private static ZipArchive getArchive(BObject archiveObject) {
+        return (ZipArchive) archiveObject.getNativeData(KEY_ARCHIVE);
+    }
+
+    private static Map<String, Entry> readCentralDirectory(FileHandle handle) throws IOException {
+        long fileSize = handle.currentSize();
+        if (fileSize < EOCD_SIZE) {
+            throw new IOException("The file is not a ZIP archive");
+        }
+        int tailLength = (int) Math.min(fileSize, EOCD_SIZE + MAX_COMMENT_LENGTH);
+        long tailStart = fileSize - tailLength;
+        ByteBuffer tail = littleEndian(handle.readBytes(tailStart, tailLength));
+        int eocd = findEndOfCentralDirectory(tail);
+        long entryCount = tail.getShort(eocd + 10) & 0xFFFF;
+        long directorySize = tail.getInt(eocd + 12) & ZIP64_MAGIC;
+        long directoryOffset = tail.getInt(eocd + 16) & ZIP64_MAGIC;
+        if (entryCount == 0xFFFF || directorySize == ZIP64_MAGIC || directoryOffset == ZIP64_MAGIC) {
+            ByteBuffer locator = littleEndian(read(handle, tail, tailStart, tailStart + eocd - ZIP64_LOCATOR_SIZE,
+                    ZIP64_LOCATOR_SIZE));
+            if (locator.getInt(0) != ZIP64_LOCATOR_SIGNATURE) {
+                throw new IOException("The ZIP64 end of central directory locator is missing");
+            }
+            ByteBuffer zip64Eocd = littleEndian(read(handle, tail, tailStart, locator.getLong(8), ZIP64_EOCD_SIZE));
+            if (zip64Eocd.getInt(0) != ZIP64_EOCD_SIGNATURE) {
+                throw new IOException("The ZIP64 end of central directory record is missing");
+            }
+            entryCount = zip64Eocd.getLong(32);
+            directorySize = zip64Eocd.getLong(40);
+            directoryOffset = zip64Eocd.getLong(48);
+        }
+        if (directorySize > MAX_ARRAY_LENGTH || directoryOffset + directorySize > fileSize) {
+            throw new IOException("The central directory is not within the file");
+        }
+        ByteBuffer directory = littleEndian(read(handle, tail, tailStart, directoryOffset, (int) directorySize));
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        int position = 0;
+        for (long i = 0; i < entryCount; i++) {
+            Entry entry = readCentralHeader(directory, position);
+            entries.putIfAbsent(entry.name(), entry);
+            position += CENTRAL_HEADER_SIZE + (directory.getShort(position + 28) & 0xFFFF)
+                    + (directory.getShort(position + 30) & 0xFFFF) + (directory.getShort(position + 32) & 0xFFFF);
+        }
+        return entries;
+    }
+
+    private static int findEndOfCentralDirectory(ByteBuffer tail) throws IOException {
+        // The record ends with a comment of its own length, so the last record whose comment reaches the end of the
+        // file is the real one, and not a signature that happens to be in a comment.
+        for (int position = tail.limit() - EOCD_SIZE; position >= 0; position--) {
+            if (tail.getInt(position) == EOCD_SIGNATURE
+                    && position + EOCD_SIZE + (tail.getShort(position + 20) & 0xFFFF) == tail.limit()) {
+                return position;
+            }
+        }
+        throw new IOException("The file is not a ZIP archive");
+    }
+
+    private static Entry readCentralHeader(ByteBuffer directory, int position) throws IOException {
+        if (position + CENTRAL_HEADER_SIZE > directory.limit()
+                || directory.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+            throw new IOException("The central directory is damaged");
+        }
+        int flags = directory.getShort(position + 8) & 0xFFFF;
+        int method = directory.getShort(position + 10) & 0xFFFF;
+        long crc = directory.getInt(position + 16) & ZIP64_MAGIC;
+        long compressedSize = directory.getInt(position + 20) & ZIP64_MAGIC;
+        long size = directory.getInt(position + 24) & ZIP64_MAGIC;
+        int nameLength = directory.getShort(position + 28) & 0xFFFF;
+        int extraLength = directory.getShort(position + 30) & 0xFFFF;
+        long localHeaderOffset = directory.getInt(position + 42) & ZIP64_MAGIC;
+        int nameStart = position + CENTRAL_HEADER_SIZE;
+        if (nameStart + nameLength + extraLength > directory.limit()) {
+            throw new IOException("The central directory is damaged");
+        }
+        String name = new String(directory.array(), nameStart, nameLength, StandardCharsets.UTF_8);
+        // The ZIP64 extra field holds, in this order, the values whose 32-bit fields are all ones.
+        int extra = nameStart + nameLength;
+        int extraEnd = extra + extraLength;
+        while (extra + 4 <= extraEnd) {
+            int id = directory.getShort(extra) & 0xFFFF;
+            int dataSize = directory.getShort(extra + 2) & 0xFFFF;
+            int field = extra + 4;
+            if (id == ZIP64_EXTRA_ID) {
+                if (size == ZIP64_MAGIC && field + 8 <= extraEnd) {
+                    size = directory.getLong(field);
+                    field += 8;
+                }
+                if (compressedSize == ZIP64_MAGIC && field + 8 <= extraEnd) {
+                    compressedSize = directory.getLong(field);
+                    field += 8;
+                }
+                if (localHeaderOffset == ZIP64_MAGIC && field + 8 <= extraEnd) {
+                    localHeaderOffset = directory.getLong(field);
+                }
+                break;
+            }
+            extra = field + dataSize;
+        }
+        return new Entry(name, size, compressedSize, method, flags, crc, localHeaderOffset);
+    }
+
+    /**
+     * Reads a part of the file, taking it from the tail already read when it is there.
+     */
+    private static byte[] read(FileHandle handle, ByteBuffer tail, long tailStart, long offset, int length)
+            throws IOException {
+        if (offset < 0) {
+            throw new IOException("The archive is damaged");
+        }
+        byte[] content = new byte[length];
+        if (offset >= tailStart && offset + length <= tailStart + tail.limit()) {
+            System.arraycopy(tail.array(), (int) (offset - tailStart), content, 0, length);
+        } else if (handle.readAt(offset, content, 0, length) < length) {
+            throw new IOException("The archive is truncated");
+        }
+        return content;
+    }
+
+    private static ByteBuffer littleEndian(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private InputStream openEntry(String name) throws IOException {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            throw new IOException("The archive has no entry named " + name);
+        }
+        if ((entry.flags() & ENCRYPTED_FLAG) != 0) {
+            throw new IOException("The entry " + name + " is encrypted");
+        }
+        if (entry.method() != STORED && entry.method() != DEFLATED) {
+            throw new IOException("The entry " + name + " uses compression method " + entry.method()
+                    + ", which is not supported");
+        }
+        ByteBuffer localHeader = littleEndian(handle.readBytes(entry.localHeaderOffset(), LOCAL_HEADER_SIZE));
+        if (localHeader.limit() < LOCAL_HEADER_SIZE || localHeader.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new IOException("The local header of the entry " + name + " is damaged");
+        }
+        long dataStart = entry.localHeaderOffset() + LOCAL_HEADER_SIZE + (localHeader.getShort(26) & 0xFFFF)
+                + (localHeader.getShort(28) & 0xFFFF);
+        InputStream data = new RangeInputStream(dataStart, entry.compressedSize(), entry.method() == DEFLATED);
+        if (entry.method() == DEFLATED) {
+            data = new InflaterInputStream(data, new Inflater(true), INFLATE_BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inf.end();
+                    }
+                }
+            };
+        }
+        return new VerifyingInputStream(data, entry);
+    }
+
+    /**
+     * An entry of the central directory.
+     */
+    private record Entry(String name, long size, long compressedSize, int method, int flags, long crc,
+                         long localHeaderOffset) {
+    }
+
+    /**
+     * The bytes of one entry's data, read through the archive's handle. A raw deflate stream is followed by one
+     * extra zero byte, which the inflater may need to see the end of the stream.
+     */
+    private final class RangeInputStream extends InputStream {
+
+        private long position;
+        private final long end;
+        private boolean padded;
+
+        RangeInputStream(long start, long length, boolean pad) {
+            this.position = start;
+            this.end = start + length;
+            this.padded = !pad;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= end) {
+                if (padded) {
+                    return -1;
+                }
+                padded = true;
+                buffer[offset] = 0;
+                return 1;
+            }
+            int count = handle.readAt(position, buffer, offset, (int) Math.min(length, end - position));
+            if (count == 0) {
+                throw new IOException("The archive is truncated");
+            }
+            position += count;
+            return count;
+        }
+    }
+
+    /**
+     * Checks the size and CRC-32 of an entry's content once it has all been read.
+     */
+    private static final class VerifyingInputStream extends FilterInputStream {
+
+        private final Entry entry;
+        private final CRC32 crc = new CRC32();
+        private long count;
+
+        VerifyingInputStream(InputStream in, Entry entry) {
+            super(in);
+            this.entry = entry;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int bytesRead = in.read(buffer, offset, length);
+            if (bytesRead == -1) {
+                if (count != entry.size() || crc.getValue() != entry.crc()) {
+                    throw new IOException("The content of the entry " + entry.name()
+                            + " does not match the size and CRC-32 in the archive");
+                }
+                return -1;
+            }
+            crc.update(buffer, offset, bytesRead);
+            count += bytesRead;
+            return bytesRead;
+        }
+    }
+}
@@ -43,6 +43,7 @@ public class ByteIterator {
     public static final String NATIVE_INPUT_STREAM = "nativeInputStream";
     public static final String NATIVE_LAX_DATA_BINDING = "nativeLaxDataBinding";
     public static final String NATIVE_STREAM_VALUE_TYPE = "nativeStreamValueType";
+    public static final String NATIVE_CHUNK_SIZE = "nativeChunkSize";
     public static final int ARRAY_SIZE = 65536;
     public static final BString FIELD_VALUE = StringUtils.fromString("value");
     public static final BString IS_CLOSED = StringUtils.fromString("isClosed");
@@ -75,16 +76,20 @@ public class ByteIterator {
 
         BMap<BString, Object> streamEntry = ValueCreator
                 .createRecordValue(ModuleUtils.getModule(), "ContentStreamEntry");
+        Object chunkSizeValue = recordIterator.getNativeData(NATIVE_CHUNK_SIZE);
+        int chunkSize = chunkSizeValue instanceof Integer size ? size : ARRAY_SIZE;
+        // Each chunk is filled in an array of its own, which the consumer keeps, so a full chunk is handed over as
+        // it is and only a short last chunk is copied to its exact size.
         try {
-            byte[] buffer = new byte[ARRAY_SIZE];
-            int readNumber = inputStream.read(buffer);
-            if (readNumber == -1) {
+            byte[] chunk = new byte[chunkSize];
+            int readNumber = inputStream.readNBytes(chunk, 0, chunkSize);
+            if (readNumber == 0) {
                 inputStream.close();
                 recordIterator.set(IS_CLOSED, true);
                 return null;
             }
-            byte[] returnArray = (readNumber < ARRAY_SIZE) ? Arrays.copyOfRange(buffer, 0, readNumber) : buffer;
-            streamEntry.put(FIELD_VALUE, ValueCreator.createArrayValue(returnArray));
+            streamEntry.put(FIELD_VALUE, ValueCreator.createArrayValue(readNumber == chunkSize ? chunk
+                    : Arrays.copyOf(chunk, readNumber)));
             return streamEntry;
         } catch (IOException e) {
             return SmbUtil.createError("Unable to read byte stream: " + e.getMessage(), SMB_ERROR);
@@ -20,10 +20,12 @@ package io.ballerina.lib.smb.iterator;
 
 import io.ballerina.lib.data.csvdata.csv.Native;
 import io.ballerina.lib.data.csvdata.utils.ModuleUtils;
+import io.ballerina.lib.smb.util.CsvProjection;
 import io.ballerina.lib.smb.util.SmbUtil;
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
 import io.ballerina.runtime.api.types.PredefinedTypes;
 import io.ballerina.runtime.api.types.StreamType;
 import io.ballerina.runtime.api.types.Type;
@@ -35,11 +37,14 @@ import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.function.Function;
 
 import static io.ballerina.lib.smb.client.SmbClient.SMB_ERROR;
+import static io.ballerina.lib.smb.iterator.ByteIterator.ARRAY_SIZE;
 import static io.ballerina.lib.smb.iterator.ByteIterator.NATIVE_INPUT_STREAM;
 import static io.ballerina.lib.smb.iterator.ByteIterator.NATIVE_LAX_DATA_BINDING;
 import static io.ballerina.lib.smb.iterator.ByteIterator.NATIVE_STREAM_VALUE_TYPE;
@@ -51,6 +56,10 @@ public class CsvIterator {
     private static final String KEY_INDEX = "index";
     private static final String KEY_DATA = "data";
     private static final String KEY_LENGTH = "length";
+    private static final String KEY_READER = "reader";
+    private static final String KEY_PARSE_OPTIONS = "parseOptions";
+    private static final String KEY_TARGET_TYPE = "targetType";
+    private static final String KEY_PROJECTION = "projection";
     private static final String REC_STRING_ARRAY_ENTRY = "ContentCsvStringArrayStreamEntry";
     private static final String REC_RECORD_ENTRY = "ContentCsvRecordStreamEntry";
     private static final BString IS_CLOSED = StringUtils.fromString("isClosed");
@@ -68,12 +77,27 @@ public class CsvIterator {
      * @return A Ballerina stream value
      */
     public static Object createStringArrayStream(InputStream content, Type streamValueType, boolean laxDataBinding) {
+        return createStringArrayStream(content, streamValueType, laxDataBinding, null);
+    }
+
+    /**
+     * Creates a string array stream from CSV content, keeping only the columns and rows selected by a projection.
+     *
+     * @param content         The input stream containing CSV data
+     * @param streamValueType The expected element type
+     * @param laxDataBinding  Whether to use lax data binding
+     * @param projection      The columns and rows to keep, or null to keep all
+     * @return A Ballerina stream value
+     */
+    public static Object createStringArrayStream(InputStream content, Type streamValueType, boolean laxDataBinding,
+                                                 CsvProjection projection) {
         BObject contentCsvStreamObject = ValueCreator.createObjectValue(
                 io.ballerina.lib.smb.util.ModuleUtils.getModule(), "ContentCsvStringArrayStream", null, null
         );
         contentCsvStreamObject.addNativeData(NATIVE_INPUT_STREAM, content);
         contentCsvStreamObject.addNativeData(NATIVE_LAX_DATA_BINDING, laxDataBinding);
         contentCsvStreamObject.addNativeData(NATIVE_STREAM_VALUE_TYPE, streamValueType);
+        contentCsvStreamObject.addNativeData(KEY_PROJECTION, projection);
         StreamType streamType = TypeCreator.createStreamType(streamValueType,
                 TypeCreator.createUnionType(PredefinedTypes.TYPE_ERROR, PredefinedTypes.TYPE_NULL));
         return ValueCreator.createStreamValue(streamType, contentCsvStreamObject);
@@ -88,20 +112,66 @@ public class CsvIterator {
      * @return A Ballerina stream value
      */
     public static Object createRecordStream(InputStream content, Type streamValueType, boolean laxDataBinding) {
+        return createRecordStream(content, streamValueType, laxDataBinding, null);
+    }
+
+    /**
+     * Creates a record stream from CSV content, keeping only the columns and rows selected by a projection.
+     *
+     * @param content         The input stream containing CSV data
+     * @param streamValueType The expected element type
+     * @param laxDataBinding  Whether to use lax data binding
+     * @param projection      The columns and rows to keep, or null to keep all
+     * @return A Ballerina stream value
+     */
+    public static Object createRecordStream(InputStream content, Type streamValueType, boolean laxDataBinding,
+                                            CsvProjection projection) {
         BObject contentCsvStreamObject = ValueCreator.createObjectValue(
                 io.ballerina.lib.smb.util.ModuleUtils.getModule(), "ContentCsvRecordStream", null, null
         );
         contentCsvStreamObject.addNativeData(NATIVE_INPUT_STREAM, content);
         contentCsvStreamObject.addNativeData(NATIVE_LAX_DATA_BINDING, laxDataBinding);
         contentCsvStreamObject.addNativeData(NATIVE_STREAM_VALUE_TYPE, streamValueType);
+        contentCsvStreamObject.addNativeData(KEY_PROJECTION, projection);
         StreamType streamType = TypeCreator.createStreamType(streamValueType,
                 TypeCreator.createUnionType(PredefinedTypes.TYPE_ERROR, PredefinedTypes.TYPE_NULL));
         return ValueCreator.createStreamValue(streamType, contentCsvStreamObject);
     }
 
+    /**
+     * Binds all the CSV content of a source into one array, a batch of records at a time, so only one chunk of
+     * the raw content is held in memory alongside the bound values.
+     *
+     * @param content    The input stream containing CSV data
+     * @param chunkSize  The size of the chunks the content is read in
+     * @param resultType The type of the array returned
+     * @param bindBatch  Binds the CSV content of one batch, which starts with the header row, to an array or an
+     *                   error
+     * @return The bound values, or the error of the first batch that could not be bound
+     * @throws IOException If reading the content fails
+     */
+    public static Object bindAll(InputStream content, int chunkSize, ArrayType resultType,
+                                 Function<byte[], Object> bindBatch) throws IOException {
+        BArray result = ValueCreator.createArrayValue(resultType);
+        try (CsvRecordReader reader = new CsvRecordReader(content, chunkSize)) {
+            byte[] batch;
+            while ((batch = reader.nextBatch()) != null) {
+                Object bound = bindBatch.apply(batch);
+                if (!(bound instanceof BArray values)) {
+                    return bound;
+                }
+                for (long i = 0; i < values.getLength(); i++) {
+                    result.append(values.get(i));
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Gets the next CSV row from the stream.
-     * This method is called by Ballerina runtime when iterating the stream.
+     * This method is called by Ballerina runtime when iterating the stream. The content is read a chunk at
+     * a time, and the complete records of a chunk are bound when the rows of the previous chunk run out.
      *
      * @param environment    The Ballerina runtime environment
      * @param recordIterator The iterator object
@@ -110,75 +180,90 @@ public class CsvIterator {
     public static Object next(Environment environment, BObject recordIterator) {
         final Type elementType = (Type) recordIterator.getNativeData(NATIVE_STREAM_VALUE_TYPE);
         final String recordTypeName = resolveRecordTypeName(elementType);
-        final BMap<BString, Object> streamEntry =
-                ValueCreator.createRecordValue(io.ballerina.lib.smb.util.ModuleUtils.getModule(), recordTypeName);
-
-        Object dataIndex = recordIterator.getNativeData(KEY_INDEX);
-        if (dataIndex == null) {
-            final InputStream inputStream = (InputStream) recordIterator.getNativeData(NATIVE_INPUT_STREAM);
-            if (inputStream == null) {
-                recordIterator.set(IS_CLOSED, true);
-                return SmbUtil.createError("Input stream is not available", SMB_ERROR);
-            }
-            try {
-                byte[] bytes = inputStream.readAllBytes();
-                inputStream.close();
-                boolean laxDataBinding = (boolean) recordIterator.getNativeData(NATIVE_LAX_DATA_BINDING);
-
-                BMap<BString, Object> parseOptions =
-                        ValueCreator.createRecordValue(ModuleUtils.getModule(), "ParseOptions");
-                parseOptions.put(StringUtils.fromString("allowDataProjection"), laxDataBinding);
-                Object parsed = Native.parseBytes(environment, ValueCreator.createArrayValue(bytes),
-                        parseOptions, ValueCreator.createTypedescValue(TypeCreator.createArrayType(elementType)));
 
+        BArray dataArray = (BArray) recordIterator.getNativeData(KEY_DATA);
+        int index = dataArray == null ? 0 : (int) recordIterator.getNativeData(KEY_INDEX);
+        long length = dataArray == null ? 0 : (Long) recordIterator.getNativeData(KEY_LENGTH);
+        try {
+            while (index >= length) {
+                CsvRecordReader reader = getReader(recordIterator);
+                if (reader == null) {
+                    recordIterator.set(IS_CLOSED, true);
+                    return SmbUtil.createError("Input stream is not available", SMB_ERROR);
+                }
+                byte[] batch = reader.nextBatch();
+                if (batch == null) {
+                    reader.close();
+                    recordIterator.set(IS_CLOSED, true);
+                    return null;
+                }
+                // Each batch starts with the header row, so the projection applies to batches one by one.
+                CsvProjection projection = (CsvProjection) recordIterator.getNativeData(KEY_PROJECTION);
+                if (projection != null) {
+                    batch = projection.apply(batch);
+                }
+                Object parsed = parseBatch(environment, recordIterator, elementType, batch);
                 if (TypeUtils.getType(parsed).getTag() == TypeTags.ERROR_TAG) {
+                    reader.close();
                     recordIterator.set(IS_CLOSED, true);
                     return SmbUtil.createError(((BError) parsed).getErrorMessage().getValue(), SMB_ERROR);
                 }
-
                 if (!(TypeUtils.getType(parsed).getTag() == TypeTags.ARRAY_TAG)) {
+                    reader.close();
                     recordIterator.set(IS_CLOSED, true);
                     return SmbUtil.createError("Unexpected parse result type", SMB_ERROR);
                 }
-
-                BArray dataArray = (BArray) parsed;
-                long length = dataArray.getLength();
-                if (length == 0) {
-                    recordIterator.set(IS_CLOSED, true);
-                    return null;
-                }
+                dataArray = (BArray) parsed;
+                index = 0;
+                length = dataArray.getLength();
                 recordIterator.addNativeData(KEY_DATA, dataArray);
-                recordIterator.addNativeData(KEY_INDEX, 1);
                 recordIterator.addNativeData(KEY_LENGTH, length);
-
-                streamEntry.put(FIELD_VALUE, dataArray.get(0));
-                return streamEntry;
-            } catch (IOException exception) {
-                recordIterator.set(IS_CLOSED, true);
-                return SmbUtil.createError("Unable to read input stream: " + exception.getMessage(), SMB_ERROR);
-            } catch (Throwable throwable) {
-                recordIterator.set(IS_CLOSED, true);
-                return SmbUtil.createError("CSV parsing failed: " + throwable.getMessage(), SMB_ERROR);
             }
-        }
-        int index = (int) dataIndex;
-        long count = (Long) recordIterator.getNativeData(KEY_LENGTH);
-        if (index >= count) {
+        } catch (IOException exception) {
             recordIterator.set(IS_CLOSED, true);
-            return null;
-        }
-
-        BArray dataArray = (BArray) recordIterator.getNativeData(KEY_DATA);
-        if (dataArray == null) {
+            return SmbUtil.createError("Unable to read input stream: " + exception.getMessage(), SMB_ERROR);
+        } catch (Throwable throwable) {
             recordIterator.set(IS_CLOSED, true);
-            return SmbUtil.createError("Iterator state corrupted: data is missing", SMB_ERROR);
+            return SmbUtil.createError("CSV parsing failed: " + throwable.getMessage(), SMB_ERROR);
         }
 
         recordIterator.addNativeData(KEY_INDEX, index + 1);
+        final BMap<BString, Object> streamEntry =
+                ValueCreator.createRecordValue(io.ballerina.lib.smb.util.ModuleUtils.getModule(), recordTypeName);
         streamEntry.put(FIELD_VALUE, dataArray.get(index));
         return streamEntry;
     }
 
+    private static CsvRecordReader getReader(BObject recordIterator) {
+        Object reader = recordIterator.getNativeData(KEY_READER);
+        if (reader != null) {
+            return (CsvRecordReader) reader;
+        }
+        InputStream inputStream = (InputStream) recordIterator.getNativeData(NATIVE_INPUT_STREAM);
+        if (inputStream == null) {
+            return null;
+        }
+        CsvRecordReader recordReader = new CsvRecordReader(inputStream, ARRAY_SIZE);
+        recordIterator.addNativeData(KEY_READER, recordReader);
+        return recordReader;
+    }
+
+    private static Object parseBatch(Environment environment, BObject recordIterator, Type elementType,
+                                     byte[] batch) {
+        @SuppressWarnings("unchecked")
+        BMap<BString, Object> parseOptions = (BMap<BString, Object>) recordIterator.getNativeData(KEY_PARSE_OPTIONS);
+        BTypedesc targetType = (BTypedesc) recordIterator.getNativeData(KEY_TARGET_TYPE);
+        if (parseOptions == null) {
+            boolean laxDataBinding = (boolean) recordIterator.getNativeData(NATIVE_LAX_DATA_BINDING);
+            parseOptions = ValueCreator.createRecordValue(ModuleUtils.getModule(), "ParseOptions");
+            parseOptions.put(StringUtils.fromString("allowDataProjection"), laxDataBinding);
+            targetType = ValueCreator.createTypedescValue(TypeCreator.createArrayType(elementType));
+            recordIterator.addNativeData(KEY_PARSE_OPTIONS, parseOptions);
+            recordIterator.addNativeData(KEY_TARGET_TYPE, targetType);
+        }
+        return Native.parseBytes(environment, ValueCreator.createArrayValue(batch), parseOptions, targetType);
+    }
+
     /**
      * Closes the stream iterator.
      *
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.iterator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reads CSV content in chunks and hands out the complete records of each chunk as one batch.
+ * A record ends at a line feed outside a quoted field, so a quoted field with line breaks, or a record
+ * that spans two chunks, is kept whole. The bytes after the last complete record are carried over to
+ * the next chunk. Every batch after the first starts with the header row, so each batch can be bound
+ * on its own the way the whole file would be.
+ */
+final class CsvRecordReader implements Closeable {
+
+    private static final byte QUOTE = '"';
+    private static final byte ESCAPE = '\\';
+    private static final byte LINE_FEED = '\n';
+
+    private final InputStream source;
+    private byte[] buffer;
+    private int length;
+    private int scanned;
+    private int recordsEnd;
+    private boolean inQuotes;
+    private boolean isEscaped;
+    private boolean isEndOfInput;
+    private byte[] header;
+
+    CsvRecordReader(InputStream source, int chunkSize) {
+        this.source = source;
+        this.buffer = new byte[Math.max(chunkSize, 1)];
+    }
+
+    /**
+     * Reads the next batch of complete records. The buffer only grows beyond the chunk size when a
+     * single record is larger than a chunk.
+     *
+     * @return The CSV content of the batch, or null when the content is exhausted
+     * @throws IOException If reading the source fails
+     */
+    byte[] nextBatch() throws IOException {
+        while (true) {
+            scanRecords();
+            if (recordsEnd > 0 || (isEndOfInput && length > 0)) {
+                byte[] batch = takeRecords(recordsEnd > 0 ? recordsEnd : length);
+                if (batch != null) {
+                    return batch;
+                }
+            } else if (isEndOfInput) {
+                return null;
+            } else {
+                fill();
+            }
+        }
+    }
+
+    private void fill() throws IOException {
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int requested = buffer.length - length;
+        int read = source.readNBytes(buffer, length, requested);
+        length += read;
+        isEndOfInput = read < requested;
+    }
+
+    private void scanRecords() {
+        for (int i = scanned; i < length; i++) {
+            byte current = buffer[i];
+            if (isEscaped) {
+                isEscaped = false;
+            } else if (inQuotes) {
+                if (current == ESCAPE) {
+                    isEscaped = true;
+                } else if (current == QUOTE) {
+                    inQuotes = false;
+                }
+            } else if (current == QUOTE) {
+                inQuotes = true;
+            } else if (current == LINE_FEED) {
+                recordsEnd = i + 1;
+            }
+        }
+        scanned = length;
+    }
+
+    /**
+     * Removes the first {@code end} bytes from the buffer and returns them as a batch.
+     *
+     * @return The batch, or null if the bytes only hold the blank lines before the header row
+     */
+    private byte[] takeRecords(int end) {
+        byte[] batch;
+        if (header == null) {
+            header = findHeader(end);
+            batch = header == null ? null : Arrays.copyOf(buffer, end);
+        } else {
+            batch = new byte[header.length + end];
+            System.arraycopy(header, 0, batch, 0, header.length);
+            System.arraycopy(buffer, 0, batch, header.length, end);
+        }
+        System.arraycopy(buffer, end, buffer, 0, length - end);
+        length -= end;
+        scanned -= end;
+        recordsEnd = 0;
+        return batch;
+    }
+
+    /**
+     * Finds the first record with content among the first {@code end} bytes, ending it with a line feed.
+     *
+     * @return The header row, or null if the bytes only hold blank lines
+     */
+    private byte[] findHeader(int end) {
+        boolean quoted = false;
+        boolean escaped = false;
+        boolean hasContent = false;
+        int recordStart = 0;
+        for (int i = 0; i < end; i++) {
+            byte current = buffer[i];
+            if (escaped) {
+                escaped = false;
+            } else if (quoted) {
+                if (current == ESCAPE) {
+                    escaped = true;
+                } else if (current == QUOTE) {
+                    quoted = false;
+                }
+            } else if (current == QUOTE) {
+                quoted = true;
+            } else if (current == LINE_FEED) {
+                if (hasContent) {
+                    return Arrays.copyOfRange(buffer, recordStart, i + 1);
+                }
+                recordStart = i + 1;
+                continue;
+            }
+            hasContent |= !Character.isWhitespace(current);
+        }
+        if (!hasContent) {
+            return null;
+        }
+        byte[] lastRecord = Arrays.copyOfRange(buffer, recordStart, end + 1);
+        lastRecord[lastRecord.length - 1] = LINE_FEED;
+        return lastRecord;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+}
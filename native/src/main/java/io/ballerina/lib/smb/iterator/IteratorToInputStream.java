@@ -19,70 +19,153 @@
 package io.ballerina.lib.smb.iterator;
 
 import io.ballerina.lib.smb.util.CSVUtils;
+import io.ballerina.lib.smb.util.CsvSerializationPlan;
 import io.ballerina.lib.smb.util.SmbUtil;
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.types.TypeTags;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.Iterator;
-import java.util.NoSuchElementException;
 
 import static io.ballerina.lib.smb.client.SmbClient.SMB_ERROR;
 
 /**
- * Converts a Ballerina stream iterator into a Java {@link Iterator} of {@link InputStream}s.
- * Each element produced by the Ballerina iterator is converted to bytes and wrapped in a
- * {@link ByteArrayInputStream}.
+ * Reads the elements of a Ballerina stream as one continuous {@link InputStream}.
+ * Elements are pulled from the Ballerina iterator only when a read needs more bytes, and a read is filled
+ * across as many elements as fit, so a writer reading in chunks of the write size issues full writes.
+ * CSV rows, or the lines of JSON Lines content, are gathered in a reused buffer until it holds at least
+ * {@code chunkSize} characters and are then encoded together.
  */
-public final class IteratorToInputStream implements Iterator<InputStream> {
+public final class IteratorToInputStream extends InputStream {
 
     private static final BString FIELD_VALUE = StringUtils.fromString("value");
+    private static final byte[] EMPTY = new byte[0];
     private final Environment env;
     private final BObject iterator;
-    private InputStream nextStream;
-    private boolean hasChecked;
+    private final int chunkSize;
+    private final StringBuilder rowBuffer = new StringBuilder();
+    private byte[] chunk = EMPTY;
+    private int position;
+    private final boolean isJsonLines;
     private boolean isFirstRow;
+    private boolean isExhausted;
 
-    public IteratorToInputStream(Environment env, BObject iterator) {
-        this(env, iterator, true);
+    public IteratorToInputStream(Environment env, BObject iterator, int chunkSize) {
+        this(env, iterator, chunkSize, true);
     }
 
-    public IteratorToInputStream(Environment env, BObject iterator, boolean addHeader) {
+    public IteratorToInputStream(Environment env, BObject iterator, int chunkSize, boolean addHeader) {
+        this(env, iterator, chunkSize, addHeader, false);
+    }
+
+    private IteratorToInputStream(Environment env, BObject iterator, int chunkSize, boolean addHeader,
+                                  boolean isJsonLines) {
         this.env = env;
         this.iterator = iterator;
+        this.chunkSize = Math.max(chunkSize, 1);
         this.isFirstRow = addHeader;
+        this.isJsonLines = isJsonLines;
+    }
+
+    /**
+     * Creates a stream that writes each element of a stream of JSON values as one line of JSON Lines content.
+     *
+     * @param env       The Ballerina runtime environment
+     * @param iterator  The iterator of the stream of JSON values
+     * @param chunkSize The number of characters to gather before encoding
+     * @return The input stream
+     */
+    public static IteratorToInputStream forJsonLines(Environment env, BObject iterator, int chunkSize) {
+        return new IteratorToInputStream(env, iterator, chunkSize, false, true);
+    }
+
+    @Override
+    public int read() {
+        while (position == chunk.length) {
+            if (!fillChunk()) {
+                return -1;
+            }
+        }
+        return chunk[position++] & 0xFF;
     }
 
     @Override
-    public boolean hasNext() {
-        if (hasChecked) {
-            return nextStream != null;
+    public int read(byte[] buffer, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        int copied = 0;
+        while (copied < length) {
+            if (position == chunk.length && !fillChunk()) {
+                break;
+            }
+            int count = Math.min(length - copied, chunk.length - position);
+            System.arraycopy(chunk, position, buffer, offset + copied, count);
+            position += count;
+            copied += count;
         }
-        nextStream = fetchNextStream();
-        hasChecked = true;
-        return nextStream != null;
+        return copied == 0 ? -1 : copied;
     }
 
     @Override
-    public InputStream next() {
-        if (!hasChecked && !hasNext()) {
-            throw new NoSuchElementException();
+    public int available() {
+        return chunk.length - position;
+    }
+
+    /**
+     * Replaces the drained chunk with the next one. A byte array element becomes a chunk of its own, as it
+     * is already encoded; CSV rows and JSON lines are appended to the row buffer until it reaches the chunk
+     * size, or until a byte array element or the end of the stream is reached.
+     *
+     * @return false if the stream has no more elements
+     */
+    private boolean fillChunk() {
+        rowBuffer.setLength(0);
+        while (!isExhausted && rowBuffer.length() < chunkSize) {
+            BMap<BString, Object> entry = fetchNextEntry();
+            if (entry == null) {
+                isExhausted = true;
+                break;
+            }
+            Object value = entry.get(FIELD_VALUE);
+            if (isJsonLines) {
+                // A JSON string escapes its line breaks, so each value stays on one line.
+                rowBuffer.append(value == null ? "null" : StringUtils.getJsonString(value)).append('\n');
+            } else if (value instanceof BArray array && array.getElementType().getTag() == TypeTags.BYTE_TAG) {
+                if (rowBuffer.isEmpty()) {
+                    return setChunk(array.getBytes());
+                }
+                // Keep the order: emit the rows gathered so far, then the bytes.
+                byte[] rows = rowBuffer.toString().getBytes(StandardCharsets.UTF_8);
+                byte[] bytes = array.getBytes();
+                byte[] combined = new byte[rows.length + bytes.length];
+                System.arraycopy(rows, 0, combined, 0, rows.length);
+                System.arraycopy(bytes, 0, combined, rows.length, bytes.length);
+                return setChunk(combined);
+            } else {
+                appendRow(value);
+            }
+        }
+        if (rowBuffer.isEmpty()) {
+            return false;
         }
-        hasChecked = false;
-        InputStream result = nextStream;
-        nextStream = null;
-        return result;
+        return setChunk(rowBuffer.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean setChunk(byte[] bytes) {
+        chunk = bytes;
+        position = 0;
+        return true;
     }
 
     @SuppressWarnings("unchecked")
-    private InputStream fetchNextStream() {
+    private BMap<BString, Object> fetchNextEntry() {
         final Object next;
         try {
             next = env.getRuntime().callMethod(iterator, "next", null);
@@ -92,37 +175,25 @@ public final class IteratorToInputStream implements Iterator<InputStream> {
         if (next == null) {
             return null;
         }
-        if (next instanceof io.ballerina.runtime.api.values.BError err) {
+        if (next instanceof BError err) {
             throw SmbUtil.createError("Iterator error: " + err.getMessage(), SMB_ERROR);
         }
-
-        byte[] bytes = toBytes(next);
-        isFirstRow = false;
-        return new ByteArrayInputStream(bytes);
+        return (BMap<BString, Object>) next;
     }
 
     @SuppressWarnings("unchecked")
-    private byte[] toBytes(Object value) {
-        BMap<BString, Object> streamRecord = (BMap<BString, Object>) value;
-        Object val = streamRecord.get(FIELD_VALUE);
-
-        if (val instanceof BArray array) {
-            return bytesFromArray(array);
+    private void appendRow(Object value) {
+        if (value instanceof BArray array) {
+            CSVUtils.appendArrayRow(array, rowBuffer);
+        } else {
+            BMap<BString, Object> balRecord = (BMap<BString, Object>) value;
+            CsvSerializationPlan plan = CsvSerializationPlan.forRecord(balRecord);
+            if (isFirstRow) {
+                rowBuffer.append(plan.header()).append(CsvSerializationPlan.LINE_SEPARATOR);
+            }
+            plan.appendRow(balRecord, rowBuffer);
         }
-        BMap<BString, Object> recordValue = (BMap<BString, Object>) val;
-        return bytesFromRecord(recordValue, isFirstRow);
-    }
-
-    private static byte[] bytesFromArray(BArray array) {
-        if (array.getElementType().getTag() == TypeTags.BYTE_TAG) {
-            return array.getBytes();
-        }
-        String csvRow = CSVUtils.convertArrayToCsvRow(array) + System.lineSeparator();
-        return csvRow.getBytes(StandardCharsets.UTF_8);
-    }
-
-    private static byte[] bytesFromRecord(BMap<BString, Object> balRecord, boolean includeHeader) {
-        String csvRow = CSVUtils.convertRecordToCsvRow(balRecord, includeHeader) + System.lineSeparator();
-        return csvRow.getBytes(StandardCharsets.UTF_8);
+        rowBuffer.append(CsvSerializationPlan.LINE_SEPARATOR);
+        isFirstRow = false;
     }
 }
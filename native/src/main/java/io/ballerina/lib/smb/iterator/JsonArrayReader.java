@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.iterator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reads a JSON array in chunks and hands out the text of its items one at a time. Only the array's own
+ * brackets and commas are interpreted; an item is copied as is, keeping track of strings and nesting so
+ * that the delimiters inside it are not mistaken for the end of the item. The buffer for an item only
+ * grows as large as the largest item.
+ */
+final class JsonArrayReader implements Closeable {
+
+    private static final int INITIAL_ITEM_SIZE = 1024;
+
+    private final InputStream source;
+    private final byte[] chunk;
+    private int position;
+    private int limit;
+    private byte[] item = new byte[INITIAL_ITEM_SIZE];
+    private int itemLength;
+    private boolean isStarted;
+    private boolean isFinished;
+
+    JsonArrayReader(InputStream source, int chunkSize) {
+        this.source = source;
+        this.chunk = new byte[Math.max(chunkSize, 1)];
+    }
+
+    /**
+     * Reads the next item of the array.
+     *
+     * @return The JSON text of the item, or null when the array has ended
+     * @throws IOException If reading the source fails or the content is not a JSON array
+     */
+    byte[] nextItem() throws IOException {
+        if (isFinished) {
+            return null;
+        }
+        if (!isStarted) {
+            skipByteOrderMark();
+            if (readSignificant() != '[') {
+                throw new IOException("The content is not a JSON array");
+            }
+            isStarted = true;
+            if (peekSignificant() == ']') {
+                position++;
+                isFinished = true;
+                return null;
+            }
+        } else {
+            int delimiter = readSignificant();
+            if (delimiter == ']') {
+                isFinished = true;
+                return null;
+            }
+            if (delimiter != ',') {
+                throw new IOException("Expected ',' or ']' between the items of the JSON array");
+            }
+        }
+        return readItem();
+    }
+
+    private byte[] readItem() throws IOException {
+        peekSignificant();
+        itemLength = 0;
+        int depth = 0;
+        boolean inString = false;
+        boolean isEscaped = false;
+        while (true) {
+            if (position == limit && !fill()) {
+                throw new IOException("Unexpected end of the JSON array");
+            }
+            byte current = chunk[position];
+            if (inString) {
+                if (isEscaped) {
+                    isEscaped = false;
+                } else if (current == '\\') {
+                    isEscaped = true;
+                } else if (current == '"') {
+                    inString = false;
+                }
+            } else if (depth == 0 && (current == ',' || current == ']')) {
+                break;
+            } else if (current == '"') {
+                inString = true;
+            } else if (current == '{' || current == '[') {
+                depth++;
+            } else if (current == '}' || current == ']') {
+                depth--;
+            }
+            append(current);
+            position++;
+        }
+        while (itemLength > 0 && isWhitespace(item[itemLength - 1])) {
+            itemLength--;
+        }
+        if (itemLength == 0) {
+            throw new IOException("Empty item in the JSON array");
+        }
+        return Arrays.copyOf(item, itemLength);
+    }
+
+    private void append(byte value) {
+        if (itemLength == item.length) {
+            item = Arrays.copyOf(item, item.length * 2);
+        }
+        item[itemLength++] = value;
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        if (fill() && limit >= 3 && (chunk[0] & 0xFF) == 0xEF && (chunk[1] & 0xFF) == 0xBB
+                && (chunk[2] & 0xFF) == 0xBF) {
+            position = 3;
+        }
+    }
+
+    private int readSignificant() throws IOException {
+        int next = peekSignificant();
+        if (next != -1) {
+            position++;
+        }
+        return next;
+    }
+
+    private int peekSignificant() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            if (!isWhitespace(chunk[position])) {
+                return chunk[position];
+            }
+            position++;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int read = source.readNBytes(chunk, 0, chunk.length);
+        position = 0;
+        limit = read;
+        return read > 0;
+    }
+
+    private static boolean isWhitespace(byte value) {
+        return value == ' ' || value == '\t' || value == '\n' || value == '\r';
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.iterator;
+
+import io.ballerina.lib.smb.util.ModuleUtils;
+import io.ballerina.lib.smb.util.SmbContentConverter;
+import io.ballerina.lib.smb.util.SmbUtil;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.StreamType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static io.ballerina.lib.smb.client.SmbClient.SMB_ERROR;
+import static io.ballerina.lib.smb.iterator.ByteIterator.ARRAY_SIZE;
+import static io.ballerina.lib.smb.iterator.ByteIterator.FIELD_VALUE;
+import static io.ballerina.lib.smb.iterator.ByteIterator.IS_CLOSED;
+import static io.ballerina.lib.smb.iterator.ByteIterator.NATIVE_LAX_DATA_BINDING;
+import static io.ballerina.lib.smb.iterator.ByteIterator.NATIVE_STREAM_VALUE_TYPE;
+
+/**
+ * Iterator utilities for streaming JSON values in SMB files, one bound value at a time. The values are the
+ * items of a JSON array, or the lines of a JSON Lines file.
+ */
+public final class JsonIterator {
+    private static final String KEY_READER = "reader";
+    private static final String REC_ENTRY = "ContentJsonStreamEntry";
+
+    private JsonIterator() {
+    }
+
+    /**
+     * Creates a stream of the items of a JSON array.
+     *
+     * @param content         The input stream containing the JSON array
+     * @param streamValueType The expected item type
+     * @param laxDataBinding  Whether to use lax data binding
+     * @return A Ballerina stream value
+     */
+    public static Object createItemStream(InputStream content, Type streamValueType, boolean laxDataBinding) {
+        return createStream(new JsonArrayReader(content, ARRAY_SIZE), streamValueType, laxDataBinding);
+    }
+
+    /**
+     * Creates a stream of the values of a JSON Lines file, one value per line. Blank lines are skipped.
+     *
+     * @param content         The input stream containing the JSON Lines content
+     * @param streamValueType The expected value type
+     * @param laxDataBinding  Whether to use lax data binding
+     * @return A Ballerina stream value
+     */
+    public static Object createLineStream(InputStream content, Type streamValueType, boolean laxDataBinding) {
+        return createStream(new LineReader(content, ARRAY_SIZE), streamValueType, laxDataBinding);
+    }
+
+    private static Object createStream(Closeable reader, Type streamValueType, boolean laxDataBinding) {
+        BObject streamObject = ValueCreator.createObjectValue(ModuleUtils.getModule(), "ContentJsonStream", null, null);
+        streamObject.addNativeData(KEY_READER, reader);
+        streamObject.addNativeData(NATIVE_LAX_DATA_BINDING, laxDataBinding);
+        streamObject.addNativeData(NATIVE_STREAM_VALUE_TYPE, streamValueType);
+        StreamType streamType = TypeCreator.createStreamType(streamValueType,
+                TypeCreator.createUnionType(PredefinedTypes.TYPE_ERROR, PredefinedTypes.TYPE_NULL));
+        return ValueCreator.createStreamValue(streamType, streamObject);
+    }
+
+    /**
+     * Gets the next value from the stream, reading only as much of the file as it spans.
+     * This method is called by Ballerina runtime when iterating the stream.
+     *
+     * @param recordIterator The iterator object
+     * @return The next entry with the bound item, or null if the stream is exhausted
+     */
+    public static Object next(BObject recordIterator) {
+        Closeable reader = (Closeable) recordIterator.getNativeData(KEY_READER);
+        if (reader == null) {
+            recordIterator.set(IS_CLOSED, true);
+            return SmbUtil.createError("Input stream is not available", SMB_ERROR);
+        }
+        try {
+            byte[] item = nextItem(reader);
+            if (item == null) {
+                close(recordIterator);
+                return null;
+            }
+            Type elementType = (Type) recordIterator.getNativeData(NATIVE_STREAM_VALUE_TYPE);
+            boolean laxDataBinding = (boolean) recordIterator.getNativeData(NATIVE_LAX_DATA_BINDING);
+            Object value = SmbContentConverter.convertBytesToJson(item, elementType, laxDataBinding);
+            if (value instanceof BError) {
+                close(recordIterator);
+                return value;
+            }
+            BMap<BString, Object> streamEntry = ValueCreator.createRecordValue(ModuleUtils.getModule(), REC_ENTRY);
+            streamEntry.put(FIELD_VALUE, value);
+            return streamEntry;
+        } catch (IOException e) {
+            close(recordIterator);
+            return SmbUtil.createError("Unable to read JSON content: " + e.getMessage(), SMB_ERROR);
+        }
+    }
+
+    private static byte[] nextItem(Closeable reader) throws IOException {
+        if (reader instanceof JsonArrayReader arrayReader) {
+            return arrayReader.nextItem();
+        }
+        LineReader lineReader = (LineReader) reader;
+        byte[] line = lineReader.nextLine();
+        while (line != null && isBlank(line)) {
+            line = lineReader.nextLine();
+        }
+        return line;
+    }
+
+    private static boolean isBlank(byte[] line) {
+        for (byte value : line) {
+            if (value != ' ' && value != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Closes the stream iterator.
+     *
+     * @param recordIterator The iterator object
+     * @return null (no error) or an error
+     */
+    public static Object close(BObject recordIterator) {
+        try {
+            Object reader = recordIterator.getNativeData(KEY_READER);
+            if (reader != null) {
+                ((Closeable) reader).close();
+            }
+        } catch (IOException e) {
+            return SmbUtil.createError("Unable to close input stream: " + e.getMessage(), SMB_ERROR);
+        } finally {
+            recordIterator.set(IS_CLOSED, true);
+        }
+        return null;
+    }
+}
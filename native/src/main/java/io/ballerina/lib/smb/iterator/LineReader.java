@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.iterator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reads content in chunks and hands out one line at a time. A line ends at a line feed, and a carriage
+ * return before the line feed is dropped. The bytes after the last complete line of a chunk are kept for
+ * the next one, so the buffer only grows beyond the chunk size for a line longer than a chunk, and never
+ * beyond the longest line allowed.
+ */
+final class LineReader implements Closeable {
+
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final InputStream source;
+    private final int maxLineLength;
+    private byte[] buffer;
+    private int start;
+    private int length;
+    private boolean isEndOfInput;
+
+    LineReader(InputStream source, int chunkSize) {
+        this(source, chunkSize, Integer.MAX_VALUE);
+    }
+
+    LineReader(InputStream source, int chunkSize, int maxLineLength) {
+        this.source = source;
+        this.maxLineLength = Math.max(maxLineLength, 1);
+        this.buffer = new byte[(int) Math.max(Math.min(chunkSize, (long) this.maxLineLength + 2), 1)];
+    }
+
+    /**
+     * Reads the next line.
+     *
+     * @return The bytes of the line without its line break, or null when the content is exhausted
+     * @throws IOException If reading the source fails, or a line is longer than the longest line allowed
+     */
+    byte[] nextLine() throws IOException {
+        int scanned = start;
+        while (true) {
+            for (int index = scanned; index < length; index++) {
+                if (buffer[index] == LINE_FEED) {
+                    return takeLine(index, index + 1);
+                }
+            }
+            if (isEndOfInput) {
+                return start == length ? null : takeLine(length, length);
+            }
+            scanned = length - start;
+            // A line may be followed by a carriage return and a line feed that are not yet read.
+            if (scanned > (long) maxLineLength + 1) {
+                throw new IOException("A line is longer than " + maxLineLength + " bytes");
+            }
+            fill();
+        }
+    }
+
+    private byte[] takeLine(int end, int next) throws IOException {
+        int lineEnd = end > start && buffer[end - 1] == CARRIAGE_RETURN ? end - 1 : end;
+        if (lineEnd - start > maxLineLength) {
+            throw new IOException("A line is longer than " + maxLineLength + " bytes");
+        }
+        byte[] line = Arrays.copyOfRange(buffer, start, lineEnd);
+        start = next;
+        return line;
+    }
+
+    /**
+     * Moves the unread bytes to the front of the buffer and reads more after them.
+     */
+    private void fill() throws IOException {
+        if (start > 0) {
+            System.arraycopy(buffer, start, buffer, 0, length - start);
+            length -= start;
+            start = 0;
+        }
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, (int) Math.min((long) buffer.length * 2, (long) maxLineLength + 2));
+        }
+        int read = source.read(buffer, length, buffer.length - length);
+        if (read == -1) {
+            isEndOfInput = true;
+        } else {
+            length += read;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+}
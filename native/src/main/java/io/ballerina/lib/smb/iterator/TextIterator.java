@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.iterator;
+
+import io.ballerina.lib.smb.util.ModuleUtils;
+import io.ballerina.lib.smb.util.SmbUtil;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.StreamType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static io.ballerina.lib.smb.client.SmbClient.SMB_ERROR;
+import static io.ballerina.lib.smb.iterator.ByteIterator.ARRAY_SIZE;
+import static io.ballerina.lib.smb.iterator.ByteIterator.FIELD_VALUE;
+import static io.ballerina.lib.smb.iterator.ByteIterator.IS_CLOSED;
+
+/**
+ * Iterator utilities for streaming the lines of text files in SMB files. Each line is decoded from UTF-8
+ * on its own as it is read; a line feed never occurs inside a multi-byte character, so splitting the bytes
+ * at line feeds never splits a character.
+ */
+public final class TextIterator {
+    public static final int DEFAULT_MAX_LINE_LENGTH = 1048576;
+    private static final String KEY_READER = "reader";
+    private static final String KEY_FIRST_LINE = "firstLine";
+    private static final String REC_ENTRY = "ContentLineStreamEntry";
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private TextIterator() {
+    }
+
+    /**
+     * Creates a stream of the lines of text content, without their line breaks.
+     *
+     * @param content       The input stream containing the text
+     * @param maxLineLength The length in bytes of the longest line allowed
+     * @return A Ballerina stream value
+     */
+    public static Object createLineStream(InputStream content, int maxLineLength) {
+        BObject streamObject = ValueCreator.createObjectValue(ModuleUtils.getModule(), "ContentLineStream", null, null);
+        streamObject.addNativeData(KEY_READER, new LineReader(content, ARRAY_SIZE, maxLineLength));
+        streamObject.addNativeData(KEY_FIRST_LINE, true);
+        StreamType streamType = TypeCreator.createStreamType(PredefinedTypes.TYPE_STRING,
+                TypeCreator.createUnionType(PredefinedTypes.TYPE_ERROR, PredefinedTypes.TYPE_NULL));
+        return ValueCreator.createStreamValue(streamType, streamObject);
+    }
+
+    /**
+     * Gets the next line from the stream.
+     * This method is called by Ballerina runtime when iterating the stream.
+     *
+     * @param recordIterator The iterator object
+     * @return The next entry with the line, or null if the stream is exhausted
+     */
+    public static Object next(BObject recordIterator) {
+        LineReader reader = (LineReader) recordIterator.getNativeData(KEY_READER);
+        if (reader == null) {
+            recordIterator.set(IS_CLOSED, true);
+            return SmbUtil.createError("Input stream is not available", SMB_ERROR);
+        }
+        try {
+            byte[] line = reader.nextLine();
+            if (line == null) {
+                close(recordIterator);
+                return null;
+            }
+            String text = new String(line, StandardCharsets.UTF_8);
+            if ((boolean) recordIterator.getNativeData(KEY_FIRST_LINE)) {
+                recordIterator.addNativeData(KEY_FIRST_LINE, false);
+                if (text.startsWith(BYTE_ORDER_MARK)) {
+                    text = text.substring(1);
+                }
+            }
+            BMap<BString, Object> streamEntry = ValueCreator.createRecordValue(ModuleUtils.getModule(), REC_ENTRY);
+            streamEntry.put(FIELD_VALUE, StringUtils.fromString(text));
+            return streamEntry;
+        } catch (IOException e) {
+            close(recordIterator);
+            return SmbUtil.createError("Unable to read text content: " + e.getMessage(), SMB_ERROR);
+        }
+    }
+
+    /**
+     * Closes the stream iterator.
+     *
+     * @param recordIterator The iterator object
+     * @return null (no error) or an error
+     */
+    public static Object close(BObject recordIterator) {
+        try {
+            Object reader = recordIterator.getNativeData(KEY_READER);
+            if (reader != null) {
+                ((LineReader) reader).close();
+            }
+        } catch (IOException e) {
+            return SmbUtil.createError("Unable to close input stream: " + e.getMessage(), SMB_ERROR);
+        } finally {
+            recordIterator.set(IS_CLOSED, true);
+        }
+        return null;
+    }
+}
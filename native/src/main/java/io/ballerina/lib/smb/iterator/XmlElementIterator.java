@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.iterator;
+
+import io.ballerina.lib.smb.util.ModuleUtils;
+import io.ballerina.lib.smb.util.SmbContentConverter;
+import io.ballerina.lib.smb.util.SmbUtil;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.StreamType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.xml.stream.XMLStreamException;
+
+import static io.ballerina.lib.smb.client.SmbClient.SMB_ERROR;
+import static io.ballerina.lib.smb.iterator.ByteIterator.FIELD_VALUE;
+import static io.ballerina.lib.smb.iterator.ByteIterator.IS_CLOSED;
+import static io.ballerina.lib.smb.iterator.ByteIterator.NATIVE_LAX_DATA_BINDING;
+import static io.ballerina.lib.smb.iterator.ByteIterator.NATIVE_STREAM_VALUE_TYPE;
+
+/**
+ * Iterator utilities for streaming the matching elements of an XML document in SMB files, one bound value at a time.
+ */
+public final class XmlElementIterator {
+    private static final String KEY_READER = "reader";
+    private static final String REC_ENTRY = "ContentXmlStreamEntry";
+
+    private XmlElementIterator() {
+    }
+
+    /**
+     * Creates a stream of the elements of an XML document that match a path.
+     *
+     * @param content         The input stream containing the XML document
+     * @param elementPath     The local name of the elements to return, or a path of local names ending in it
+     * @param streamValueType The expected element type
+     * @param laxDataBinding  Whether to use lax data binding
+     * @return A Ballerina stream value
+     * @throws XMLStreamException If the XML declaration of the content cannot be read
+     */
+    public static Object createElementStream(InputStream content, String elementPath, Type streamValueType,
+                                             boolean laxDataBinding) throws XMLStreamException {
+        return createStream(new XmlElementReader(content, elementPath), streamValueType, laxDataBinding);
+    }
+
+    private static Object createStream(XmlElementReader reader, Type streamValueType, boolean laxDataBinding) {
+        BObject streamObject = ValueCreator.createObjectValue(ModuleUtils.getModule(), "ContentXmlStream", null, null);
+        streamObject.addNativeData(KEY_READER, reader);
+        streamObject.addNativeData(NATIVE_LAX_DATA_BINDING, laxDataBinding);
+        streamObject.addNativeData(NATIVE_STREAM_VALUE_TYPE, streamValueType);
+        StreamType streamType = TypeCreator.createStreamType(streamValueType,
+                TypeCreator.createUnionType(PredefinedTypes.TYPE_ERROR, PredefinedTypes.TYPE_NULL));
+        return ValueCreator.createStreamValue(streamType, streamObject);
+    }
+
+    /**
+     * Gets the next element from the stream, reading only as much of the file as it spans.
+     * This method is called by Ballerina runtime when iterating the stream.
+     *
+     * @param recordIterator The iterator object
+     * @return The next entry with the bound element, or null if the stream is exhausted
+     */
+    public static Object next(BObject recordIterator) {
+        XmlElementReader reader = (XmlElementReader) recordIterator.getNativeData(KEY_READER);
+        if (reader == null) {
+            recordIterator.set(IS_CLOSED, true);
+            return SmbUtil.createError("Input stream is not available", SMB_ERROR);
+        }
+        try {
+            byte[] element = reader.nextElement();
+            if (element == null) {
+                close(recordIterator);
+                return null;
+            }
+            Type elementType = (Type) recordIterator.getNativeData(NATIVE_STREAM_VALUE_TYPE);
+            boolean laxDataBinding = (boolean) recordIterator.getNativeData(NATIVE_LAX_DATA_BINDING);
+            Object value = SmbContentConverter.convertBytesToXml(element, elementType, laxDataBinding);
+            if (value instanceof BError) {
+                close(recordIterator);
+                return value;
+            }
+            BMap<BString, Object> streamEntry = ValueCreator.createRecordValue(ModuleUtils.getModule(), REC_ENTRY);
+            streamEntry.put(FIELD_VALUE, value);
+            return streamEntry;
+        } catch (XMLStreamException e) {
+            close(recordIterator);
+            return SmbUtil.createError("Unable to read XML content: " + e.getMessage(), SMB_ERROR);
+        }
+    }
+
+    /**
+     * Closes the stream iterator.
+     *
+     * @param recordIterator The iterator object
+     * @return null (no error) or an error
+     */
+    public static Object close(BObject recordIterator) {
+        try {
+            Object reader = recordIterator.getNativeData(KEY_READER);
+            if (reader != null) {
+                ((XmlElementReader) reader).close();
+            }
+        } catch (IOException e) {
+            return SmbUtil.createError("Unable to close input stream: " + e.getMessage(), SMB_ERROR);
+        } finally {
+            recordIterator.set(IS_CLOSED, true);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.iterator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Pulls the elements that match a path out of an XML document one at a time. The document is read with a
+ * streaming parser, and only the element being handed out is held in memory, as a standalone document.
+ * <p>
+ * The path is a list of local names separated by {@code /}. An element matches when the names of its
+ * enclosing elements end with the path, so {@code Order} matches every {@code Order} element and
+ * {@code Orders/Order} only those directly inside an {@code Orders} element. A path that starts with
+ * {@code /} is matched from the root element. The elements nested inside a matched element are not
+ * matched on their own.
+ */
+final class XmlElementReader implements Closeable {
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private final InputStream source;
+    private final XMLStreamReader reader;
+    private final String[] path;
+    private final boolean isAbsolute;
+    private final List<String> openElements = new ArrayList<>();
+
+    XmlElementReader(InputStream source, String elementPath) throws XMLStreamException {
+        String trimmedPath = elementPath.strip();
+        this.isAbsolute = trimmedPath.startsWith("/");
+        this.path = (isAbsolute ? trimmedPath.substring(1) : trimmedPath).split("/");
+        for (String name : path) {
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Invalid element path: " + elementPath);
+            }
+        }
+        this.source = source;
+        this.reader = INPUT_FACTORY.createXMLStreamReader(source);
+    }
+
+    /**
+     * Reads up to and including the next matching element.
+     *
+     * @return The element as a UTF-8 encoded XML document, or null when the document has no more matches
+     * @throws XMLStreamException If the content is not well-formed XML
+     */
+    byte[] nextElement() throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                openElements.add(reader.getLocalName());
+                if (isMatch()) {
+                    byte[] element = copyElement();
+                    openElements.remove(openElements.size() - 1);
+                    return element;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                openElements.remove(openElements.size() - 1);
+            }
+        }
+        return null;
+    }
+
+    private boolean isMatch() {
+        int depth = openElements.size();
+        if (depth < path.length || (isAbsolute && depth != path.length)) {
+            return false;
+        }
+        for (int i = 1; i <= path.length; i++) {
+            if (!path[path.length - i].equals(openElements.get(depth - i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the element the reader is positioned at, leaving the reader at its end tag. Namespaces
+     * declared on the enclosing elements are declared again on the first element of the copy that uses them.
+     */
+    private byte[] copyElement() throws XMLStreamException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+        Deque<Map<String, String>> scopes = new ArrayDeque<>();
+        while (true) {
+            switch (reader.getEventType()) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    scopes.push(new HashMap<>());
+                    writeStartElement(writer, scopes);
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    writer.writeEndElement();
+                    scopes.pop();
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.SPACE ->
+                        writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(),
+                                reader.getTextLength());
+                case XMLStreamConstants.CDATA -> writer.writeCData(reader.getText());
+                case XMLStreamConstants.COMMENT -> writer.writeComment(reader.getText());
+                case XMLStreamConstants.PROCESSING_INSTRUCTION ->
+                        writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+                default -> {
+                }
+            }
+            if (scopes.isEmpty()) {
+                break;
+            }
+            reader.next();
+        }
+        writer.close();
+        return out.toByteArray();
+    }
+
+    private void writeStartElement(XMLStreamWriter writer, Deque<Map<String, String>> scopes)
+            throws XMLStreamException {
+        writer.writeStartElement(nullToEmpty(reader.getPrefix()), reader.getLocalName(),
+                nullToEmpty(reader.getNamespaceURI()));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            declareNamespace(writer, scopes, reader.getNamespacePrefix(i), reader.getNamespaceURI(i));
+        }
+        declareNamespace(writer, scopes, reader.getPrefix(), reader.getNamespaceURI());
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String namespace = reader.getAttributeNamespace(i);
+            if (namespace == null || namespace.isEmpty()) {
+                writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+            } else {
+                declareNamespace(writer, scopes, reader.getAttributePrefix(i), namespace);
+                writer.writeAttribute(nullToEmpty(reader.getAttributePrefix(i)), namespace,
+                        reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+            }
+        }
+    }
+
+    /**
+     * Declares a namespace on the element being written, unless the copy already binds the prefix to it.
+     */
+    private static void declareNamespace(XMLStreamWriter writer, Deque<Map<String, String>> scopes, String prefix,
+                                         String namespace) throws XMLStreamException {
+        String boundPrefix = nullToEmpty(prefix);
+        String uri = nullToEmpty(namespace);
+        String boundUri = "";
+        for (Map<String, String> scope : scopes) {
+            String scopeUri = scope.get(boundPrefix);
+            if (scopeUri != null) {
+                boundUri = scopeUri;
+                break;
+            }
+        }
+        if (uri.equals(boundUri)) {
+            return;
+        }
+        if (boundPrefix.isEmpty()) {
+            writer.writeDefaultNamespace(uri);
+        } else {
+            writer.writeNamespace(boundPrefix, uri);
+        }
+        scopes.peek().put(boundPrefix, uri);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            source.close();
+        }
+    }
+}
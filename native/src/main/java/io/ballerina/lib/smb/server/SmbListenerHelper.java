@@ -36,7 +36,12 @@ import com.hierynomus.smbj.share.File;
 import io.ballerina.lib.smb.client.SmbClient;
 import io.ballerina.lib.smb.iterator.ByteIterator;
 import io.ballerina.lib.smb.iterator.CsvIterator;
+import io.ballerina.lib.smb.iterator.TextIterator;
+import io.ballerina.lib.smb.util.BufferPool;
+import io.ballerina.lib.smb.util.ContentCompression;
+import io.ballerina.lib.smb.util.CsvTokenizer;
 import io.ballerina.lib.smb.util.ModuleUtils;
+import io.ballerina.lib.smb.util.ShareListing;
 import io.ballerina.lib.smb.util.SmbContentConverter;
 import io.ballerina.lib.smb.util.SmbUtil;
 import io.ballerina.runtime.api.Environment;
@@ -63,6 +68,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
@@ -169,6 +175,7 @@ public class SmbListenerHelper {
     public static final String LISTENER_NOT_INITIALIZED_ERROR = "Listener is not initialized";
     public static final String ENDPOINT_CONFIG_CSV_FAIL_SAFE = "csvFailSafe";
     public static final String ENDPOINT_CONFIG_LAX_DATA_BINDING = "laxDataBinding";
+    public static final String ENDPOINT_CONFIG_COMPRESSION = "compression";
     public static final String ENDPOINT_CONFIG_DIALECTS = "dialects";
     public static final BString SIZE = StringUtils.fromString("size");
 
@@ -481,7 +488,7 @@ public class SmbListenerHelper {
         Set<String> prevFiles = new HashSet<>(previousFiles.getOrDefault(path, new HashSet<>()));
 
         Map<String, FileIdBothDirectoryInformation> currentFileInfos = new LinkedHashMap<>();
-        collectFilesRecursively(diskShare, path, currentFileInfos);
+        ShareListing.collectRecursively(diskShare, path, currentFileInfos, null);
         Set<String> currentFiles = new HashSet<>(currentFileInfos.keySet());
 
         for (String prevFile : prevFiles) {
@@ -520,31 +527,6 @@ public class SmbListenerHelper {
         }
     }
 
-    private static void collectFilesRecursively(DiskShare diskShare, String path,
-                                                Map<String, FileIdBothDirectoryInformation> result) {
-        String listPath = path.startsWith(SLASH_SUFFIX) ? path.substring(1) : path;
-        List<FileIdBothDirectoryInformation> files = diskShare.list(listPath);
-        for (FileIdBothDirectoryInformation fileInfo : files) {
-            String fileName = fileInfo.getFileName();
-            if (".".equals(fileName) || "..".equals(fileName)) {
-                continue;
-            }
-            boolean isFolder = EnumWithValue.EnumUtils.isSet(
-                    fileInfo.getFileAttributes(), FileAttributes.FILE_ATTRIBUTE_DIRECTORY);
-            String fileKey = path.endsWith(SLASH_SUFFIX) ? path + fileName : path + SLASH_SUFFIX + fileName;
-            if (isFolder) {
-                try {
-                    collectFilesRecursively(diskShare, fileKey, result);
-                } catch (Exception e) {
-                    log.debug("Skipping folder '{}' during recursive listing (may have been deleted): {}",
-                            fileKey, e.getMessage());
-                }
-            } else {
-                result.put(fileKey, fileInfo);
-            }
-        }
-    }
-
     private static BMap<BString, Object> createFileInfoRecord(FileIdBothDirectoryInformation fileInfo,
                                                               String basePath) {
         BMap<BString, Object> fileInfoRecord = ValueCreator.createRecordValue(ModuleUtils.getModule(), FILE_INFO);
@@ -603,10 +585,10 @@ public class SmbListenerHelper {
         if (servicesToNotify.isEmpty()) {
             return;
         }
+        ContentCompression compression = getCompression(listenerContext.config());
         for (BMap<BString, Object> fileInfo : addedFiles) {
             String filePath = fileInfo.getStringValue(PATH).getValue();
-            String extension = fileInfo.getStringValue(EXTENSION).getValue()
-                    .toLowerCase();
+            String extension = contentExtension(fileInfo, compression);
             boolean isDirectory = fileInfo.getBooleanValue(IS_DIRECTORY);
             if (isDirectory) {
                 continue;
@@ -622,6 +604,35 @@ public class SmbListenerHelper {
         }
     }
 
+    /**
+     * Gets the extension a handler is selected by. A compressed file is handled by the extension of its content,
+     * so {@code report.csv.gz} goes to {@code onFileCsv}.
+     */
+    private static String contentExtension(BMap<BString, Object> fileInfo, ContentCompression compression) {
+        String fileName = fileInfo.getStringValue(NAME).getValue();
+        String contentName = compression.contentName(fileName);
+        if (contentName.equals(fileName)) {
+            return fileInfo.getStringValue(EXTENSION).getValue().toLowerCase();
+        }
+        int lastDot = contentName.lastIndexOf('.');
+        return lastDot > 0 ? contentName.substring(lastDot + 1).toLowerCase() : "";
+    }
+
+    private static ContentCompression getCompression(BMap<BString, Object> listenerConfig) {
+        return listenerConfig == null ? ContentCompression.NONE
+                : ContentCompression.from(listenerConfig.get(StringUtils.fromString(ENDPOINT_CONFIG_COMPRESSION)));
+    }
+
+    private static InputStream decode(InputStream content, String filePath, BMap<BString, Object> listenerConfig)
+            throws IOException {
+        try {
+            return getCompression(listenerConfig).decode(content, filePath, ARRAY_SIZE);
+        } catch (IOException e) {
+            content.close();
+            throw e;
+        }
+    }
+
     private static void notifyServicesForDeletedFiles(Environment env, String changedPath,
                                                        List<String> deletedFiles,
                                                        List<ServiceContext> allServices,
@@ -869,13 +880,24 @@ public class SmbListenerHelper {
             Type referredType = TypeUtils.getReferredType(contentParamType);
             boolean isStreamType = referredType.getTag() == TypeTags.STREAM_TAG;
 
+            if (!isStreamType && (ON_FILE_JSON.equals(methodName) || ON_FILE_XML.equals(methodName))) {
+                return bindDocumentContent(env, diskShare, normalizedPath, methodName, referredType, listenerConfig);
+            }
             if (isStreamType) {
                 File file = diskShare.openFile(normalizedPath, accessMask, null,
                         SMB2ShareAccess.ALL, SMB2CreateDisposition.FILE_OPEN, null);
-                InputStream inputStream = file.getInputStream();
+                InputStream inputStream;
+                try {
+                    inputStream = decode(file.getInputStream(), normalizedPath, listenerConfig);
+                } catch (IOException e) {
+                    file.close();
+                    throw e;
+                }
                 return switch (methodName) {
                     case ON_FILE_CSV -> parseCsvContentAsStream(inputStream, contentParamType);
                     case ON_FILE -> parseByteContentAsStream(inputStream);
+                    case ON_FILE_TEXT -> TextIterator.createLineStream(inputStream,
+                            TextIterator.DEFAULT_MAX_LINE_LENGTH);
                     default -> {
                         inputStream.close();
                         file.close();
@@ -899,11 +921,12 @@ public class SmbListenerHelper {
         accessMask.add(AccessMask.GENERIC_READ);
         try (File file = diskShare.openFile(normalizedPath, accessMask, null,
                 SMB2ShareAccess.ALL, SMB2CreateDisposition.FILE_OPEN, null);
-             InputStream inputStream = file.getInputStream()) {
+             InputStream inputStream = decode(file.getInputStream(), normalizedPath, listenerConfig);
+             BufferPool.Lease<byte[]> lease = BufferPool.borrow(ARRAY_SIZE)) {
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            byte[] buffer = new byte[ARRAY_SIZE];
+            byte[] buffer = lease.buffer();
             int bytesRead;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
+            while ((bytesRead = inputStream.read(buffer, 0, ARRAY_SIZE)) != -1) {
                 outputStream.write(buffer, 0, bytesRead);
             }
             byte[] bytes = outputStream.toByteArray();
@@ -912,8 +935,6 @@ public class SmbListenerHelper {
                     listenerConfig.getBooleanValue(StringUtils.fromString(ENDPOINT_CONFIG_LAX_DATA_BINDING));
             return switch (methodName) {
                 case ON_FILE_TEXT -> StringUtils.fromString(new String(bytes, StandardCharsets.UTF_8));
-                case ON_FILE_JSON -> parseJsonContent(bytes, contentParamType, laxDataBinding);
-                case ON_FILE_XML -> parseXmlContent(bytes, contentParamType, laxDataBinding);
                 case ON_FILE_CSV -> parseCsvContent(env, bytes, contentParamType, listenerConfig, filePath);
                 case ON_FILE -> parseByteContent(bytes);
                 default -> ValueCreator.createArrayValue(bytes);
@@ -921,20 +942,35 @@ public class SmbListenerHelper {
         }
     }
 
-    private static Object parseJsonContent(byte[] bytes, Type targetType, boolean laxDataBinding) {
-        Type referredType = TypeUtils.getReferredType(targetType);
+    /**
+     * Binds JSON or XML content as it is read from the share, so the whole file is never held as bytes.
+     */
+    private static Object bindDocumentContent(Environment env, DiskShare diskShare, String normalizedPath,
+                                              String methodName, Type referredType,
+                                              BMap<BString, Object> listenerConfig) throws Exception {
+        Set<AccessMask> accessMask = new HashSet<>();
+        accessMask.add(AccessMask.GENERIC_READ);
+        boolean laxDataBinding = listenerConfig != null &&
+                listenerConfig.getBooleanValue(StringUtils.fromString(ENDPOINT_CONFIG_LAX_DATA_BINDING));
+        try (File file = diskShare.openFile(normalizedPath, accessMask, null,
+                SMB2ShareAccess.ALL, SMB2CreateDisposition.FILE_OPEN, null);
+             InputStream inputStream = decode(file.getInputStream(), normalizedPath, listenerConfig)) {
+            return ON_FILE_JSON.equals(methodName)
+                    ? parseJsonContent(env, inputStream, referredType, laxDataBinding)
+                    : SmbContentConverter.convertStreamToXml(env, inputStream, referredType, laxDataBinding);
+        }
+    }
+
+    private static Object parseJsonContent(Environment env, InputStream content, Type referredType,
+                                           boolean laxDataBinding) {
         if (referredType.getTag() == TypeTags.JSON_TAG || referredType.getTag() == TypeTags.MAP_TAG) {
             try {
-                return JsonUtils.parse(new String(bytes, StandardCharsets.UTF_8));
+                return JsonUtils.parse(content);
             } catch (Exception e) {
                 return SmbUtil.createError(JSON_PARSE_ERROR + e.getMessage(), SMB_ERROR);
             }
         }
-        return SmbContentConverter.convertBytesToJson(bytes, referredType, laxDataBinding);
-    }
-
-    private static Object parseXmlContent(byte[] bytes, Type targetType, boolean laxDataBinding) {
-        return SmbContentConverter.convertBytesToXml(bytes, TypeUtils.getReferredType(targetType), laxDataBinding);
+        return SmbContentConverter.convertStreamToJson(env, content, referredType, laxDataBinding);
     }
 
     private static Object parseCsvContent(Environment env, byte[] bytes, Type targetType,
@@ -946,63 +982,18 @@ public class SmbListenerHelper {
             BMap<?, ?> csvFailSafe = listenerConfig != null ?
                     listenerConfig.getMapValue(StringUtils.fromString(ENDPOINT_CONFIG_CSV_FAIL_SAFE)) : null;
 
-            if (referredType.getTag() == TypeTags.ARRAY_TAG) {
-                ArrayType arrayType = (ArrayType) referredType;
-                Type elementType = TypeUtils.getReferredType(arrayType.getElementType());
-                if (elementType.getTag() == TypeTags.ARRAY_TAG) {
-                    ArrayType innerArrayType = (ArrayType) elementType;
-                    if (innerArrayType.getElementType().getTag() == TypeTags.STRING_TAG) {
-                        return parseStringArrayArray(bytes);
-                    }
-                }
+            if (referredType.getTag() == TypeTags.ARRAY_TAG
+                    && (csvFailSafe != null || !CsvTokenizer.isStringTable(referredType))) {
                 String fileNamePrefix = SmbContentConverter.deriveFileNamePrefix(filePath);
                 return SmbContentConverter.convertBytesToCsv(env, bytes, targetType,
                         laxDataBinding, csvFailSafe, fileNamePrefix);
             }
-            return parseStringArrayArray(bytes);
+            return CsvTokenizer.parse(bytes, false);
         } catch (Exception e) {
             return SmbUtil.createError(CSV_PARSE_ERROR + e.getMessage(), SMB_ERROR);
         }
     }
 
-    private static Object parseStringArrayArray(byte[] bytes) {
-        String csvContent = new String(bytes, StandardCharsets.UTF_8);
-        List<BArray> rows = new ArrayList<>();
-        String[] lines = csvContent.split("\\r?\\n");
-        for (String line : lines) {
-            if (line.trim().isEmpty()) {
-                continue;
-            }
-            List<BString> fields = new ArrayList<>();
-            StringBuilder currentField = new StringBuilder();
-            boolean inQuotes = false;
-
-            for (int index = 0; index < line.length(); index++) {
-                char current = line.charAt(index);
-                if (current == '"') {
-                    if (inQuotes && index + 1 < line.length() && line.charAt(index + 1) == '"') {
-                        currentField.append('"');
-                        index++;
-                    } else {
-                        inQuotes = !inQuotes;
-                    }
-                } else if (current == ',' && !inQuotes) {
-                    fields.add(StringUtils.fromString(currentField.toString()));
-                    currentField = new StringBuilder();
-                } else {
-                    currentField.append(current);
-                }
-            }
-            fields.add(StringUtils.fromString(currentField.toString()));
-            BArray row = ValueCreator.createArrayValue(fields.toArray(new BString[0]));
-            rows.add(row);
-        }
-
-        ArrayType stringArrayType = TypeCreator.createArrayType(PredefinedTypes.TYPE_STRING);
-        ArrayType arrayOfStringArraysType = TypeCreator.createArrayType(stringArrayType);
-        return ValueCreator.createArrayValue(rows.toArray(new BArray[0]), arrayOfStringArraysType);
-    }
-
     private static Object parseByteContent(byte[] bytes) {
         return ValueCreator.createArrayValue(bytes);
     }
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.util;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The buffers the clients and listeners read and write files through, shared by all of them. Buffers are grouped
+ * in power-of-two size classes from 4 KB to 8 MB, and each class keeps up to 8 MB of returned buffers, and at
+ * least two, to hand out again. Larger buffers are allocated for each use and left to the garbage collector.
+ * <p>
+ * A buffer is borrowed as a {@link Lease} and belongs to its borrower until the lease is closed, after which it
+ * must not be used. Content handed to Ballerina is always copied out of a borrowed buffer, as Ballerina values
+ * may outlive the read that produced them.
+ */
+public final class BufferPool {
+
+    private static final int MIN_CLASS_SHIFT = 12;
+    private static final int MAX_CLASS_SHIFT = 23;
+    private static final long RETAINED_BYTES_PER_CLASS = 8L * 1024 * 1024;
+    private static final BString BORROWED = StringUtils.fromString("borrowed");
+    private static final BString HITS = StringUtils.fromString("hits");
+    private static final BString HIT_RATE = StringUtils.fromString("hitRate");
+    private static final BString OUTSTANDING = StringUtils.fromString("outstanding");
+    private static final BString OUTSTANDING_BYTES = StringUtils.fromString("outstandingBytes");
+    private static final BString POOLED_BYTES = StringUtils.fromString("pooledBytes");
+    private static final BString POOLED_DIRECT_BYTES = StringUtils.fromString("pooledDirectBytes");
+    private static final String BUFFER_POOL_STATS = "BufferPoolStats";
+
+    private static final SizeClasses<byte[]> HEAP = new SizeClasses<>();
+    private static final SizeClasses<ByteBuffer> DIRECT = new SizeClasses<>();
+    private static final LongAdder BORROWS = new LongAdder();
+    private static final LongAdder POOL_HITS = new LongAdder();
+    private static final AtomicLong OUTSTANDING_COUNT = new AtomicLong();
+    private static final AtomicLong OUTSTANDING_SIZE = new AtomicLong();
+
+    private BufferPool() {
+    }
+
+    /**
+     * Borrows a heap buffer of at least the given size. The buffer may be larger, so reads into it should be
+     * limited to the size asked for.
+     *
+     * @param size The number of bytes needed
+     * @return The lease of the buffer
+     */
+    public static Lease<byte[]> borrow(int size) {
+        int sizeClass = sizeClass(size);
+        byte[] buffer = sizeClass < 0 ? null : HEAP.poll(sizeClass);
+        boolean hit = buffer != null;
+        if (!hit) {
+            buffer = new byte[sizeClass < 0 ? size : 1 << (sizeClass + MIN_CLASS_SHIFT)];
+        }
+        return lease(buffer, buffer.length, sizeClass, hit, HEAP);
+    }
+
+    /**
+     * Borrows a direct buffer, outside the Java heap, of at least the given size. The buffer's limit is set to
+     * the size asked for.
+     *
+     * @param size The number of bytes needed
+     * @return The lease of the buffer
+     */
+    public static Lease<ByteBuffer> borrowDirect(int size) {
+        int sizeClass = sizeClass(size);
+        ByteBuffer buffer = sizeClass < 0 ? null : DIRECT.poll(sizeClass);
+        boolean hit = buffer != null;
+        if (!hit) {
+            buffer = ByteBuffer.allocateDirect(sizeClass < 0 ? size : 1 << (sizeClass + MIN_CLASS_SHIFT));
+        }
+        buffer.clear().limit(size);
+        return lease(buffer, buffer.capacity(), sizeClass, hit, DIRECT);
+    }
+
+    private static <T> Lease<T> lease(T buffer, int capacity, int sizeClass, boolean hit, SizeClasses<T> pool) {
+        BORROWS.increment();
+        if (hit) {
+            POOL_HITS.increment();
+        }
+        OUTSTANDING_COUNT.incrementAndGet();
+        OUTSTANDING_SIZE.addAndGet(capacity);
+        return new Lease<>(buffer, capacity, sizeClass, pool);
+    }
+
+    private static int sizeClass(int size) {
+        int shift = Math.max(MIN_CLASS_SHIFT, 32 - Integer.numberOfLeadingZeros(Math.max(size, 1) - 1));
+        return shift > MAX_CLASS_SHIFT ? -1 : shift - MIN_CLASS_SHIFT;
+    }
+
+    /**
+     * Creates a {@code BufferPoolStats} value describing the use of the pool since the program started.
+     *
+     * @return The statistics
+     */
+    public static BMap<BString, Object> stats() {
+        BMap<BString, Object> stats = ValueCreator.createRecordValue(ModuleUtils.getModule(), BUFFER_POOL_STATS);
+        long borrowed = BORROWS.sum();
+        long hits = POOL_HITS.sum();
+        stats.put(BORROWED, borrowed);
+        stats.put(HITS, hits);
+        stats.put(HIT_RATE, borrowed == 0 ? 0.0 : (double) hits / borrowed);
+        stats.put(OUTSTANDING, OUTSTANDING_COUNT.get());
+        stats.put(OUTSTANDING_BYTES, OUTSTANDING_SIZE.get());
+        stats.put(POOLED_BYTES, HEAP.pooledBytes.get());
+        stats.put(POOLED_DIRECT_BYTES, DIRECT.pooledBytes.get());
+        return stats;
+    }
+
+    /**
+     * A buffer borrowed from the pool. Closing the lease returns the buffer; closing it again has no effect.
+     *
+     * @param <T> The type of the buffer
+     */
+    public static final class Lease<T> implements AutoCloseable {
+
+        private final T buffer;
+        private final int capacity;
+        private final int sizeClass;
+        private final SizeClasses<T> pool;
+        private boolean closed;
+
+        private Lease(T buffer, int capacity, int sizeClass, SizeClasses<T> pool) {
+            this.buffer = buffer;
+            this.capacity = capacity;
+            this.sizeClass = sizeClass;
+            this.pool = pool;
+        }
+
+        /**
+         * Gets the borrowed buffer.
+         *
+         * @return The buffer
+         */
+        public T buffer() {
+            return buffer;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            OUTSTANDING_COUNT.decrementAndGet();
+            OUTSTANDING_SIZE.addAndGet(-capacity);
+            if (sizeClass >= 0) {
+                pool.offer(sizeClass, buffer, capacity);
+            }
+        }
+    }
+
+    /**
+     * The returned buffers of one kind, by size class.
+     */
+    private static final class SizeClasses<T> {
+
+        private final ArrayBlockingQueue<T>[] classes;
+        private final AtomicLong pooledBytes = new AtomicLong();
+
+        @SuppressWarnings("unchecked")
+        SizeClasses() {
+            classes = new ArrayBlockingQueue[MAX_CLASS_SHIFT - MIN_CLASS_SHIFT + 1];
+            for (int i = 0; i < classes.length; i++) {
+                classes[i] = new ArrayBlockingQueue<>(
+                        (int) Math.max(2, RETAINED_BYTES_PER_CLASS >> (i + MIN_CLASS_SHIFT)));
+            }
+        }
+
+        T poll(int sizeClass) {
+            T buffer = classes[sizeClass].poll();
+            if (buffer != null) {
+                pooledBytes.addAndGet(-(1L << (sizeClass + MIN_CLASS_SHIFT)));
+            }
+            return buffer;
+        }
+
+        void offer(int sizeClass, T buffer, int capacity) {
+            pooledBytes.addAndGet(capacity);
+            if (!classes[sizeClass].offer(buffer)) {
+                pooledBytes.addAndGet(-capacity);
+            }
+        }
+    }
+}
@@ -31,99 +31,63 @@ public class CSVUtils {
         if (inputContent.isEmpty()) {
             return "";
         }
-        String lineSeparator = System.lineSeparator();
+        String lineSeparator = CsvSerializationPlan.LINE_SEPARATOR;
         StringBuilder csvBuilder = new StringBuilder();
         Object firstElement = inputContent.get(0);
         if (firstElement instanceof BArray) {
             for (int i = 0; i < inputContent.size(); i++) {
                 BArray row = (BArray) inputContent.get(i);
-                csvBuilder.append(convertArrayToCsvRow(row));
+                appendArrayRow(row, csvBuilder);
                 csvBuilder.append(lineSeparator);
             }
         } else {
-            BMap<BString, Object> firstRecord = (BMap<BString, Object>) firstElement;
-            BString[] keys = firstRecord.getKeys();
-
+            CsvSerializationPlan plan = CsvSerializationPlan.forRecord((BMap<BString, Object>) firstElement);
             if (addHeader) {
-                csvBuilder.append(keysToRow(keys));
+                csvBuilder.append(plan.header());
                 csvBuilder.append(lineSeparator);
             }
             for (int i = 0; i < inputContent.size(); i++) {
                 BMap<BString, Object> recordVal = (BMap<BString, Object>) inputContent.get(i);
-                csvBuilder.append(recordToCsvRow(recordVal, keys));
+                plan.appendRow(recordVal, csvBuilder);
                 csvBuilder.append(lineSeparator);
             }
         }
         return csvBuilder.toString();
     }
 
-    private static String keysToRow(BString[] keys) {
+    public static String convertArrayToCsvRow(BArray array) {
         StringBuilder row = new StringBuilder();
-        for (int i = 0; i < keys.length; i++) {
-            row.append(escapeCsvValue(keys[i].getValue()));
-            if (i < keys.length - 1) {
-                row.append(",");
-            }
-        }
+        appendArrayRow(array, row);
         return row.toString();
     }
 
-    public static String convertArrayToCsvRow(BArray array) {
-        StringBuilder row = new StringBuilder();
+    public static void appendArrayRow(BArray array, StringBuilder out) {
         for (int i = 0; i < array.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
             Object value = array.get(i);
-            row.append(escapeCsvValue(valueToString(value)));
-            if (i < array.size() - 1) {
-                row.append(",");
+            if (value != null) {
+                CsvSerializationPlan.appendEscaped(valueToString(value), out);
             }
         }
-        return row.toString();
     }
 
     public static String convertRecordToCsvRow(BMap<BString, Object> balRecord, boolean includeHeader) {
-        BString[] keys = balRecord.getKeys();
+        CsvSerializationPlan plan = CsvSerializationPlan.forRecord(balRecord);
         StringBuilder result = new StringBuilder();
         if (includeHeader) {
-            result.append(keysToRow(keys));
-            result.append(System.lineSeparator());
+            result.append(plan.header());
+            result.append(CsvSerializationPlan.LINE_SEPARATOR);
         }
-        result.append(recordToCsvRow(balRecord, keys));
+        plan.appendRow(balRecord, result);
         return result.toString();
     }
 
-    private static String recordToCsvRow(BMap<BString, Object> balRecord, BString[] keys) {
-        StringBuilder row = new StringBuilder();
-        for (int i = 0; i < keys.length; i++) {
-            Object value = balRecord.get(keys[i]);
-            row.append(escapeCsvValue(valueToString(value)));
-            if (i < keys.length - 1) {
-                row.append(",");
-            }
-        }
-        return row.toString();
-    }
-
     private static String valueToString(Object value) {
-        if (value == null) {
-            return "";
-        }
         if (value instanceof BString) {
             return ((BString) value).getValue();
         }
         return value.toString();
     }
-
-    private static String escapeCsvValue(String value) {
-        if (value == null || value.isEmpty()) {
-            return "";
-        }
-        boolean needsQuotes = value.contains(",") || value.contains("\"") ||
-                value.contains("\n") || value.contains("\r");
-        if (needsQuotes) {
-            String escaped = value.replace("\"", "\"\"");
-            return "\"" + escaped + "\"";
-        }
-        return value;
-    }
-
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.util;
+
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * How file content is compressed on the share. Compressed content is gzip encoded as it is written and decoded
+ * as it is read, a buffer at a time, so neither the compressed nor the plain content is held whole in memory.
+ */
+public enum ContentCompression {
+
+    /**
+     * Content is read and written as is.
+     */
+    NONE,
+
+    /**
+     * The content of every file is compressed.
+     */
+    GZIP,
+
+    /**
+     * The content of files whose names end in {@code .gz} is compressed.
+     */
+    AUTO;
+
+    private static final String GZIP_EXTENSION = ".gz";
+
+    /**
+     * Gets the compression named by a {@code smb:Compression} value.
+     *
+     * @param value The configured value, or {@code null} when it is not set
+     * @return The compression, {@link #NONE} when the value is not set
+     */
+    public static ContentCompression from(Object value) {
+        return value instanceof BString name ? valueOf(name.getValue()) : NONE;
+    }
+
+    /**
+     * Checks whether the content of the given file is compressed.
+     *
+     * @param fileName The name or path of the file
+     * @return {@code true} if the content is gzip encoded on the share
+     */
+    public boolean appliesTo(String fileName) {
+        return switch (this) {
+            case NONE -> false;
+            case GZIP -> true;
+            case AUTO -> hasGzipExtension(fileName);
+        };
+    }
+
+    /**
+     * Gets the name the content of the given file is handled under, which drops a {@code .gz} extension from
+     * the name of a compressed file. A {@code report.csv.gz} file is handled as {@code report.csv}.
+     *
+     * @param fileName The name or path of the file
+     * @return The name of the content
+     */
+    public String contentName(String fileName) {
+        if (appliesTo(fileName) && hasGzipExtension(fileName)) {
+            return fileName.substring(0, fileName.length() - GZIP_EXTENSION.length());
+        }
+        return fileName;
+    }
+
+    /**
+     * Wraps the content read from a file so that it is decoded as it is read.
+     *
+     * @param content    The content as it is stored on the share
+     * @param fileName   The name or path of the file
+     * @param bufferSize The size of the buffer the compressed content is read into
+     * @return The plain content, or the given stream when the file is not compressed
+     * @throws IOException If the content does not start with a gzip header
+     */
+    public InputStream decode(InputStream content, String fileName, int bufferSize) throws IOException {
+        return appliesTo(fileName) ? new GZIPInputStream(content, bufferSize) : content;
+    }
+
+    /**
+     * Wraps the stream a file is written through so that the content is encoded as it is written. The returned
+     * stream must be closed to write the end of the compressed content.
+     *
+     * @param content    The stream that writes to the share
+     * @param fileName   The name or path of the file
+     * @param bufferSize The size of the buffer the compressed content is gathered into
+     * @return The encoding stream, or the given stream when the file is not compressed
+     * @throws IOException If the gzip header cannot be written
+     */
+    public OutputStream encode(OutputStream content, String fileName, int bufferSize) throws IOException {
+        return appliesTo(fileName) ? new GZIPOutputStream(content, bufferSize) : content;
+    }
+
+    private static boolean hasGzipExtension(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(GZIP_EXTENSION);
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.util;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32C;
+
+/**
+ * Computes the digest of content as it is read or written, checks it against an expected {@code smb:Digest}
+ * and hands it to an {@code smb:ComputedDigest}. The digest is updated with each buffer as it passes, so the
+ * content does not have to be read a second time to be verified.
+ */
+public final class ContentDigest {
+
+    private static final BString ALGORITHM = StringUtils.fromString("algorithm");
+    private static final BString VALUE = StringUtils.fromString("value");
+    private static final String SHA_256 = "SHA_256";
+    private static final String CRC32C = "CRC32C";
+    private static final String COMPUTED_VALUE = "computedValue";
+
+    private final String algorithm;
+    private final String expected;
+    private final AtomicReference<BString> computed;
+    private final MessageDigest messageDigest;
+    private final CRC32C checksum;
+
+    private ContentDigest(String algorithm, String expected, AtomicReference<BString> computed)
+            throws NoSuchAlgorithmException {
+        this.algorithm = algorithm;
+        this.expected = expected;
+        this.computed = computed;
+        this.messageDigest = SHA_256.equals(algorithm) ? MessageDigest.getInstance("SHA-256") : null;
+        this.checksum = CRC32C.equals(algorithm) ? new CRC32C() : null;
+    }
+
+    /**
+     * Creates a digest to check content against the given expected digest and to hand to the given receiver.
+     *
+     * @param expectedDigest The {@code smb:Digest} value, or null
+     * @param computedDigest The {@code smb:ComputedDigest} object, or null
+     * @return The digest, or null if no digest is expected or received
+     * @throws NoSuchAlgorithmException If the platform does not provide SHA-256
+     */
+    @SuppressWarnings("unchecked")
+    public static ContentDigest from(Object expectedDigest, Object computedDigest) throws NoSuchAlgorithmException {
+        String algorithm = null;
+        String expected = null;
+        AtomicReference<BString> computed = null;
+        if (expectedDigest instanceof BMap<?, ?>) {
+            BMap<BString, Object> digest = (BMap<BString, Object>) expectedDigest;
+            algorithm = digest.getStringValue(ALGORITHM).getValue();
+            expected = digest.getStringValue(VALUE).getValue().trim();
+        }
+        if (computedDigest instanceof BObject receiver) {
+            String receiverAlgorithm = receiver.getStringValue(ALGORITHM).getValue();
+            if (algorithm != null && !algorithm.equals(receiverAlgorithm)) {
+                throw new IllegalArgumentException("The expected digest is " + algorithm
+                        + ", but the computed digest is " + receiverAlgorithm);
+            }
+            algorithm = receiverAlgorithm;
+            computed = (AtomicReference<BString>) receiver.getNativeData(COMPUTED_VALUE);
+        }
+        return algorithm == null ? null : new ContentDigest(algorithm, expected, computed);
+    }
+
+    /**
+     * Prepares an {@code smb:ComputedDigest} to receive digests.
+     *
+     * @param computedDigest The {@code smb:ComputedDigest} object
+     */
+    public static void initComputedDigest(BObject computedDigest) {
+        computedDigest.addNativeData(COMPUTED_VALUE, new AtomicReference<BString>());
+    }
+
+    /**
+     * Gets the digest last handed to an {@code smb:ComputedDigest}.
+     *
+     * @param computedDigest The {@code smb:ComputedDigest} object
+     * @return The digest in hexadecimal, or null if none has been computed yet
+     */
+    @SuppressWarnings("unchecked")
+    public static Object value(BObject computedDigest) {
+        return ((AtomicReference<BString>) computedDigest.getNativeData(COMPUTED_VALUE)).get();
+    }
+
+    /**
+     * Checks whether the content is checked against an expected digest, rather than only having its digest computed.
+     *
+     * @return true if a digest is expected
+     */
+    public boolean hasExpected() {
+        return expected != null;
+    }
+
+    /**
+     * Adds a part of the content to the digest.
+     *
+     * @param bytes  The buffer holding the content
+     * @param offset The offset of the content in the buffer
+     * @param length The number of bytes of content
+     */
+    public void update(byte[] bytes, int offset, int length) {
+        if (messageDigest != null) {
+            messageDigest.update(bytes, offset, length);
+        } else {
+            checksum.update(bytes, offset, length);
+        }
+    }
+
+    /**
+     * Completes the digest of the content added so far, hands it to the receiver, if any, and checks it against the
+     * expected digest, if any.
+     *
+     * @throws MismatchException If the digest of the content is not the expected one
+     */
+    public void verify() throws MismatchException {
+        byte[] digest = messageDigest != null ? messageDigest.digest()
+                : ByteBuffer.allocate(Integer.BYTES).putInt((int) checksum.getValue()).array();
+        String actual = HexFormat.of().formatHex(digest);
+        if (computed != null) {
+            computed.set(StringUtils.fromString(actual));
+        }
+        if (expected != null && !actual.equalsIgnoreCase(expected)) {
+            throw new MismatchException("The " + algorithm + " digest of the content is " + actual + ", but "
+                    + expected + " was expected");
+        }
+    }
+
+    /**
+     * Wraps a stream so that the content is added to the digest as it is read, and checked when the end of the
+     * stream is reached.
+     *
+     * @param content The stream to read
+     * @return The wrapped stream, whose read fails with a {@link MismatchException} at the end of a content
+     * that does not have the expected digest
+     */
+    public InputStream verifying(InputStream content) {
+        return new FilterInputStream(content) {
+            private boolean isVerified = false;
+
+            @Override
+            public int read() throws IOException {
+                int value = super.read();
+                if (value == -1) {
+                    verifyOnce();
+                } else {
+                    update(new byte[]{(byte) value}, 0, 1);
+                }
+                return value;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = super.read(buffer, offset, length);
+                if (read == -1) {
+                    verifyOnce();
+                } else {
+                    update(buffer, offset, read);
+                }
+                return read;
+            }
+
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                // Skipped bytes would be left out of the digest, so they are read instead.
+                byte[] buffer = new byte[(int) Math.min(n, 8192)];
+                int read = read(buffer, 0, buffer.length);
+                return Math.max(read, 0);
+            }
+
+            private void verifyOnce() throws MismatchException {
+                if (!isVerified) {
+                    isVerified = true;
+                    verify();
+                }
+            }
+        };
+    }
+
+    /**
+     * Thrown when content does not have the expected digest.
+     */
+    public static final class MismatchException extends IOException {
+
+        MismatchException(String message) {
+            super(message);
+        }
+    }
+}
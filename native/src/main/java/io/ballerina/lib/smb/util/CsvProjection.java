@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.util;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static io.ballerina.lib.smb.client.SmbClient.SMB_ERROR;
+
+/**
+ * Applies the {@code CsvReadOptions} of a CSV read to the raw content, before it is bound.
+ * Records are split into field slices of the content. Only the values of the filter columns are decoded, to test
+ * the row; the kept fields are copied as they are, quotes included, into a smaller CSV with the same header
+ * structure, which is then bound as usual.
+ */
+public final class CsvProjection {
+
+    private static final BString COLUMNS = StringUtils.fromString("columns");
+    private static final BString FILTER = StringUtils.fromString("filter");
+    private static final BString COLUMN = StringUtils.fromString("column");
+    private static final BString EQUALS = StringUtils.fromString("equals");
+    private static final BString IN = StringUtils.fromString("in");
+    private static final BString MIN = StringUtils.fromString("min");
+    private static final BString MAX = StringUtils.fromString("max");
+    private static final byte COMMA = ',';
+    private static final byte QUOTE = '"';
+    private static final byte ESCAPE = '\\';
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final String[] columns;
+    private final Condition[] conditions;
+
+    private CsvProjection(String[] columns, Condition[] conditions) {
+        this.columns = columns;
+        this.conditions = conditions;
+    }
+
+    /**
+     * Creates a projection from the read options of a CSV read.
+     *
+     * @param options The {@code CsvReadOptions} value, or null
+     * @return The projection, or null if the options select every column and row
+     */
+    @SuppressWarnings("unchecked")
+    public static CsvProjection from(Object options) {
+        if (!(options instanceof BMap<?, ?>)) {
+            return null;
+        }
+        BMap<BString, Object> readOptions = (BMap<BString, Object>) options;
+        String[] columns = readOptions.get(COLUMNS) instanceof BArray columnArray ? toStrings(columnArray) : null;
+        Object filter = readOptions.get(FILTER);
+        Condition[] conditions;
+        if (filter instanceof BMap<?, ?> filterValue) {
+            conditions = new Condition[]{Condition.from((BMap<BString, Object>) filterValue)};
+        } else if (filter instanceof BArray filterValues) {
+            conditions = new Condition[filterValues.size()];
+            for (int i = 0; i < conditions.length; i++) {
+                conditions[i] = Condition.from((BMap<BString, Object>) filterValues.get(i));
+            }
+        } else {
+            conditions = new Condition[0];
+        }
+        return columns == null && conditions.length == 0 ? null : new CsvProjection(columns, conditions);
+    }
+
+    private static String[] toStrings(BArray values) {
+        String[] strings = new String[values.size()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = values.getBString(i).getValue();
+        }
+        return strings;
+    }
+
+    /**
+     * Keeps the selected columns of the rows that meet the filter. The first record with content is taken
+     * as the header row and kept, reduced to the selected columns.
+     *
+     * @param content The CSV content
+     * @return The reduced CSV content
+     */
+    public byte[] apply(byte[] content) {
+        return new Pass(content).run();
+    }
+
+    /**
+     * A {@code CsvRowFilter}: the conditions on the value of one column.
+     */
+    private record Condition(String column, String equalsValue, Set<String> allowedValues, BigDecimal min,
+                             BigDecimal max) {
+
+        private static Condition from(BMap<BString, Object> filter) {
+            String equalsValue = filter.get(EQUALS) instanceof BString value ? value.getValue() : null;
+            Set<String> allowedValues = filter.get(IN) instanceof BArray values
+                    ? new HashSet<>(Arrays.asList(toStrings(values))) : null;
+            BigDecimal min = filter.get(MIN) instanceof BDecimal value ? value.decimalValue() : null;
+            BigDecimal max = filter.get(MAX) instanceof BDecimal value ? value.decimalValue() : null;
+            return new Condition(filter.getStringValue(COLUMN).getValue(), equalsValue, allowedValues, min, max);
+        }
+
+        private boolean accepts(String value) {
+            if (equalsValue != null && !equalsValue.equals(value)) {
+                return false;
+            }
+            if (allowedValues != null && !allowedValues.contains(value)) {
+                return false;
+            }
+            if (min == null && max == null) {
+                return true;
+            }
+            BigDecimal number;
+            try {
+                number = new BigDecimal(value.trim());
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            return (min == null || number.compareTo(min) >= 0) && (max == null || number.compareTo(max) <= 0);
+        }
+    }
+
+    /**
+     * One pass over the content, holding the field slices of the current record.
+     */
+    private final class Pass {
+
+        private final byte[] content;
+        private int[] fieldStarts = new int[16];
+        private int[] fieldEnds = new int[16];
+        private int fieldCount;
+        private byte[] output;
+        private int outputLength;
+
+        private Pass(byte[] content) {
+            this.content = content;
+            this.output = new byte[Math.max(content.length / 4, 64)];
+        }
+
+        private byte[] run() {
+            int position = startsWithByteOrderMark() ? 3 : 0;
+            do {
+                position = readRecord(position);
+            } while (position < content.length && isBlankRecord());
+            if (isBlankRecord()) {
+                return content;
+            }
+
+            int[] selected = resolveSelectedColumns();
+            int[] filterIndexes = new int[conditions.length];
+            for (int i = 0; i < conditions.length; i++) {
+                filterIndexes[i] = indexOf(conditions[i].column());
+            }
+            writeRecord(selected);
+            while (position < content.length) {
+                position = readRecord(position);
+                if (isBlankRecord()) {
+                    continue;
+                }
+                if (accepts(filterIndexes)) {
+                    writeRecord(selected);
+                }
+            }
+            return Arrays.copyOf(output, outputLength);
+        }
+
+        private boolean accepts(int[] filterIndexes) {
+            for (int i = 0; i < conditions.length; i++) {
+                if (!conditions[i].accepts(decodeField(filterIndexes[i]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int[] resolveSelectedColumns() {
+            if (columns == null) {
+                return null;
+            }
+            int[] selected = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                selected[i] = indexOf(columns[i]);
+            }
+            return selected;
+        }
+
+        private int indexOf(String column) {
+            for (int i = 0; i < fieldCount; i++) {
+                if (column.equals(decodeField(i))) {
+                    return i;
+                }
+            }
+            throw SmbUtil.createError("Column '" + column + "' is not in the CSV header", SMB_ERROR);
+        }
+
+        /**
+         * Splits the record that starts at the given position into field slices.
+         *
+         * @return The start of the next record
+         */
+        private int readRecord(int start) {
+            fieldCount = 0;
+            int fieldStart = start;
+            boolean inQuotes = false;
+            int index = start;
+            for (; index < content.length; index++) {
+                byte current = content[index];
+                if (inQuotes) {
+                    if (current == ESCAPE) {
+                        index++;
+                    } else if (current == QUOTE) {
+                        inQuotes = false;
+                    }
+                } else if (current == QUOTE) {
+                    inQuotes = true;
+                } else if (current == COMMA) {
+                    addField(fieldStart, index);
+                    fieldStart = index + 1;
+                } else if (current == LINE_FEED) {
+                    int fieldEnd = index > fieldStart && content[index - 1] == CARRIAGE_RETURN ? index - 1 : index;
+                    addField(fieldStart, fieldEnd);
+                    return index + 1;
+                }
+            }
+            addField(fieldStart, Math.min(index, content.length));
+            return content.length;
+        }
+
+        private void addField(int start, int end) {
+            if (fieldCount == fieldStarts.length) {
+                fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+                fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+            }
+            fieldStarts[fieldCount] = start;
+            fieldEnds[fieldCount] = end;
+            fieldCount++;
+        }
+
+        private boolean isBlankRecord() {
+            if (fieldCount != 1) {
+                return false;
+            }
+            for (int index = fieldStarts[0]; index < fieldEnds[0]; index++) {
+                if (!Character.isWhitespace(content[index])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Decodes a field of the current record, dropping its quotes. A field beyond the end of the
+         * record is empty.
+         */
+        private String decodeField(int field) {
+            if (field >= fieldCount) {
+                return "";
+            }
+            int start = fieldStarts[field];
+            int end = fieldEnds[field];
+            if (end - start < 2 || content[start] != QUOTE || content[end - 1] != QUOTE) {
+                return new String(content, start, end - start, StandardCharsets.UTF_8);
+            }
+            String quoted = new String(content, start + 1, end - start - 2, StandardCharsets.UTF_8);
+            return quoted.replace("\"\"", "\"").replace("\\\"", "\"");
+        }
+
+        private void writeRecord(int[] selected) {
+            int count = selected == null ? fieldCount : selected.length;
+            for (int i = 0; i < count; i++) {
+                if (i > 0) {
+                    write(COMMA);
+                }
+                int field = selected == null ? i : selected[i];
+                if (field < fieldCount) {
+                    write(fieldStarts[field], fieldEnds[field]);
+                }
+            }
+            write(LINE_FEED);
+        }
+
+        private void write(int from, int to) {
+            ensureCapacity(to - from);
+            System.arraycopy(content, from, output, outputLength, to - from);
+            outputLength += to - from;
+        }
+
+        private void write(byte value) {
+            ensureCapacity(1);
+            output[outputLength++] = value;
+        }
+
+        private void ensureCapacity(int count) {
+            if (outputLength + count > output.length) {
+                output = Arrays.copyOf(output, Math.max(output.length * 2, outputLength + count));
+            }
+        }
+
+        private boolean startsWithByteOrderMark() {
+            return content.length >= 3 && content[0] == (byte) 0xEF && content[1] == (byte) 0xBB
+                    && content[2] == (byte) 0xBF;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.util;
+
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The column order, header and per-column formatters used to write records of one type as CSV rows.
+ * Plans of closed record types, whose values always carry the same fields, are built once and cached.
+ */
+public final class CsvSerializationPlan {
+
+    public static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final Map<Type, CsvSerializationPlan> PLANS = new ConcurrentHashMap<>();
+
+    private final BString[] columns;
+    private final ColumnFormat[] formats;
+    private final String header;
+
+    private CsvSerializationPlan(BString[] columns, ColumnFormat[] formats) {
+        this.columns = columns;
+        this.formats = formats;
+        StringBuilder headerRow = new StringBuilder();
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                headerRow.append(',');
+            }
+            appendEscaped(columns[i].getValue(), headerRow);
+        }
+        this.header = headerRow.toString();
+    }
+
+    /**
+     * Gets the plan for the type of the given record. The record's own keys are used as the columns
+     * when its type is open or has optional fields, as those vary between values of the type.
+     *
+     * @param balRecord A record of the type to be written
+     * @return The serialization plan
+     */
+    public static CsvSerializationPlan forRecord(BMap<BString, Object> balRecord) {
+        Type type = balRecord.getType();
+        CsvSerializationPlan plan = PLANS.get(type);
+        if (plan != null) {
+            return plan;
+        }
+        Type impliedType = TypeUtils.getImpliedType(type);
+        if (impliedType instanceof RecordType recordType && hasFixedFields(recordType)) {
+            return PLANS.computeIfAbsent(type, key -> fromFields(recordType));
+        }
+        return fromKeys(balRecord.getKeys(), impliedType);
+    }
+
+    private static boolean hasFixedFields(RecordType recordType) {
+        if (!recordType.isSealed()) {
+            return false;
+        }
+        for (Field field : recordType.getFields().values()) {
+            if (SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.OPTIONAL)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static CsvSerializationPlan fromFields(RecordType recordType) {
+        Map<String, Field> fields = recordType.getFields();
+        BString[] columns = new BString[fields.size()];
+        ColumnFormat[] formats = new ColumnFormat[fields.size()];
+        int index = 0;
+        for (Field field : fields.values()) {
+            columns[index] = StringUtils.fromString(field.getFieldName());
+            formats[index] = ColumnFormat.of(field.getFieldType());
+            index++;
+        }
+        return new CsvSerializationPlan(columns, formats);
+    }
+
+    private static CsvSerializationPlan fromKeys(BString[] keys, Type impliedType) {
+        Map<String, Field> fields = impliedType instanceof RecordType recordType ? recordType.getFields() : Map.of();
+        ColumnFormat[] formats = new ColumnFormat[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            Field field = fields.get(keys[i].getValue());
+            formats[i] = field == null ? ColumnFormat.GENERIC : ColumnFormat.of(field.getFieldType());
+        }
+        return new CsvSerializationPlan(keys, formats);
+    }
+
+    /**
+     * Gets the header row, without a line separator.
+     *
+     * @return The header row
+     */
+    public String header() {
+        return header;
+    }
+
+    /**
+     * Appends the given record as a CSV row, without a line separator.
+     *
+     * @param balRecord The record to write
+     * @param out       The buffer to append to
+     */
+    public void appendRow(BMap<BString, Object> balRecord, StringBuilder out) {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            Object value = balRecord.get(columns[i]);
+            if (value != null) {
+                formats[i].append(value, out);
+            }
+        }
+    }
+
+    /**
+     * Appends a value to a CSV buffer, quoting it when it holds a delimiter, a quote or a line break.
+     * The value is scanned once; the characters before the first one that needs quoting are copied as is.
+     *
+     * @param value The value to write
+     * @param out   The buffer to append to
+     */
+    public static void appendEscaped(String value, StringBuilder out) {
+        int length = value.length();
+        int index = 0;
+        while (index < length && !needsQuotes(value.charAt(index))) {
+            index++;
+        }
+        if (index == length) {
+            out.append(value);
+            return;
+        }
+        out.append('"').append(value, 0, index);
+        for (; index < length; index++) {
+            char current = value.charAt(index);
+            if (current == '"') {
+                out.append('"');
+            }
+            out.append(current);
+        }
+        out.append('"');
+    }
+
+    private static boolean needsQuotes(char current) {
+        return current == ',' || current == '"' || current == '\n' || current == '\r';
+    }
+
+    /**
+     * How the values of a column are turned into CSV text, chosen from the declared field type.
+     */
+    enum ColumnFormat {
+        INT {
+            @Override
+            void append(Object value, StringBuilder out) {
+                if (value instanceof Long longValue) {
+                    out.append(longValue.longValue());
+                } else {
+                    GENERIC.append(value, out);
+                }
+            }
+        },
+        BOOLEAN {
+            @Override
+            void append(Object value, StringBuilder out) {
+                if (value instanceof Boolean booleanValue) {
+                    out.append(booleanValue.booleanValue());
+                } else {
+                    GENERIC.append(value, out);
+                }
+            }
+        },
+        DECIMAL {
+            @Override
+            void append(Object value, StringBuilder out) {
+                // The string form of a decimal has no delimiter, quote or line break to escape.
+                if (value instanceof BDecimal) {
+                    out.append(value);
+                } else {
+                    GENERIC.append(value, out);
+                }
+            }
+        },
+        STRING {
+            @Override
+            void append(Object value, StringBuilder out) {
+                if (value instanceof BString stringValue) {
+                    appendEscaped(stringValue.getValue(), out);
+                } else {
+                    GENERIC.append(value, out);
+                }
+            }
+        },
+        GENERIC {
+            @Override
+            void append(Object value, StringBuilder out) {
+                String text = value instanceof BString stringValue ? stringValue.getValue() : value.toString();
+                appendEscaped(text, out);
+            }
+        };
+
+        abstract void append(Object value, StringBuilder out);
+
+        static ColumnFormat of(Type fieldType) {
+            return switch (TypeUtils.getImpliedType(fieldType).getTag()) {
+                case TypeTags.INT_TAG, TypeTags.SIGNED8_INT_TAG, TypeTags.SIGNED16_INT_TAG,
+                        TypeTags.SIGNED32_INT_TAG, TypeTags.UNSIGNED8_INT_TAG, TypeTags.UNSIGNED16_INT_TAG,
+                        TypeTags.UNSIGNED32_INT_TAG, TypeTags.BYTE_TAG -> INT;
+                case TypeTags.BOOLEAN_TAG -> BOOLEAN;
+                case TypeTags.DECIMAL_TAG -> DECIMAL;
+                case TypeTags.STRING_TAG, TypeTags.CHAR_STRING_TAG -> STRING;
+                default -> GENERIC;
+            };
+        }
+    }
+}
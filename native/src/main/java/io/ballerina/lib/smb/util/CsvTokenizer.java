@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.util;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits UTF-8 CSV content into a {@code string[][]} without decoding the content as a whole.
+ * Fields are separated by commas and records by line breaks outside quoted fields. Quoting follows RFC 4180 only:
+ * in a quoted field a doubled quote stands for one quote, and a backslash is an ordinary character. Lines that hold
+ * only whitespace are skipped. Callers that must match data.csv, which also reads backslash escapes, check
+ * {@link #hasEscapes} first.
+ * <p>
+ * The bytes are scanned eight at a time for a delimiter, a quote or a line break. A field without quotes is
+ * decoded straight from its slice of the content; only a field with quotes is copied, to drop the quotes.
+ */
+public final class CsvTokenizer {
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final byte COMMA = ',';
+    private static final byte QUOTE = '"';
+    private static final byte ESCAPE = '\\';
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final long COMMAS = ONES * COMMA;
+    private static final long QUOTES = ONES * QUOTE;
+    private static final long LINE_FEEDS = ONES * LINE_FEED;
+    private static final long CARRIAGE_RETURNS = ONES * CARRIAGE_RETURN;
+    private static final long ESCAPES = ONES * ESCAPE;
+    private static final BString EMPTY_FIELD = StringUtils.fromString("");
+    private static final ArrayType STRING_ARRAY_ARRAY_TYPE =
+            TypeCreator.createArrayType(TypeCreator.createArrayType(PredefinedTypes.TYPE_STRING));
+
+    private final byte[] content;
+    private final int end;
+    private final List<BString> fields = new ArrayList<>();
+    private byte[] scratch = new byte[64];
+    private int scratchLength;
+
+    private CsvTokenizer(byte[] content) {
+        this.content = content;
+        this.end = content.length;
+    }
+
+    /**
+     * Parses CSV content as a {@code string[][]}.
+     *
+     * @param content    The UTF-8 encoded content
+     * @param skipHeader Whether the first record is a header row to leave out
+     * @return The records of the content
+     */
+    public static BArray parse(byte[] content, boolean skipHeader) {
+        List<BArray> rows = new CsvTokenizer(content).readRecords(skipHeader);
+        return ValueCreator.createArrayValue(rows.toArray(new BArray[0]), STRING_ARRAY_ARRAY_TYPE);
+    }
+
+    /**
+     * Checks whether a target type is {@code string[][]}, which this tokenizer binds without data.csv.
+     *
+     * @param targetType The target type
+     * @return true if the type is an array of string arrays
+     */
+    public static boolean isStringTable(Type targetType) {
+        Type referredType = TypeUtils.getReferredType(targetType);
+        if (referredType.getTag() != TypeTags.ARRAY_TAG) {
+            return false;
+        }
+        Type rowType = TypeUtils.getReferredType(((ArrayType) referredType).getElementType());
+        return rowType.getTag() == TypeTags.ARRAY_TAG
+                && ((ArrayType) rowType).getElementType().getTag() == TypeTags.STRING_TAG;
+    }
+
+    /**
+     * Checks whether content holds a backslash, which data.csv reads as an escape and this tokenizer does not.
+     *
+     * @param content The UTF-8 encoded content
+     * @return true if the content holds a backslash
+     */
+    public static boolean hasEscapes(byte[] content) {
+        int index = 0;
+        for (; index + Long.BYTES <= content.length; index += Long.BYTES) {
+            if (matchBytes((long) LONG_VIEW.get(content, index), ESCAPES) != 0) {
+                return true;
+            }
+        }
+        for (; index < content.length; index++) {
+            if (content[index] == ESCAPE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<BArray> readRecords(boolean skipHeader) {
+        List<BArray> rows = new ArrayList<>();
+        boolean isHeaderPending = skipHeader;
+        int position = hasByteOrderMark() ? 3 : 0;
+        while (position < end) {
+            int recordStart = position;
+            fields.clear();
+            byte terminator;
+            do {
+                position = readField(position);
+                terminator = position < end ? content[position] : LINE_FEED;
+                position++;
+            } while (terminator == COMMA);
+            if (terminator == CARRIAGE_RETURN && position < end && content[position] == LINE_FEED) {
+                position++;
+            }
+            if (fields.size() == 1 && isBlank(recordStart, Math.min(position, end))) {
+                continue;
+            }
+            if (isHeaderPending) {
+                isHeaderPending = false;
+                continue;
+            }
+            rows.add(ValueCreator.createArrayValue(fields.toArray(new BString[0])));
+        }
+        return rows;
+    }
+
+    /**
+     * Reads the field that starts at the given position.
+     *
+     * @return The position of the delimiter or line break that ends the field, or the end of the content
+     */
+    private int readField(int start) {
+        int cursor = nextDelimiter(start);
+        if (cursor == end || content[cursor] != QUOTE) {
+            fields.add(toBString(content, start, cursor - start));
+            return cursor;
+        }
+        scratchLength = 0;
+        appendToScratch(start, cursor);
+        boolean inQuotes = false;
+        // Inside quotes the cursor always stops at a quote, so a byte other than a quote ends the field.
+        while (cursor < end && (inQuotes || content[cursor] == QUOTE)) {
+            if (inQuotes && cursor + 1 < end && content[cursor + 1] == QUOTE) {
+                appendToScratch(cursor, cursor + 1);
+                cursor += 2;
+            } else {
+                inQuotes = !inQuotes;
+                cursor++;
+            }
+            int next = inQuotes ? nextQuote(cursor) : nextDelimiter(cursor);
+            appendToScratch(cursor, next);
+            cursor = next;
+        }
+        fields.add(toBString(scratch, 0, scratchLength));
+        return cursor;
+    }
+
+    private int nextDelimiter(int from) {
+        int index = from;
+        for (; index + Long.BYTES <= end; index += Long.BYTES) {
+            long word = (long) LONG_VIEW.get(content, index);
+            long matches = matchBytes(word, COMMAS) | matchBytes(word, QUOTES)
+                    | matchBytes(word, LINE_FEEDS) | matchBytes(word, CARRIAGE_RETURNS);
+            if (matches != 0) {
+                return index + (Long.numberOfTrailingZeros(matches) >>> 3);
+            }
+        }
+        for (; index < end; index++) {
+            byte current = content[index];
+            if (current == COMMA || current == QUOTE || current == LINE_FEED || current == CARRIAGE_RETURN) {
+                return index;
+            }
+        }
+        return end;
+    }
+
+    private int nextQuote(int from) {
+        return indexOfQuote(content, from, end);
+    }
+
+    /**
+     * Finds the first quote in a range of bytes, scanning eight bytes at a time.
+     *
+     * @param bytes The bytes to scan
+     * @param from  The first index to check
+     * @param to    The index to stop at
+     * @return The index of the quote, or {@code to} if there is none
+     */
+    static int indexOfQuote(byte[] bytes, int from, int to) {
+        int index = from;
+        for (; index + Long.BYTES <= to; index += Long.BYTES) {
+            long matches = matchBytes((long) LONG_VIEW.get(bytes, index), QUOTES);
+            if (matches != 0) {
+                return index + (Long.numberOfTrailingZeros(matches) >>> 3);
+            }
+        }
+        for (; index < to; index++) {
+            if (bytes[index] == QUOTE) {
+                return index;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Flags the bytes of a word that equal the byte repeated in {@code pattern}. The lowest flagged byte is
+     * always a match; bytes above a match may be flagged falsely, so only the lowest one is used.
+     */
+    private static long matchBytes(long word, long pattern) {
+        long difference = word ^ pattern;
+        return (difference - ONES) & ~difference & HIGH_BITS;
+    }
+
+    private void appendToScratch(int from, int to) {
+        int count = to - from;
+        if (scratchLength + count > scratch.length) {
+            scratch = Arrays.copyOf(scratch, Math.max(scratch.length * 2, scratchLength + count));
+        }
+        System.arraycopy(content, from, scratch, scratchLength, count);
+        scratchLength += count;
+    }
+
+    private boolean isBlank(int from, int to) {
+        for (int index = from; index < to; index++) {
+            if (!Character.isWhitespace(content[index])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasByteOrderMark() {
+        return end >= 3 && content[0] == (byte) 0xEF && content[1] == (byte) 0xBB && content[2] == (byte) 0xBF;
+    }
+
+    private static BString toBString(byte[] bytes, int offset, int length) {
+        return length == 0 ? EMPTY_FIELD : StringUtils.fromString(new String(bytes, offset, length,
+                StandardCharsets.UTF_8));
+    }
+}
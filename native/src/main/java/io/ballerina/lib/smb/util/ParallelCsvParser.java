@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.util;
+
+import io.ballerina.lib.data.csvdata.csv.Native;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Binds large CSV content to a record array on the common fork-join pool.
+ * The content is split into parts at record boundaries, each part after the first is prefixed with the header
+ * row, and the parts are bound concurrently with data.csv and joined in order. A record boundary is a line
+ * feed outside a quoted field, so a quoted field with line breaks is never split.
+ * <p>
+ * The parts are bound off the calling strand, so they are decoded and bound with data.csv's string parser,
+ * which needs no runtime environment; the environment of the calling strand is not used from the pool threads.
+ */
+final class ParallelCsvParser {
+
+    static final int MIN_PART_SIZE = 4 * 1024 * 1024;
+    private static final byte ESCAPE = '\\';
+    private static final byte LINE_FEED = '\n';
+
+    private final byte[] content;
+    private int scanned;
+    private boolean inQuotes;
+
+    private ParallelCsvParser(byte[] content) {
+        this.content = content;
+    }
+
+    /**
+     * Checks whether content is large enough to be split, and the target an open array of records.
+     *
+     * @param content    The CSV content
+     * @param targetType The referred target type
+     * @return true if the content can be bound in parallel
+     */
+    static boolean isApplicable(byte[] content, Type targetType) {
+        if (content.length < 2 * MIN_PART_SIZE || Runtime.getRuntime().availableProcessors() < 2
+                || targetType.getTag() != TypeTags.ARRAY_TAG) {
+            return false;
+        }
+        ArrayType arrayType = (ArrayType) targetType;
+        return arrayType.getSize() == -1
+                && TypeUtils.getReferredType(arrayType.getElementType()).getTag() == TypeTags.RECORD_TYPE_TAG;
+    }
+
+    /**
+     * Binds the content in parallel.
+     *
+     * @param content    The CSV content
+     * @param targetType The referred target type, for which {@link #isApplicable} holds
+     * @param options    The data.csv parse options
+     * @param typedesc   The typedesc of the target type
+     * @return The bound records, or null if the content could not be split or a part could not be bound, in
+     *         which case the content should be bound as a whole to get the exact error
+     */
+    static BArray parse(byte[] content, ArrayType targetType, BMap<BString, Object> options, BTypedesc typedesc) {
+        List<byte[]> parts = new ParallelCsvParser(content).split();
+        if (parts.size() < 2) {
+            return null;
+        }
+        List<ForkJoinTask<Object>> tasks = new ArrayList<>(parts.size());
+        for (byte[] part : parts) {
+            tasks.add(ForkJoinPool.commonPool().submit(() ->
+                    Native.parseString(StringUtils.fromString(decode(part)), options, typedesc)));
+        }
+        List<BArray> results = new ArrayList<>(tasks.size());
+        int total = 0;
+        boolean isFailed = false;
+        for (ForkJoinTask<Object> task : tasks) {
+            Object result;
+            try {
+                result = isFailed ? null : task.join();
+            } catch (RuntimeException e) {
+                result = null;
+            }
+            if (result instanceof BArray records) {
+                results.add(records);
+                total += records.size();
+            } else {
+                isFailed = true;
+                task.cancel(false);
+            }
+        }
+        if (isFailed) {
+            return null;
+        }
+        Object[] values = new Object[total];
+        int index = 0;
+        for (BArray records : results) {
+            for (int i = 0; i < records.size(); i++) {
+                values[index++] = records.get(i);
+            }
+        }
+        return ValueCreator.createArrayValue(values, targetType);
+    }
+
+    private static String decode(byte[] part) {
+        int offset = part.length >= 3 && part[0] == (byte) 0xEF && part[1] == (byte) 0xBB && part[2] == (byte) 0xBF
+                ? 3 : 0;
+        return new String(part, offset, part.length - offset, StandardCharsets.UTF_8);
+    }
+
+    private List<byte[]> split() {
+        int length = content.length;
+        int headerStart = 0;
+        int headerEnd = nextRecordStart(0);
+        while (headerEnd < length && isBlank(headerStart, headerEnd)) {
+            headerStart = headerEnd;
+            headerEnd = nextRecordStart(headerStart);
+        }
+        if (headerEnd >= length) {
+            return List.of(content);
+        }
+        byte[] header = Arrays.copyOfRange(content, headerStart, headerEnd);
+
+        int partCount = Math.min(Runtime.getRuntime().availableProcessors(), length / MIN_PART_SIZE);
+        List<byte[]> parts = new ArrayList<>(partCount);
+        int partStart = 0;
+        for (int i = 1; i < partCount && partStart < length; i++) {
+            long target = (long) length * i / partCount;
+            int partEnd = nextRecordStart((int) Math.max(target, Math.max(headerEnd, scanned)));
+            if (partEnd >= length) {
+                break;
+            }
+            parts.add(copyPart(partStart == 0 ? null : header, partStart, partEnd));
+            partStart = partEnd;
+        }
+        parts.add(copyPart(partStart == 0 ? null : header, partStart, length));
+        return parts;
+    }
+
+    private byte[] copyPart(byte[] header, int from, int to) {
+        if (header == null) {
+            return Arrays.copyOfRange(content, from, to);
+        }
+        byte[] part = new byte[header.length + to - from];
+        System.arraycopy(header, 0, part, 0, header.length);
+        System.arraycopy(content, from, part, header.length, to - from);
+        return part;
+    }
+
+    /**
+     * Finds the start of the first record after the given position, that is the byte after the first line
+     * feed outside a quoted field. Positions must not move backwards between calls, as the quote state is
+     * carried forward from the last call.
+     *
+     * @return The start of the record, or the length of the content if there is none
+     */
+    private int nextRecordStart(int from) {
+        int position = from;
+        while (position < content.length) {
+            int lineFeed = indexOfLineFeed(position);
+            if (lineFeed == content.length) {
+                return lineFeed;
+            }
+            advanceTo(lineFeed);
+            if (!inQuotes) {
+                return lineFeed + 1;
+            }
+            position = lineFeed + 1;
+        }
+        return content.length;
+    }
+
+    private void advanceTo(int limit) {
+        while (scanned < limit) {
+            int quote = CsvTokenizer.indexOfQuote(content, scanned, limit);
+            if (quote == limit) {
+                scanned = limit;
+                return;
+            }
+            if (!inQuotes || !isEscaped(quote)) {
+                inQuotes = !inQuotes;
+            }
+            scanned = quote + 1;
+        }
+    }
+
+    private boolean isEscaped(int quote) {
+        int escapes = 0;
+        for (int index = quote - 1; index >= 0 && content[index] == ESCAPE; index--) {
+            escapes++;
+        }
+        return escapes % 2 == 1;
+    }
+
+    private int indexOfLineFeed(int from) {
+        for (int index = from; index < content.length; index++) {
+            if (content[index] == LINE_FEED) {
+                return index;
+            }
+        }
+        return content.length;
+    }
+
+    private boolean isBlank(int from, int to) {
+        for (int index = from; index < to; index++) {
+            if (!Character.isWhitespace(content[index])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
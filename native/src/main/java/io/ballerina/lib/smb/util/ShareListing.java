@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.smb.util;
+
+import com.hierynomus.msfscc.FileAttributes;
+import com.hierynomus.msfscc.fileinformation.FileIdBothDirectoryInformation;
+import com.hierynomus.protocol.commons.EnumWithValue;
+import com.hierynomus.smbj.share.DiskShare;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lists directories on a share. The entries a listing returns for the directory itself and for its parent are
+ * left out.
+ */
+public final class ShareListing {
+
+    private static final Logger log = LoggerFactory.getLogger(ShareListing.class);
+    private static final String SLASH = "/";
+
+    private ShareListing() {
+    }
+
+    /**
+     * Lists the files and directories directly in a directory.
+     *
+     * @param share The share
+     * @param path  The path of the directory
+     * @return The entries of the directory
+     */
+    public static List<FileIdBothDirectoryInformation> list(DiskShare share, String path) {
+        List<FileIdBothDirectoryInformation> entries = new ArrayList<>();
+        for (FileIdBothDirectoryInformation entry : share.list(path)) {
+            String fileName = entry.getFileName();
+            if (!".".equals(fileName) && !"..".equals(fileName)) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Collects the files below a directory, at any depth. A subdirectory that can no longer be listed, such as
+     * one deleted while the tree is walked, is skipped.
+     *
+     * @param share       The share
+     * @param path        The path of the directory
+     * @param files       The map the files are added to, by path
+     * @param directories The collection the paths of the subdirectories are added to, or {@code null}
+     */
+    public static void collectRecursively(DiskShare share, String path,
+                                          Map<String, FileIdBothDirectoryInformation> files,
+                                          Collection<String> directories) {
+        String listPath = path.startsWith(SLASH) ? path.substring(1) : path;
+        for (FileIdBothDirectoryInformation entry : list(share, listPath)) {
+            String entryPath = childPath(path, entry.getFileName());
+            if (!isDirectory(entry)) {
+                files.put(entryPath, entry);
+                continue;
+            }
+            if (directories != null) {
+                directories.add(entryPath);
+            }
+            try {
+                collectRecursively(share, entryPath, files, directories);
+            } catch (Exception e) {
+                log.debug("Skipping folder '{}' during recursive listing (may have been deleted): {}",
+                        entryPath, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Checks whether a listed entry is a directory.
+     *
+     * @param entry The entry
+     * @return {@code true} if the entry is a directory
+     */
+    public static boolean isDirectory(FileIdBothDirectoryInformation entry) {
+        return EnumWithValue.EnumUtils.isSet(entry.getFileAttributes(), FileAttributes.FILE_ATTRIBUTE_DIRECTORY);
+    }
+
+    /**
+     * Gets the path of an entry of a directory.
+     *
+     * @param path The path of the directory
+     * @param name The name of the entry
+     * @return The path of the entry
+     */
+    public static String childPath(String path, String name) {
+        return path.endsWith(SLASH) ? path + name : path + SLASH + name;
+    }
+}
@@ -20,24 +20,31 @@ package io.ballerina.lib.smb.util;
 
 import io.ballerina.lib.data.ModuleUtils;
 import io.ballerina.lib.data.xmldata.xml.Native;
+import io.ballerina.lib.smb.iterator.ByteIterator;
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.Module;
 import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
 import io.ballerina.runtime.api.types.Type;
-import io.ballerina.runtime.api.types.TypeTags;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.utils.XmlUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BStream;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 import static io.ballerina.lib.smb.client.SmbClient.SMB_ERROR;
 
@@ -59,19 +66,39 @@ public final class SmbContentConverter {
     public static final String FAIL_SAFE_OPTIONS = "FailSafeOptions";
     public static final String FILE_OUTPUT_MODE_TYPE = "FileOutputMode";
     public static final String XML = "xml";
+    private static final String PARSE_PLAN_CACHE_STATS = "ParsePlanCacheStats";
+    private static final BString HITS = StringUtils.fromString("hits");
+    private static final BString MISSES = StringUtils.fromString("misses");
+    private static final BString HIT_RATE = StringUtils.fromString("hitRate");
+    private static final BString CACHED_PLANS = StringUtils.fromString("cachedPlans");
+    private static final int MAX_CACHED_PLANS = 256;
+    private static final Map<PlanKey, ParsePlan> PLANS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PlanKey, ParsePlan> eldest) {
+            return size() > MAX_CACHED_PLANS;
+        }
+    };
+    private static final LongAdder PLAN_HITS = new LongAdder();
+    private static final LongAdder PLAN_MISSES = new LongAdder();
 
     private SmbContentConverter() {
     }
 
+    /**
+     * Binds JSON content that is already in memory, such as one item of a streamed JSON array.
+     *
+     * @param content        The UTF-8 encoded content
+     * @param targetType     The type to bind to
+     * @param laxDataBinding Whether lax data binding is enabled
+     * @return The bound value or an error
+     */
     public static Object convertBytesToJson(byte[] content, Type targetType, boolean laxDataBinding) {
         try {
-            BArray byteArray = ValueCreator.createArrayValue(content);
-            BMap<BString, Object> options = createJsonParseOptions(laxDataBinding);
-            BTypedesc typedesc = ValueCreator.createTypedescValue(targetType);
-
-            Object result = io.ballerina.lib.data.jsondata.json.Native.parseBytes(byteArray, options, typedesc);
-            if (TypeUtils.getType(result).getTag() == TypeTags.ERROR_TAG) {
-                return SmbUtil.createError(((BError) result).getErrorMessage().getValue(), SMB_ERROR);
+            ParsePlan plan = getPlan(new PlanKey(Format.JSON, targetType, laxDataBinding, null));
+            Object result = io.ballerina.lib.data.jsondata.json.Native.parseBytes(
+                    ValueCreator.createArrayValue(content), plan.options(), plan.typedesc());
+            if (result instanceof BError error) {
+                return SmbUtil.createError(error.getErrorMessage().getValue(), SMB_ERROR);
             }
             return result;
         } catch (Exception e) {
@@ -79,16 +106,23 @@ public final class SmbContentConverter {
         }
     }
 
+    /**
+     * Binds XML content that is already in memory, such as one element of a streamed XML document.
+     *
+     * @param content        The UTF-8 encoded content
+     * @param targetType     The type to bind to
+     * @param laxDataBinding Whether lax data binding is enabled
+     * @return The bound value or an error
+     */
     public static Object convertBytesToXml(byte[] content, Type targetType, boolean laxDataBinding) {
         try {
             if (targetType.getQualifiedName().equals(XML)) {
                 return XmlUtils.parse(StringUtils.fromString(new String(content, StandardCharsets.UTF_8)));
             }
-            BMap<BString, Object> options = createXmlParseOptions(laxDataBinding);
-            BTypedesc typedesc = ValueCreator.createTypedescValue(targetType);
-            Object bXml = Native.parseBytes(ValueCreator.createArrayValue(content), options, typedesc);
-            if (bXml instanceof BError) {
-                return SmbUtil.createError(((BError) bXml).getErrorMessage().getValue(), SMB_ERROR);
+            ParsePlan plan = getPlan(new PlanKey(Format.XML, targetType, laxDataBinding, null));
+            Object bXml = Native.parseBytes(ValueCreator.createArrayValue(content), plan.options(), plan.typedesc());
+            if (bXml instanceof BError error) {
+                return SmbUtil.createError(error.getErrorMessage().getValue(), SMB_ERROR);
             }
             return bXml;
         } catch (BError e) {
@@ -96,6 +130,65 @@ public final class SmbContentConverter {
         }
     }
 
+    /**
+     * Binds JSON read from a stream without first collecting the whole content. The parser is fed a block at a
+     * time, and an SMB file stream requests its next block while the current one is being parsed.
+     *
+     * @param env            The Ballerina runtime environment
+     * @param content        The content to bind, which is read to the end
+     * @param targetType     The type to bind to
+     * @param laxDataBinding Whether lax data binding is enabled
+     * @return The bound value or an error
+     */
+    public static Object convertStreamToJson(Environment env, InputStream content, Type targetType,
+                                             boolean laxDataBinding) {
+        try {
+            ParsePlan plan = getPlan(new PlanKey(Format.JSON, targetType, laxDataBinding, null));
+            BStream byteStream = (BStream) ByteIterator.createByteStream(content);
+            Object result = io.ballerina.lib.data.jsondata.json.Native.parseStream(env, byteStream, plan.options(),
+                    plan.typedesc());
+            if (result instanceof BError error) {
+                return SmbUtil.createError(error.getErrorMessage().getValue(), SMB_ERROR);
+            }
+            return result;
+        } catch (BError e) {
+            return SmbUtil.createError(e.getErrorMessage().getValue(), SMB_ERROR);
+        } catch (Exception e) {
+            return SmbUtil.createError("Failed to parse JSON content: " + e.getMessage(), SMB_ERROR);
+        }
+    }
+
+    /**
+     * Binds XML read from a stream without first collecting the whole content. An {@code xml} target is built
+     * by the runtime's XML parser straight from the stream; other targets are fed to the data binding parser
+     * a block at a time.
+     *
+     * @param env            The Ballerina runtime environment
+     * @param content        The content to bind, which is read to the end
+     * @param targetType     The type to bind to
+     * @param laxDataBinding Whether lax data binding is enabled
+     * @return The bound value or an error
+     */
+    public static Object convertStreamToXml(Environment env, InputStream content, Type targetType,
+                                            boolean laxDataBinding) {
+        try {
+            if (targetType.getQualifiedName().equals(XML)) {
+                return XmlUtils.parse(content);
+            }
+            ParsePlan plan = getPlan(new PlanKey(Format.XML, targetType, laxDataBinding, null));
+            BStream byteStream = (BStream) ByteIterator.createByteStream(content);
+            Object bXml = Native.parseStream(env, byteStream, plan.options(), plan.typedesc());
+            if (bXml instanceof BError error) {
+                return SmbUtil.createError(error.getErrorMessage().getValue(), SMB_ERROR);
+            }
+            return bXml;
+        } catch (BError e) {
+            return SmbUtil.createError(e.getErrorMessage().getValue(), SMB_ERROR);
+        } catch (Exception e) {
+            return SmbUtil.createError("Failed to parse XML content: " + e.getMessage(), SMB_ERROR);
+        }
+    }
+
     private static BMap<BString, Object> createXmlParseOptions(boolean laxDataBinding) {
         BMap<BString, Object> mapValue = ValueCreator.createRecordValue(
                 new Module("ballerina", "data.xmldata", "1"),
@@ -108,10 +201,21 @@ public final class SmbContentConverter {
                                            BMap<?, ?> csvFailSafeConfigs, String fileNamePrefix) {
         try {
             BArray byteArray = ValueCreator.createArrayValue(content);
-            BMap<BString, Object> options = createCsvParseOptions(laxDataBinding, csvFailSafeConfigs, fileNamePrefix);
-
             Type referredType = TypeUtils.getReferredType(targetType);
-            BTypedesc typedesc = ValueCreator.createTypedescValue(referredType);
+            ParsePlan plan = getPlan(new PlanKey(Format.CSV, referredType, laxDataBinding,
+                    csvFailSafeConfigs == null ? null : csvFailSafeConfigs.getStringValue(CONTENT_TYPE).getValue()));
+            BMap<BString, Object> options = csvFailSafeConfigs == null ? plan.options()
+                    : withErrorLogPath(plan.options(), errorLogPath(fileNamePrefix));
+            BTypedesc typedesc = plan.typedesc();
+
+            // Parts bound in parallel would number their rows from the start of the part, so fail-safe
+            // reads, which record the row of each skipped record, are always bound as a whole.
+            if (csvFailSafeConfigs == null && ParallelCsvParser.isApplicable(content, referredType)) {
+                BArray records = ParallelCsvParser.parse(content, (ArrayType) referredType, options, typedesc);
+                if (records != null) {
+                    return records;
+                }
+            }
 
             Object result = io.ballerina.lib.data.csvdata.csv.Native.parseBytes(env, byteArray, options, typedesc);
 
@@ -142,20 +246,17 @@ public final class SmbContentConverter {
     }
 
     @SuppressWarnings("unchecked")
-    private static BMap<BString, Object> createCsvParseOptions(boolean laxDataBinding,
-                                                               BMap<?, ?> csvFailSafeConfigs, String fileNamePrefix) {
+    private static BMap<BString, Object> createCsvParseOptions(boolean laxDataBinding, String failSafeContentType) {
         BMap<BString, Object> mapValue = ValueCreator.createRecordValue(
                 io.ballerina.lib.data.csvdata.utils.ModuleUtils.getModule(), "ParseOptions");
-        if (csvFailSafeConfigs != null) {
-            BString contentType = csvFailSafeConfigs.getStringValue(CONTENT_TYPE);
+        if (failSafeContentType != null) {
+            BString contentType = StringUtils.fromString(failSafeContentType);
             BMap<BString, Object> failSafe =
                     ValueCreator.createRecordValue(io.ballerina.lib.data.csvdata.utils.ModuleUtils.getModule(),
                             FAIL_SAFE_OPTIONS);
             BMap<BString, Object> fileOutputMode =
                     ValueCreator.createRecordValue(io.ballerina.lib.data.csvdata.utils.ModuleUtils.getModule(),
                             FILE_OUTPUT_MODE_TYPE);
-            String filePath = CURRENT_DIRECTORY_PATH + File.separator + fileNamePrefix + "_" + ERROR_LOG_FILE_NAME;
-            fileOutputMode.put(FILE_PATH, StringUtils.fromString(filePath));
             fileOutputMode.put(FILE_WRITE_OPTION, APPEND);
             fileOutputMode.put(CONTENT_TYPE, contentType);
             failSafe.put(FILE_OUTPUT_MODE, fileOutputMode);
@@ -173,8 +274,88 @@ public final class SmbContentConverter {
         return mapValue;
     }
 
+    /**
+     * Copies the options of a cached fail-safe CSV plan for a single read, with the error log of the file read. The
+     * cached options are shared, so the path is never written into them.
+     */
+    @SuppressWarnings("unchecked")
+    private static BMap<BString, Object> withErrorLogPath(BMap<BString, Object> options, String errorLogPath) {
+        BMap<BString, Object> readOptions = (BMap<BString, Object>) options.copy(new HashMap<>());
+        BMap<BString, Object> fileOutputMode =
+                (BMap<BString, Object>) readOptions.getMapValue(FAIL_SAFE).getMapValue(FILE_OUTPUT_MODE);
+        fileOutputMode.put(FILE_PATH, StringUtils.fromString(errorLogPath));
+        return readOptions;
+    }
+
+    private static String errorLogPath(String fileNamePrefix) {
+        return CURRENT_DIRECTORY_PATH + File.separator + fileNamePrefix + "_" + ERROR_LOG_FILE_NAME;
+    }
+
+    /**
+     * Gets the cached parse plan for a key, building it on the first use. Once {@link #MAX_CACHED_PLANS} plans are
+     * cached, the least recently used one is dropped for each new plan.
+     */
+    private static ParsePlan getPlan(PlanKey key) {
+        ParsePlan plan;
+        synchronized (PLANS) {
+            plan = PLANS.get(key);
+        }
+        if (plan != null) {
+            PLAN_HITS.increment();
+            return plan;
+        }
+        PLAN_MISSES.increment();
+        BMap<BString, Object> options = switch (key.format()) {
+            case JSON -> createJsonParseOptions(key.laxDataBinding());
+            case XML -> createXmlParseOptions(key.laxDataBinding());
+            case CSV -> createCsvParseOptions(key.laxDataBinding(), key.failSafeContentType());
+        };
+        plan = new ParsePlan(options, ValueCreator.createTypedescValue(key.targetType()));
+        ParsePlan cached;
+        synchronized (PLANS) {
+            cached = PLANS.putIfAbsent(key, plan);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Built a {} parse plan for {} (plan cache: {} hits, {} misses)", key.format(),
+                    key.targetType(), PLAN_HITS.sum(), PLAN_MISSES.sum());
+        }
+        return cached != null ? cached : plan;
+    }
+
+    /**
+     * Creates a {@code ParsePlanCacheStats} value describing the use of the parse plan cache since the program
+     * started.
+     *
+     * @return The statistics
+     */
+    public static BMap<BString, Object> planCacheStats() {
+        BMap<BString, Object> stats = ValueCreator.createRecordValue(
+                io.ballerina.lib.smb.util.ModuleUtils.getModule(), PARSE_PLAN_CACHE_STATS);
+        long hits = PLAN_HITS.sum();
+        long misses = PLAN_MISSES.sum();
+        stats.put(HITS, hits);
+        stats.put(MISSES, misses);
+        stats.put(HIT_RATE, hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        synchronized (PLANS) {
+            stats.put(CACHED_PLANS, (long) PLANS.size());
+        }
+        return stats;
+    }
+
     public static String deriveFileNamePrefix(Object filePath) {
         String path = filePath.toString();
         return path.replaceAll("\\.[^.]+$", "");
     }
+
+    private enum Format {
+        JSON,
+        XML,
+        CSV
+    }
+
+    /**
+     * What a parse plan depends on. The fail-safe content type is null unless the read is a fail-safe CSV read.
+     */
+    private record PlanKey(Format format, Type targetType, boolean laxDataBinding, String failSafeContentType) {
+    }
 }
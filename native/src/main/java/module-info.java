@@ -24,6 +24,7 @@ module io.ballerina.lib.smb {
     requires org.slf4j;
     requires java.logging;
     requires java.security.jgss;
+    requires java.xml;
     requires io.ballerina.lib.data;
     requires io.ballerina.lib.data.xmldata;
     requires io.ballerina.lib.data.csvdata;